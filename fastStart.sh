@@ -0,0 +1,98 @@
+#!/bin/bash
+
+# Weather Info Service - Fast Start
+# Starts the service from an application class-data-sharing (AppCDS) archive, so the JVM maps
+# already parsed and verified classes instead of loading them one by one, and listens before
+# non-essential initialisation has run (startup.fastStart).
+#
+#   ./fastStart.sh train     Build the archive from a training run
+#   ./fastStart.sh run       Start the service with the archive in fast-start mode
+#   ./fastStart.sh measure   Compare time to listen and to first response with and without both
+#
+# The archive only matches the JDK and the exact jar it was trained with; train again after
+# rebuilding either.
+
+set -e  # Exit on any error
+
+APP_CLASSPATH="${APP_CLASSPATH:-target/interview-tech-challenge-jar-with-dependencies.jar}"
+ARCHIVE="${CDS_ARCHIVE:-target/app-cds.jsa}"
+MAIN_CLASS="org.lotlinx.interview.MainServerVerticle"
+BASE_URL="http://localhost:${SERVER_PORT:-8080}"
+RUNS="${RUNS:-3}"
+
+# Waits up to a minute for the health check to answer
+wait_for_server() {
+    for _ in $(seq 1 6000); do
+        if curl -s -o /dev/null "$BASE_URL/hello"; then
+            return 0
+        fi
+        sleep 0.01
+    done
+    echo "Server did not start, see $1"
+    exit 1
+}
+
+# Exercises the request paths so their classes are loaded before the archive is written
+train_requests() {
+    curl -s -o /dev/null "$BASE_URL/hello"
+    curl -s -o /dev/null "$BASE_URL/getCurrentAirPollution?latitude=abc&longitude=0"
+    curl -s -o /dev/null --max-time 5 "$BASE_URL/getCurrentAirPollution?latitude=51.5&longitude=-0.12"
+    curl -s -o /dev/null --max-time 5 "$BASE_URL/api/v1/weather/multi-city?cities=London,Paris"
+    curl -s -o /dev/null -X POST -H "content-type: application/json" -d '{"cities":[]}' \
+        "$BASE_URL/api/v1/weather/multi-city"
+    curl -s -o /dev/null "$BASE_URL/api/v1/cities/autocomplete?q=Lo"
+    curl -s -o /dev/null "$BASE_URL/admin/event-loop"
+    curl -s -o /dev/null "$BASE_URL/not-found"
+}
+
+# Starts the server once with the given JVM options and prints its startup report
+measure_once() {
+    local log
+    log=$(mktemp)
+    java "$@" -cp "$APP_CLASSPATH" "$MAIN_CLASS" > "$log" 2>&1 &
+    local pid=$!
+    wait_for_server "$log"
+    sleep 0.2
+    grep -h "Time to" "$log" | sed 's/.* - /  /'
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+}
+
+case "$1" in
+    train)
+        echo "Training run, writing $ARCHIVE..."
+        rm -f "$ARCHIVE"
+        log=$(mktemp)
+        java -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$APP_CLASSPATH" "$MAIN_CLASS" > "$log" 2>&1 &
+        pid=$!
+        wait_for_server "$log"
+        train_requests
+        # The archive is written as the JVM exits
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        rm -f "$log"
+        ls -l "$ARCHIVE"
+        ;;
+    run)
+        if [ ! -f "$ARCHIVE" ]; then
+            echo "No archive at $ARCHIVE, run '$0 train' first"
+            exit 1
+        fi
+        FAST_START=true exec java -XX:SharedArchiveFile="$ARCHIVE" -cp "$APP_CLASSPATH" "$MAIN_CLASS"
+        ;;
+    measure)
+        for i in $(seq 1 "$RUNS"); do
+            echo "Default start ($i/$RUNS):"
+            FAST_START=false measure_once
+        done
+        for i in $(seq 1 "$RUNS"); do
+            echo "AppCDS and fast start ($i/$RUNS):"
+            FAST_START=true measure_once -XX:SharedArchiveFile="$ARCHIVE"
+        done
+        ;;
+    *)
+        echo "Usage: $0 train|run|measure"
+        exit 1
+        ;;
+esac
@@ -71,6 +71,11 @@ echo "Available endpoints:"
 echo "  GET  /hello                           - Health check"
 echo "  GET  /getCurrentAirPollution          - Air pollution data"
 echo "  POST /api/v1/weather/multi-city       - Multi-city weather"
+echo "  POST /api/v1/air-pollution/bulk      - Bulk air pollution"
+echo "  POST /api/v1/air-pollution/estimate  - Interpolated air quality"
+echo "  GET  /api/v1/cities/autocomplete     - City name autocomplete"
+echo "  POST /api/v1/batch                  - Mixed batch of queries"
+echo "  GET  /api/v1/subscribe              - Server-Sent Events updates"
 echo ""
 echo "Press Ctrl+C to stop the server"
 echo "=================================================="
@@ -1,34 +1,71 @@
 package org.lotlinx.interview;
 
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.Json;
+import io.vertx.core.net.PemKeyCertOptions;
+import java.util.concurrent.TimeUnit;
 import io.vertx.ext.web.Router;
 import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.model.Coordinates;
+import org.lotlinx.interview.model.WeatherData;
 import org.lotlinx.interview.router.ApiRouter;
+import org.lotlinx.interview.service.WeatherService;
+import org.lotlinx.interview.service.impl.OpenWeatherService;
+import org.lotlinx.interview.util.impl.StartupTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Main Verticle that starts the HTTP server and configures routing. */
+/**
+ * Main Verticle that starts the HTTP server and configures routing.
+ *
+ * <p>Several instances can be deployed at once; Vert.x shares the listening port between them and
+ * spreads connections across their event loops. Instances given the same WeatherService share its
+ * caches, rate limiters and circuit breakers.
+ */
 public class MainServerVerticle extends AbstractVerticle {
 
   private static final Logger logger = LoggerFactory.getLogger(MainServerVerticle.class);
+  private final WeatherService sharedWeatherService;
   private HttpServer httpServer;
   private ApiRouter apiRouter;
 
+  /** Creates a verticle with its own WeatherService. */
+  public MainServerVerticle() {
+    this(null);
+  }
+
+  /**
+   * Creates a verticle that serves from a WeatherService shared with other instances.
+   *
+   * @param sharedWeatherService shared service, or null for one owned by this verticle
+   */
+  public MainServerVerticle(WeatherService sharedWeatherService) {
+    this.sharedWeatherService = sharedWeatherService;
+  }
+
   @Override
   public void start(Promise<Void> startPromise) {
     logger.info("Starting MainServerVerticle...");
 
     try {
       // Create API router
-      apiRouter = new ApiRouter(vertx);
+      apiRouter = sharedWeatherService != null
+          ? new ApiRouter(vertx, sharedWeatherService)
+          : new ApiRouter(vertx);
       Router router = apiRouter.createRouter();
 
       // Create and start HTTP server
       httpServer = vertx
-          .createHttpServer()
+          .createHttpServer(createServerOptions())
           .requestHandler(router);
       
       httpServer.listen(ApplicationConfig.getServerPort(), ApplicationConfig.getServerHost())
@@ -52,19 +89,99 @@ public class MainServerVerticle extends AbstractVerticle {
     }
   }
 
+  /** Builds HTTP server options with the configured socket settings and response compression. */
+  private HttpServerOptions createServerOptions() {
+    HttpServerOptions options = new HttpServerOptions()
+        .setTcpNoDelay(ApplicationConfig.isTcpNoDelayEnabled());
+
+    if (ApplicationConfig.getAcceptBacklog() > 0) {
+      options.setAcceptBacklog(ApplicationConfig.getAcceptBacklog());
+    }
+    if (ApplicationConfig.getSendBufferSize() > 0) {
+      options.setSendBufferSize(ApplicationConfig.getSendBufferSize());
+    }
+    if (ApplicationConfig.getReceiveBufferSize() > 0) {
+      options.setReceiveBufferSize(ApplicationConfig.getReceiveBufferSize());
+    }
+
+    boolean nativeOnly = ApplicationConfig.isReusePortEnabled()
+        || ApplicationConfig.isTcpQuickAckEnabled()
+        || ApplicationConfig.isTcpFastOpenEnabled();
+    if (vertx.isNativeTransportEnabled()) {
+      options
+          .setReusePort(ApplicationConfig.isReusePortEnabled())
+          .setTcpQuickAck(ApplicationConfig.isTcpQuickAckEnabled())
+          .setTcpFastOpen(ApplicationConfig.isTcpFastOpenEnabled());
+    } else if (nativeOnly) {
+      logger.warn("reusePort, tcpQuickAck and tcpFastOpen need the native transport; ignoring them");
+    }
+
+    configureProtocols(options);
+
+    if (ApplicationConfig.isCompressionEnabled()) {
+      int level = ApplicationConfig.getCompressionLevel();
+      options
+          .setCompressionSupported(true)
+          .setCompressionLevel(level)
+          .addCompressor(StandardCompressionOptions.gzip(level, 15, 8))
+          .addCompressor(StandardCompressionOptions.deflate(level, 15, 8));
+
+      // Brotli needs the optional brotli4j native library on the classpath
+      if (Brotli.isAvailable()) {
+        options.addCompressor(StandardCompressionOptions.brotli());
+      }
+      logger.info("Response compression enabled (level {}, brotli {})",
+          level, Brotli.isAvailable() ? "available" : "unavailable");
+    }
+
+    return options;
+  }
+
+  /**
+   * Enables TLS and HTTP/2 as configured. HTTP/2 is offered through ALPN on TLS connections and
+   * through prior knowledge or an h2c upgrade on clear-text ones; HTTP/1.1 is always accepted.
+   */
+  private static void configureProtocols(HttpServerOptions options) {
+    boolean http2 = ApplicationConfig.isHttp2Enabled();
+
+    if (ApplicationConfig.isTlsEnabled()) {
+      options
+          .setSsl(true)
+          .setKeyCertOptions(new PemKeyCertOptions()
+              .setCertPath(ApplicationConfig.getTlsCertPath())
+              .setKeyPath(ApplicationConfig.getTlsKeyPath()))
+          .setUseAlpn(http2);
+    }
+    options.setHttp2ClearTextEnabled(http2);
+
+    if (http2) {
+      options.setInitialSettings(new Http2Settings()
+          .setMaxConcurrentStreams(ApplicationConfig.getHttp2MaxConcurrentStreams())
+          .setInitialWindowSize(ApplicationConfig.getHttp2InitialWindowSize()));
+      if (ApplicationConfig.getHttp2ConnectionWindowSize() > 0) {
+        options.setHttp2ConnectionWindowSize(ApplicationConfig.getHttp2ConnectionWindowSize());
+      }
+      logger.info("HTTP/2 enabled ({}, max {} concurrent streams)",
+          ApplicationConfig.isTlsEnabled() ? "h2 over TLS" : "h2c",
+          ApplicationConfig.getHttp2MaxConcurrentStreams());
+    }
+  }
+
+  /**
+   * Drains in-flight requests within the configured grace period, then closes the HTTP server and
+   * saves the caches of a WeatherService owned by this verticle.
+   */
   @Override
   public void stop(Promise<Void> stopPromise) {
     logger.info("Stopping MainServerVerticle...");
     
     if (httpServer != null) {
-      httpServer.close()
-          .onSuccess(v -> {
-            logger.info("HTTP server closed successfully");
-            if (apiRouter != null) {
-              apiRouter.close();
-            }
-            stopPromise.complete();
-          })
+      apiRouter.drain(ApplicationConfig.getShutdownGracePeriodMs())
+          .compose(v -> httpServer.close())
+          .onSuccess(v -> logger.info("HTTP server closed successfully"))
+          .compose(v -> apiRouter.saveCacheSnapshot().otherwiseEmpty())
+          .onComplete(ar -> apiRouter.close())
+          .onSuccess(v -> stopPromise.complete())
           .onFailure(throwable -> {
             logger.error("Error closing HTTP server", throwable);
             stopPromise.fail(throwable);
@@ -74,11 +191,99 @@ public class MainServerVerticle extends AbstractVerticle {
     }
   }
 
+  /**
+   * Builds Vert.x options, preferring the native epoll transport when configured. Vert.x falls
+   * back to NIO if the netty-transport-native-epoll library is missing or cannot load. The
+   * blocked thread checker uses the configured warning thresholds.
+   *
+   * @return Vert.x options for the server
+   */
+  public static VertxOptions createVertxOptions() {
+    return new VertxOptions()
+        .setPreferNativeTransport(ApplicationConfig.isNativeTransportEnabled())
+        .setMaxEventLoopExecuteTime(ApplicationConfig.getMaxEventLoopExecuteTimeMs())
+        .setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS)
+        .setWarningExceptionTime(ApplicationConfig.getWarningExceptionTimeMs())
+        .setWarningExceptionTimeUnit(TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Deployment options for the server verticles: instance count and threading model from
+   * configuration.
+   */
+  public static DeploymentOptions createDeploymentOptions() {
+    return new DeploymentOptions()
+        .setInstances(ApplicationConfig.getServerInstances())
+        .setThreadingModel(ApplicationConfig.getServerThreadingModel());
+  }
+
+  /**
+   * Runs when the JVM is asked to exit, e.g. on SIGTERM. Undeploying drains every server instance;
+   * the shared caches are then saved for the next process and Vert.x is closed.
+   */
+  private static void shutDown(Vertx vertx, String deploymentId,
+      OpenWeatherService weatherService) {
+    logger.info("Shutting down...");
+    try {
+      vertx.undeploy(deploymentId)
+          .compose(v -> weatherService.saveCacheSnapshot())
+          .toCompletionStage()
+          .toCompletableFuture()
+          .get(ApplicationConfig.getShutdownGracePeriodMs() + 10_000, TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      logger.error("Error during shutdown", e);
+    }
+    // Closed from this thread, since a callback on its own event loop could not run after it
+    weatherService.close();
+    try {
+      vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      logger.error("Error closing Vert.x", e);
+    }
+  }
+
+  /**
+   * Starts Jackson databinding, which takes most of a second on a cold JVM and would otherwise
+   * delay the first JSON response.
+   */
+  private static void warmUpJsonMapping() {
+    Json.encode(new WeatherData("", 0, "", 0, 0, 0, new Coordinates(0, 0)));
+  }
+
   public static void main(String[] args) {
-    Vertx vertx = Vertx.vertx();
+    Vertx vertx = Vertx.vertx(createVertxOptions());
+    if (ApplicationConfig.isNativeTransportEnabled() && !vertx.isNativeTransportEnabled()) {
+      logger.warn("Native transport unavailable, using NIO: {}",
+          vertx.unavailableNativeTransportCause().getMessage());
+    }
+    boolean fastStart = ApplicationConfig.isFastStartEnabled();
+    if (!fastStart) {
+      warmUpJsonMapping();
+    }
+    DeploymentOptions deploymentOptions = createDeploymentOptions();
+    // One service for all instances, so caches and upstream quotas are not split per event loop
+    OpenWeatherService weatherService = new OpenWeatherService(vertx);
     vertx
-        .deployVerticle(new MainServerVerticle())
-        .onSuccess(id -> logger.info("MainServerVerticle deployed successfully with ID: {}", id))
+        .deployVerticle(
+            () -> new MainServerVerticle(weatherService),
+            deploymentOptions)
+        .onSuccess(
+            id -> {
+              StartupTimer.markListening();
+              if (fastStart) {
+                vertx.executeBlocking(() -> {
+                  warmUpJsonMapping();
+                  return null;
+                }, false);
+              }
+              Runtime.getRuntime().addShutdownHook(
+                  new Thread(() -> shutDown(vertx, id, weatherService), "shutdown"));
+              logger.info(
+                  "MainServerVerticle deployed successfully with ID: {} ({} instances, {})",
+                  id,
+                  deploymentOptions.getInstances(),
+                  deploymentOptions.getThreadingModel());
+            })
         .onFailure(
             throwable -> {
               logger.error("Failed to deploy MainServerVerticle", throwable);
@@ -1,5 +1,7 @@
 package org.lotlinx.interview.config;
 
+import io.vertx.core.ThreadingModel;
+
 /** Application configuration constants and settings. */
 public class ApplicationConfig {
 
@@ -14,6 +16,20 @@ public class ApplicationConfig {
     return configLoader.getServerHost();
   }
 
+  /** Number of server verticle instances to deploy; 0 or less means one per available core. */
+  public static int getServerInstances() {
+    int instances = configLoader.getServerInstances();
+    return instances > 0 ? instances : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Threading model of the server verticles: EVENT_LOOP, or VIRTUAL_THREAD to run handlers on
+   * virtual threads (requires Java 21).
+   */
+  public static ThreadingModel getServerThreadingModel() {
+    return ThreadingModel.valueOf(configLoader.getServerThreadingModel().trim().toUpperCase());
+  }
+
   // OpenWeatherMap API Configuration
   public static String getOpenWeatherApiHost() {
     return configLoader.getOpenWeatherHost();
@@ -31,6 +47,10 @@ public class ApplicationConfig {
   public static final String AIR_POLLUTION_API_PATH = "/data/2.5/air_pollution";
   public static final String GEOCODING_API_PATH = "/geo/1.0/direct";
   public static final String CURRENT_WEATHER_API_PATH = "/data/2.5/weather";
+  public static final String GROUP_WEATHER_API_PATH = "/data/2.5/group";
+
+  // The group endpoint accepts at most this many city IDs per call
+  public static final int GROUP_WEATHER_MAX_CITY_IDS = 20;
 
   // Application Settings
   public static final int GLOBAL_SLEEP_TIME_MS = 500;
@@ -44,6 +64,12 @@ public class ApplicationConfig {
   public static final String HELLO_ENDPOINT = "/hello";
   public static final String AIR_POLLUTION_ENDPOINT = "/getCurrentAirPollution";
   public static final String MULTI_CITY_WEATHER_ENDPOINT = API_BASE_PATH + "/weather/multi-city";
+  public static final String BULK_AIR_POLLUTION_ENDPOINT = API_BASE_PATH + "/air-pollution/bulk";
+  public static final String CITY_AUTOCOMPLETE_ENDPOINT = API_BASE_PATH + "/cities/autocomplete";
+  public static final String AIR_QUALITY_ESTIMATE_ENDPOINT = API_BASE_PATH + "/air-pollution/estimate";
+  public static final String BATCH_ENDPOINT = API_BASE_PATH + "/batch";
+  public static final String SUBSCRIBE_ENDPOINT = API_BASE_PATH + "/subscribe";
+  public static final String ADMIN_EVENT_LOOP_ENDPOINT = "/admin/event-loop";
 
   // Content Types
   public static final String CONTENT_TYPE_JSON = "application/json";
@@ -62,6 +88,311 @@ public class ApplicationConfig {
     return configLoader.getGeocodingCacheTtl();
   }
 
+  // Weather Batching Configuration
+  public static boolean isWeatherBatchingEnabled() {
+    return configLoader.isWeatherBatchingEnabled();
+  }
+
+  public static long getWeatherBatchWindowMs() {
+    return configLoader.getWeatherBatchWindowMs();
+  }
+
+  public static int getWeatherBatchMaxSize() {
+    return Math.min(configLoader.getWeatherBatchMaxSize(), GROUP_WEATHER_MAX_CITY_IDS);
+  }
+
+  // Weather Lookup Configuration
+  public static boolean isWeatherLookupByCityNameEnabled() {
+    return configLoader.isWeatherLookupByCityNameEnabled();
+  }
+
+  // Bulk Air Pollution Configuration
+  public static int getBulkAirPollutionMaxLocations() {
+    return configLoader.getBulkAirPollutionMaxLocations();
+  }
+
+  public static int getBulkAirPollutionMaxConcurrency() {
+    return configLoader.getBulkAirPollutionMaxConcurrency();
+  }
+
+  // Gazetteer Configuration
+  public static String getGazetteerFile() {
+    return configLoader.getGazetteerFile();
+  }
+
+  // Autocomplete Configuration
+  public static int getAutocompleteMaxResults() {
+    return configLoader.getAutocompleteMaxResults();
+  }
+
+  public static long getAutocompleteRefreshIntervalMs() {
+    return configLoader.getAutocompleteRefreshIntervalMs();
+  }
+
+  // Spatial Cache Configuration
+  public static double getMaxDistanceKmLimit() {
+    return configLoader.getMaxDistanceKmLimit();
+  }
+
+  public static double getAirPollutionDefaultMaxDistanceKm() {
+    return configLoader.getAirPollutionDefaultMaxDistanceKm();
+  }
+
+  public static double getWeatherMaxDistanceKm() {
+    return configLoader.getWeatherMaxDistanceKm();
+  }
+
+  // Interpolation Configuration
+  public static double getInterpolationRadiusKm() {
+    return configLoader.getInterpolationRadiusKm();
+  }
+
+  public static double getInterpolationPower() {
+    return configLoader.getInterpolationPower();
+  }
+
+  public static int getInterpolationMinNeighbours() {
+    return configLoader.getInterpolationMinNeighbours();
+  }
+
+  // Compression Configuration
+  public static boolean isCompressionEnabled() {
+    return configLoader.isCompressionEnabled();
+  }
+
+  public static int getCompressionLevel() {
+    return Math.max(1, Math.min(9, configLoader.getCompressionLevel()));
+  }
+
+  public static int getCompressionMinSizeBytes() {
+    return configLoader.getCompressionMinSizeBytes();
+  }
+
+  // Multi-City Memo Configuration
+  public static boolean isMultiCityMemoEnabled() {
+    return configLoader.isMultiCityMemoEnabled();
+  }
+
+  public static int getMultiCityMemoMaxEntries() {
+    return configLoader.getMultiCityMemoMaxEntries();
+  }
+
+  // Access Log Configuration
+  public static boolean isAccessLogEnabled() {
+    return configLoader.isAccessLogEnabled();
+  }
+
+  public static int getAccessLogBufferSize() {
+    return configLoader.getAccessLogBufferSize();
+  }
+
+  public static double getAccessLogSampleRate() {
+    return configLoader.getAccessLogSampleRate();
+  }
+
+  public static double getAccessLogClientErrorSampleRate() {
+    return configLoader.getAccessLogClientErrorSampleRate();
+  }
+
+  public static long getAccessLogSlowRequestMs() {
+    return configLoader.getAccessLogSlowRequestMs();
+  }
+
+  // Request Body Configuration
+  public static long getRequestBodyMaxBytes() {
+    return configLoader.getRequestBodyMaxBytes();
+  }
+
+  public static int getRequestBodyMaxCities() {
+    return configLoader.getRequestBodyMaxCities();
+  }
+
+  // Batch Configuration
+  public static int getBatchMaxQueries() {
+    return configLoader.getBatchMaxQueries();
+  }
+
+  // Subscription Configuration
+  public static int getSubscriptionMaxKeys() {
+    return configLoader.getSubscriptionMaxKeys();
+  }
+
+  public static long getSubscriptionMinRefreshMs() {
+    return configLoader.getSubscriptionMinRefreshMs();
+  }
+
+  public static long getSubscriptionRetryMs() {
+    return configLoader.getSubscriptionRetryMs();
+  }
+
+  public static long getSubscriptionHeartbeatMs() {
+    return configLoader.getSubscriptionHeartbeatMs();
+  }
+
+  // Transport Configuration
+  /** Whether to prefer the native epoll transport; Vert.x falls back to NIO when unavailable. */
+  public static boolean isNativeTransportEnabled() {
+    return configLoader.isNativeTransportEnabled();
+  }
+
+  /** SO_REUSEPORT; native transport only. */
+  public static boolean isReusePortEnabled() {
+    return configLoader.isReusePortEnabled();
+  }
+
+  public static boolean isTcpNoDelayEnabled() {
+    return configLoader.isTcpNoDelayEnabled();
+  }
+
+  /** TCP_QUICKACK; native transport only. */
+  public static boolean isTcpQuickAckEnabled() {
+    return configLoader.isTcpQuickAckEnabled();
+  }
+
+  /** TCP Fast Open; native transport only. */
+  public static boolean isTcpFastOpenEnabled() {
+    return configLoader.isTcpFastOpenEnabled();
+  }
+
+  /** Listen backlog; 0 or less keeps the OS default. */
+  public static int getAcceptBacklog() {
+    return configLoader.getAcceptBacklog();
+  }
+
+  /** SO_SNDBUF in bytes; 0 or less keeps the OS default. */
+  public static int getSendBufferSize() {
+    return configLoader.getSendBufferSize();
+  }
+
+  /** SO_RCVBUF in bytes; 0 or less keeps the OS default. */
+  public static int getReceiveBufferSize() {
+    return configLoader.getReceiveBufferSize();
+  }
+
+  // HTTP/2 Configuration
+  /** Whether to accept HTTP/2: h2c in clear text, h2 through ALPN when TLS is enabled. */
+  public static boolean isHttp2Enabled() {
+    return configLoader.isHttp2Enabled();
+  }
+
+  /** Streams a client may have open at once on one HTTP/2 connection. */
+  public static long getHttp2MaxConcurrentStreams() {
+    return configLoader.getHttp2MaxConcurrentStreams();
+  }
+
+  /** Flow-control window of each HTTP/2 stream, in bytes. */
+  public static int getHttp2InitialWindowSize() {
+    return configLoader.getHttp2InitialWindowSize();
+  }
+
+  /** Flow-control window of a whole HTTP/2 connection in bytes; 0 or less keeps the default. */
+  public static int getHttp2ConnectionWindowSize() {
+    return configLoader.getHttp2ConnectionWindowSize();
+  }
+
+  // TLS Configuration
+  public static boolean isTlsEnabled() {
+    return configLoader.isTlsEnabled();
+  }
+
+  /** PEM certificate chain. */
+  public static String getTlsCertPath() {
+    return configLoader.getTlsCertPath();
+  }
+
+  /** PEM private key. */
+  public static String getTlsKeyPath() {
+    return configLoader.getTlsKeyPath();
+  }
+
+  // Admission Control Configuration
+  public static boolean isAdmissionControlEnabled() {
+    return configLoader.isAdmissionControlEnabled();
+  }
+
+  /** Requests in flight per server instance at which all new requests are refused. */
+  public static int getAdmissionMaxInFlight() {
+    return configLoader.getAdmissionMaxInFlight();
+  }
+
+  /** Pending upstream API calls at which all new requests are refused. */
+  public static int getAdmissionMaxPendingUpstream() {
+    return configLoader.getAdmissionMaxPendingUpstream();
+  }
+
+  /** Event-loop lag at which all new requests are refused. */
+  public static long getAdmissionMaxEventLoopLagMs() {
+    return configLoader.getAdmissionMaxEventLoopLagMs();
+  }
+
+  /** Fraction of any limit at which multi-city, bulk and batch requests start being refused. */
+  public static double getAdmissionExpensiveShedRatio() {
+    return configLoader.getAdmissionExpensiveShedRatio();
+  }
+
+  /** Retry-After value sent with refusals. */
+  public static int getAdmissionRetryAfterSeconds() {
+    return configLoader.getAdmissionRetryAfterSeconds();
+  }
+
+  // Monitoring Configuration
+  /** Whether event loops are probed for lag and blocking, and the admin endpoint is served. */
+  public static boolean isMonitoringEnabled() {
+    return configLoader.isMonitoringEnabled();
+  }
+
+  /** Period of the lag probe timer on each event loop. */
+  public static long getLagProbeIntervalMs() {
+    return configLoader.getLagProbeIntervalMs();
+  }
+
+  /** Lag beyond which an event loop counts as blocked and its stack is sampled. */
+  public static long getBlockedThresholdMs() {
+    return configLoader.getBlockedThresholdMs();
+  }
+
+  /** Frames kept for each recent blocked episode. */
+  public static int getBlockedStackDepth() {
+    return configLoader.getBlockedStackDepth();
+  }
+
+  public static int getRecentBlockedEvents() {
+    return configLoader.getRecentBlockedEvents();
+  }
+
+  /** Task duration after which Vert.x's blocked thread checker logs a warning. */
+  public static long getMaxEventLoopExecuteTimeMs() {
+    return configLoader.getMaxEventLoopExecuteTimeMs();
+  }
+
+  /** Block duration after which Vert.x's warnings include the thread's stack trace. */
+  public static long getWarningExceptionTimeMs() {
+    return configLoader.getWarningExceptionTimeMs();
+  }
+
+  // Shutdown Configuration
+  /** Longest time a stopping server waits for in-flight requests before closing connections. */
+  public static long getShutdownGracePeriodMs() {
+    return configLoader.getShutdownGracePeriodMs();
+  }
+
+  /**
+   * File the caches are saved to on shutdown and restored from on start; blank disables
+   * snapshots.
+   */
+  public static String getCacheSnapshotFile() {
+    return configLoader.getCacheSnapshotFile();
+  }
+
+  // Startup Configuration
+  /**
+   * Whether to start listening before non-essential initialisation, such as warming up JSON
+   * databinding, has run.
+   */
+  public static boolean isFastStartEnabled() {
+    return configLoader.isFastStartEnabled();
+  }
+
   private ApplicationConfig() {
     // Utility class - prevent instantiation
   }
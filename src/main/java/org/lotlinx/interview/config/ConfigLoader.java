@@ -1,6 +1,7 @@
 package org.lotlinx.interview.config;
 
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.JacksonCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,6 +9,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 
 /**
  * Configuration loader that reads from external JSON file or environment variables.
@@ -17,6 +19,8 @@ public class ConfigLoader {
 
   private static final Logger logger = LoggerFactory.getLogger(ConfigLoader.class);
   private static final String DEFAULT_CONFIG_FILE = "config.json";
+  // Streaming codec: parsing with the default one would start Jackson databind at startup
+  private static final JacksonCodec CONFIG_CODEC = new JacksonCodec();
   private static ConfigLoader instance;
   private JsonObject config;
 
@@ -39,6 +43,7 @@ public class ConfigLoader {
   /**
    * Loads configuration from file or environment variables.
    */
+  @SuppressWarnings("unchecked")
   private void loadConfiguration() {
     try {
       // Try to load from config file first
@@ -47,7 +52,7 @@ public class ConfigLoader {
       
       if (Files.exists(configPath)) {
         String configContent = Files.readString(configPath);
-        config = new JsonObject(configContent);
+        config = new JsonObject(CONFIG_CODEC.fromString(configContent, Map.class));
         logger.info("Configuration loaded from file: {}", configPath.toAbsolutePath());
       } else {
         logger.warn("Configuration file not found: {}, using defaults", configPath.toAbsolutePath());
@@ -91,6 +96,33 @@ public class ConfigLoader {
         logger.warn("Invalid SERVER_PORT environment variable: {}", serverPort);
       }
     }
+
+    String gazetteerFile = System.getenv("GAZETTEER_FILE");
+    if (gazetteerFile != null && !gazetteerFile.trim().isEmpty()) {
+      if (!config.containsKey("gazetteer")) {
+        config.put("gazetteer", new JsonObject());
+      }
+      config.getJsonObject("gazetteer").put("file", gazetteerFile);
+      logger.info("Gazetteer file loaded from environment variable: {}", gazetteerFile);
+    }
+
+    String snapshotFile = System.getenv("CACHE_SNAPSHOT_FILE");
+    if (snapshotFile != null && !snapshotFile.trim().isEmpty()) {
+      if (!config.containsKey("shutdown")) {
+        config.put("shutdown", new JsonObject());
+      }
+      config.getJsonObject("shutdown").put("snapshotFile", snapshotFile);
+      logger.info("Cache snapshot file loaded from environment variable: {}", snapshotFile);
+    }
+
+    String fastStart = System.getenv("FAST_START");
+    if (fastStart != null && !fastStart.trim().isEmpty()) {
+      if (!config.containsKey("startup")) {
+        config.put("startup", new JsonObject());
+      }
+      config.getJsonObject("startup").put("fastStart", Boolean.parseBoolean(fastStart.trim()));
+      logger.info("Fast start loaded from environment variable: {}", fastStart);
+    }
   }
 
   /**
@@ -106,7 +138,9 @@ public class ConfigLoader {
             .put("port", 443))
         .put("server", new JsonObject()
             .put("host", "0.0.0.0")
-            .put("port", 8080))
+            .put("port", 8080)
+            .put("instances", 0)
+            .put("threadingModel", "EVENT_LOOP"))
         .put("cache", new JsonObject()
             .put("airPollutionTtlMs", 3600000L)
             .put("weatherTtlMs", 600000L)
@@ -116,7 +150,90 @@ public class ConfigLoader {
             .put("timeoutMs", 10000L)
             .put("retryTimeoutMs", 60000L))
         .put("rateLimiter", new JsonObject()
-            .put("dailyLimit", 1000));
+            .put("dailyLimit", 1000))
+        .put("weatherBatch", new JsonObject()
+            .put("enabled", false)
+            .put("windowMs", 50L)
+            .put("maxBatchSize", 20))
+        .put("weatherLookup", new JsonObject()
+            .put("byCityName", false))
+        .put("bulkAirPollution", new JsonObject()
+            .put("maxLocations", 1000)
+            .put("maxConcurrency", 8))
+        .put("gazetteer", new JsonObject()
+            .putNull("file"))
+        .put("autocomplete", new JsonObject()
+            .put("maxResults", 10)
+            .put("refreshIntervalMs", 60000L))
+        .put("spatialCache", new JsonObject()
+            .put("maxDistanceKmLimit", 50.0)
+            .put("airPollutionDefaultMaxDistanceKm", 0.0)
+            .put("weatherMaxDistanceKm", 0.0))
+        .put("interpolation", new JsonObject()
+            .put("radiusKm", 25.0)
+            .put("power", 2.0)
+            .put("minNeighbours", 3))
+        .put("compression", new JsonObject()
+            .put("enabled", true)
+            .put("level", 6)
+            .put("minSizeBytes", 1024))
+        .put("multiCityMemo", new JsonObject()
+            .put("enabled", true)
+            .put("maxEntries", 1000))
+        .put("accessLog", new JsonObject()
+            .put("enabled", true)
+            .put("bufferSize", 8192)
+            .put("sampleRate", 0.01)
+            .put("clientErrorSampleRate", 1.0)
+            .put("slowRequestMs", 1000))
+        .put("requestBody", new JsonObject()
+            .put("maxBytes", 1048576)
+            .put("maxCities", 1000))
+        .put("batch", new JsonObject()
+            .put("maxQueries", 100))
+        .put("subscriptions", new JsonObject()
+            .put("maxKeys", 50)
+            .put("minRefreshMs", 1000)
+            .put("retryMs", 30000)
+            .put("heartbeatMs", 30000))
+        .put("transport", new JsonObject()
+            .put("nativeTransport", false)
+            .put("reusePort", false)
+            .put("tcpNoDelay", true)
+            .put("tcpQuickAck", false)
+            .put("tcpFastOpen", false)
+            .put("acceptBacklog", -1)
+            .put("sendBufferSize", -1)
+            .put("receiveBufferSize", -1))
+        .put("http2", new JsonObject()
+            .put("enabled", true)
+            .put("maxConcurrentStreams", 100)
+            .put("initialWindowSize", 65535)
+            .put("connectionWindowSize", -1))
+        .put("tls", new JsonObject()
+            .put("enabled", false)
+            .putNull("certPath")
+            .putNull("keyPath"))
+        .put("admission", new JsonObject()
+            .put("enabled", true)
+            .put("maxInFlight", 512)
+            .put("maxPendingUpstream", 256)
+            .put("maxEventLoopLagMs", 200)
+            .put("expensiveShedRatio", 0.5)
+            .put("retryAfterSeconds", 1))
+        .put("monitoring", new JsonObject()
+            .put("enabled", true)
+            .put("lagProbeIntervalMs", 50)
+            .put("blockedThresholdMs", 100)
+            .put("stackDepth", 30)
+            .put("recentBlockedEvents", 20)
+            .put("maxEventLoopExecuteTimeMs", 2000)
+            .put("warningExceptionTimeMs", 5000))
+        .put("shutdown", new JsonObject()
+            .put("gracePeriodMs", 10000)
+            .put("snapshotFile", ""))
+        .put("startup", new JsonObject()
+            .put("fastStart", false));
   }
 
   // OpenWeather Configuration
@@ -141,6 +258,14 @@ public class ConfigLoader {
     return config.getJsonObject("server").getInteger("port");
   }
 
+  public int getServerInstances() {
+    return config.getJsonObject("server").getInteger("instances", 0);
+  }
+
+  public String getServerThreadingModel() {
+    return config.getJsonObject("server").getString("threadingModel", "EVENT_LOOP");
+  }
+
   // Cache Configuration
   public long getAirPollutionCacheTtl() {
     return config.getJsonObject("cache").getLong("airPollutionTtlMs");
@@ -172,6 +297,289 @@ public class ConfigLoader {
     return config.getJsonObject("rateLimiter").getInteger("dailyLimit");
   }
 
+  // Weather Batching Configuration
+  public boolean isWeatherBatchingEnabled() {
+    return section("weatherBatch").getBoolean("enabled", false);
+  }
+
+  public long getWeatherBatchWindowMs() {
+    return section("weatherBatch").getLong("windowMs", 50L);
+  }
+
+  public int getWeatherBatchMaxSize() {
+    return section("weatherBatch").getInteger("maxBatchSize", 20);
+  }
+
+  // Weather Lookup Configuration
+  public boolean isWeatherLookupByCityNameEnabled() {
+    return section("weatherLookup").getBoolean("byCityName", false);
+  }
+
+  // Bulk Air Pollution Configuration
+  public int getBulkAirPollutionMaxLocations() {
+    return section("bulkAirPollution").getInteger("maxLocations", 1000);
+  }
+
+  public int getBulkAirPollutionMaxConcurrency() {
+    return section("bulkAirPollution").getInteger("maxConcurrency", 8);
+  }
+
+  // Gazetteer Configuration
+  public String getGazetteerFile() {
+    return section("gazetteer").getString("file");
+  }
+
+  // Autocomplete Configuration
+  public int getAutocompleteMaxResults() {
+    return section("autocomplete").getInteger("maxResults", 10);
+  }
+
+  public long getAutocompleteRefreshIntervalMs() {
+    return section("autocomplete").getLong("refreshIntervalMs", 60000L);
+  }
+
+  // Spatial Cache Configuration
+  public double getMaxDistanceKmLimit() {
+    return section("spatialCache").getDouble("maxDistanceKmLimit", 50.0);
+  }
+
+  public double getAirPollutionDefaultMaxDistanceKm() {
+    return section("spatialCache").getDouble("airPollutionDefaultMaxDistanceKm", 0.0);
+  }
+
+  public double getWeatherMaxDistanceKm() {
+    return section("spatialCache").getDouble("weatherMaxDistanceKm", 0.0);
+  }
+
+  // Interpolation Configuration
+  public double getInterpolationRadiusKm() {
+    return section("interpolation").getDouble("radiusKm", 25.0);
+  }
+
+  public double getInterpolationPower() {
+    return section("interpolation").getDouble("power", 2.0);
+  }
+
+  public int getInterpolationMinNeighbours() {
+    return section("interpolation").getInteger("minNeighbours", 3);
+  }
+
+  // Compression Configuration
+  public boolean isCompressionEnabled() {
+    return section("compression").getBoolean("enabled", true);
+  }
+
+  public int getCompressionLevel() {
+    return section("compression").getInteger("level", 6);
+  }
+
+  public int getCompressionMinSizeBytes() {
+    return section("compression").getInteger("minSizeBytes", 1024);
+  }
+
+  // Multi-City Memo Configuration
+  public boolean isMultiCityMemoEnabled() {
+    return section("multiCityMemo").getBoolean("enabled", true);
+  }
+
+  public int getMultiCityMemoMaxEntries() {
+    return section("multiCityMemo").getInteger("maxEntries", 1000);
+  }
+
+  // Access Log Configuration
+  public boolean isAccessLogEnabled() {
+    return section("accessLog").getBoolean("enabled", true);
+  }
+
+  public int getAccessLogBufferSize() {
+    return section("accessLog").getInteger("bufferSize", 8192);
+  }
+
+  public double getAccessLogSampleRate() {
+    return section("accessLog").getDouble("sampleRate", 0.01);
+  }
+
+  public double getAccessLogClientErrorSampleRate() {
+    return section("accessLog").getDouble("clientErrorSampleRate", 1.0);
+  }
+
+  public long getAccessLogSlowRequestMs() {
+    return section("accessLog").getLong("slowRequestMs", 1000L);
+  }
+
+  // Request Body Configuration
+  public long getRequestBodyMaxBytes() {
+    return section("requestBody").getLong("maxBytes", 1048576L);
+  }
+
+  public int getRequestBodyMaxCities() {
+    return section("requestBody").getInteger("maxCities", 1000);
+  }
+
+  // Batch Configuration
+  public int getBatchMaxQueries() {
+    return section("batch").getInteger("maxQueries", 100);
+  }
+
+  // Subscription Configuration
+  public int getSubscriptionMaxKeys() {
+    return section("subscriptions").getInteger("maxKeys", 50);
+  }
+
+  public long getSubscriptionMinRefreshMs() {
+    return section("subscriptions").getLong("minRefreshMs", 1000L);
+  }
+
+  public long getSubscriptionRetryMs() {
+    return section("subscriptions").getLong("retryMs", 30000L);
+  }
+
+  public long getSubscriptionHeartbeatMs() {
+    return section("subscriptions").getLong("heartbeatMs", 30000L);
+  }
+
+  // Transport Configuration
+  public boolean isNativeTransportEnabled() {
+    return section("transport").getBoolean("nativeTransport", false);
+  }
+
+  public boolean isReusePortEnabled() {
+    return section("transport").getBoolean("reusePort", false);
+  }
+
+  public boolean isTcpNoDelayEnabled() {
+    return section("transport").getBoolean("tcpNoDelay", true);
+  }
+
+  public boolean isTcpQuickAckEnabled() {
+    return section("transport").getBoolean("tcpQuickAck", false);
+  }
+
+  public boolean isTcpFastOpenEnabled() {
+    return section("transport").getBoolean("tcpFastOpen", false);
+  }
+
+  public int getAcceptBacklog() {
+    return section("transport").getInteger("acceptBacklog", -1);
+  }
+
+  public int getSendBufferSize() {
+    return section("transport").getInteger("sendBufferSize", -1);
+  }
+
+  public int getReceiveBufferSize() {
+    return section("transport").getInteger("receiveBufferSize", -1);
+  }
+
+  // HTTP/2 Configuration
+  public boolean isHttp2Enabled() {
+    return section("http2").getBoolean("enabled", true);
+  }
+
+  public long getHttp2MaxConcurrentStreams() {
+    return section("http2").getLong("maxConcurrentStreams", 100L);
+  }
+
+  public int getHttp2InitialWindowSize() {
+    return section("http2").getInteger("initialWindowSize", 65535);
+  }
+
+  public int getHttp2ConnectionWindowSize() {
+    return section("http2").getInteger("connectionWindowSize", -1);
+  }
+
+  // TLS Configuration
+  public boolean isTlsEnabled() {
+    return section("tls").getBoolean("enabled", false);
+  }
+
+  public String getTlsCertPath() {
+    return section("tls").getString("certPath");
+  }
+
+  public String getTlsKeyPath() {
+    return section("tls").getString("keyPath");
+  }
+
+  // Admission Control Configuration
+  public boolean isAdmissionControlEnabled() {
+    return section("admission").getBoolean("enabled", true);
+  }
+
+  public int getAdmissionMaxInFlight() {
+    return section("admission").getInteger("maxInFlight", 512);
+  }
+
+  public int getAdmissionMaxPendingUpstream() {
+    return section("admission").getInteger("maxPendingUpstream", 256);
+  }
+
+  public long getAdmissionMaxEventLoopLagMs() {
+    return section("admission").getLong("maxEventLoopLagMs", 200L);
+  }
+
+  public double getAdmissionExpensiveShedRatio() {
+    return section("admission").getDouble("expensiveShedRatio", 0.5);
+  }
+
+  public int getAdmissionRetryAfterSeconds() {
+    return section("admission").getInteger("retryAfterSeconds", 1);
+  }
+
+  // Monitoring Configuration
+  public boolean isMonitoringEnabled() {
+    return section("monitoring").getBoolean("enabled", true);
+  }
+
+  public long getLagProbeIntervalMs() {
+    return section("monitoring").getLong("lagProbeIntervalMs", 50L);
+  }
+
+  public long getBlockedThresholdMs() {
+    return section("monitoring").getLong("blockedThresholdMs", 100L);
+  }
+
+  public int getBlockedStackDepth() {
+    return section("monitoring").getInteger("stackDepth", 30);
+  }
+
+  public int getRecentBlockedEvents() {
+    return section("monitoring").getInteger("recentBlockedEvents", 20);
+  }
+
+  public long getMaxEventLoopExecuteTimeMs() {
+    return section("monitoring").getLong("maxEventLoopExecuteTimeMs", 2000L);
+  }
+
+  public long getWarningExceptionTimeMs() {
+    return section("monitoring").getLong("warningExceptionTimeMs", 5000L);
+  }
+
+  // Shutdown Configuration
+  public long getShutdownGracePeriodMs() {
+    return section("shutdown").getLong("gracePeriodMs", 10000L);
+  }
+
+  public String getCacheSnapshotFile() {
+    return section("shutdown").getString("snapshotFile", "");
+  }
+
+  // Startup Configuration
+  public boolean isFastStartEnabled() {
+    return section("startup").getBoolean("fastStart", false);
+  }
+
+  /**
+   * Gets an optional configuration section, falling back to an empty object so that
+   * config files written before the section existed keep working with built-in defaults.
+   *
+   * @param name section name
+   * @return the section, or an empty JsonObject if absent
+   */
+  private JsonObject section(String name) {
+    return config.getJsonObject(name, new JsonObject());
+  }
+
   /**
    * Gets the full configuration object for debugging.
    *
@@ -60,4 +60,14 @@ public class OpenWeatherConfig {
         ApplicationConfig.getOpenWeatherApiPort(),
         ApplicationConfig.HTTP_TIMEOUT_MS);
   }
+
+  /** Creates a configuration for the Group Current Weather API. */
+  public static OpenWeatherConfig forGroupWeather() {
+    return new OpenWeatherConfig(
+        ApplicationConfig.getOpenWeatherApiKey(),
+        ApplicationConfig.getOpenWeatherApiHost(),
+        ApplicationConfig.GROUP_WEATHER_API_PATH,
+        ApplicationConfig.getOpenWeatherApiPort(),
+        ApplicationConfig.HTTP_TIMEOUT_MS);
+  }
 }
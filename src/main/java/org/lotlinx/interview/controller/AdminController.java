@@ -0,0 +1,49 @@
+package org.lotlinx.interview.controller;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.util.impl.AdmissionController;
+import org.lotlinx.interview.util.impl.EventLoopMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Controller for operational endpoints that report on the server itself. */
+public class AdminController {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+  private final EventLoopMonitor eventLoopMonitor;
+  private final AdmissionController admission;
+
+  /**
+   * @param eventLoopMonitor monitor shared by all server instances
+   * @param admission admission control of this server instance, or null if disabled
+   */
+  public AdminController(EventLoopMonitor eventLoopMonitor, AdmissionController admission) {
+    this.eventLoopMonitor = eventLoopMonitor;
+    this.admission = admission;
+  }
+
+  /**
+   * Reports lag histograms for every probed event loop, blocked-thread stack samples grouped by
+   * their top frames, and the admission state of the instance that serves the request.
+   */
+  public void handleEventLoop(RoutingContext context) {
+    logger.debug("Handler received request: {}", context.request().path());
+
+    JsonObject body = eventLoopMonitor.toJson();
+    if (admission != null) {
+      body.put("admission", new JsonObject()
+          .put("load", admission.load())
+          .put("inFlight", admission.getInFlight())
+          .put("shedHigh", admission.getShedCount(AdmissionController.Cost.HIGH))
+          .put("shedLow", admission.getShedCount(AdmissionController.Cost.LOW)));
+    }
+
+    context.response()
+        .putHeader("content-type", ApplicationConfig.CONTENT_TYPE_JSON)
+        .putHeader("cache-control", "no-store")
+        .end(body.encodePrettily());
+  }
+}
@@ -0,0 +1,233 @@
+package org.lotlinx.interview.controller;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.CachedResult;
+import org.lotlinx.interview.model.Coordinates;
+import org.lotlinx.interview.model.WeatherData;
+import org.lotlinx.interview.service.WeatherService;
+import org.lotlinx.interview.util.impl.JsonBufferWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes weather and air pollution updates to Server-Sent Events subscribers.
+ *
+ * <p>Every city or coordinate pair is a topic with a single refresh loop, however many clients
+ * follow it. The loop reads the value again when its cache entry expires, encodes it into one
+ * event frame, and writes that same frame to every subscriber, but only if it differs from the
+ * last frame sent. New subscribers get the last frame straight away. A topic stops refreshing
+ * when its last subscriber disconnects.
+ */
+public class SubscriptionHub implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SubscriptionHub.class);
+  private static final Buffer HEARTBEAT = Buffer.buffer(": keep-alive\n\n");
+
+  private final Vertx vertx;
+  private final WeatherService weatherService;
+  private final long minRefreshMs;
+  private final long retryMs;
+  private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+  private final Set<HttpServerResponse> subscribers = ConcurrentHashMap.newKeySet();
+  private final long heartbeatTimer;
+
+  /**
+   * @param vertx Vert.x instance for refresh and heartbeat timers
+   * @param weatherService service values are read through
+   * @param minRefreshMs shortest time between two refreshes of a topic
+   * @param retryMs time before a failed refresh is retried
+   * @param heartbeatMs interval of the comment frames that keep idle connections open
+   */
+  public SubscriptionHub(Vertx vertx, WeatherService weatherService, long minRefreshMs,
+      long retryMs, long heartbeatMs) {
+    this.vertx = vertx;
+    this.weatherService = weatherService;
+    this.minRefreshMs = minRefreshMs;
+    this.retryMs = retryMs;
+    this.heartbeatTimer = vertx.setPeriodic(heartbeatMs, id -> {
+      for (HttpServerResponse subscriber : subscribers) {
+        send(subscriber, HEARTBEAT);
+      }
+    });
+  }
+
+  /**
+   * Subscribes an open event stream to cities and coordinate pairs until it closes.
+   *
+   * @param subscriber chunked response the frames are written to
+   * @param cities city names to follow
+   * @param locations coordinate pairs to follow for air pollution
+   */
+  void subscribe(HttpServerResponse subscriber, List<String> cities, List<Coordinates> locations) {
+    List<String> keys = new ArrayList<>(cities.size() + locations.size());
+    subscribers.add(subscriber);
+    subscriber.closeHandler(v -> unsubscribe(subscriber, keys));
+
+    for (String city : cities) {
+      String key = "city:" + city.trim().toLowerCase(Locale.ROOT);
+      keys.add(key);
+      join(key, subscriber, () -> new Topic(key, "weather",
+          () -> weatherService.getCachedCityWeather(city)));
+    }
+    for (Coordinates location : locations) {
+      double latitude = location.getLatitude();
+      double longitude = location.getLongitude();
+      String key = String.format(Locale.ROOT, "location:%.6f,%.6f", latitude, longitude);
+      keys.add(key);
+      join(key, subscriber, () -> new Topic(key, "airPollution",
+          () -> weatherService.getCachedAirPollution(latitude, longitude, 0)));
+    }
+  }
+
+  private void join(String key, HttpServerResponse subscriber, Supplier<Topic> factory) {
+    while (true) {
+      Topic topic = topics.computeIfAbsent(key, k -> factory.get());
+      if (topic.add(subscriber)) {
+        return;
+      }
+      // The topic closed after its last subscriber left; replace it
+      topics.remove(key, topic);
+    }
+  }
+
+  private void unsubscribe(HttpServerResponse subscriber, List<String> keys) {
+    subscribers.remove(subscriber);
+    for (String key : keys) {
+      Topic topic = topics.get(key);
+      if (topic != null && topic.remove(subscriber)) {
+        topics.remove(key, topic);
+      }
+    }
+  }
+
+  private static void send(HttpServerResponse subscriber, Buffer frame) {
+    // A subscriber that cannot keep up skips frames rather than buffering them
+    if (subscriber.writeQueueFull()) {
+      return;
+    }
+    try {
+      subscriber.write(frame);
+    } catch (IllegalStateException e) {
+      // Closed between the check and the write; its close handler unsubscribes it
+    }
+  }
+
+  /** Builds one Server-Sent Events frame; the data line is compact JSON, so never spans lines. */
+  private static Buffer encodeFrame(String key, String event, Object value) {
+    JsonBufferWriter writer = new JsonBufferWriter(false);
+    writer.beginObject().name("key").value(key).name("data");
+    if (value instanceof WeatherData) {
+      WeatherController.writeWeatherData(writer, (WeatherData) value);
+    } else {
+      WeatherController.writeAirPollution(writer, (AirPollutionResponse) value);
+    }
+    writer.endObject();
+
+    return Buffer.buffer(writer.toBuffer().length() + 32)
+        .appendString("event: ").appendString(event)
+        .appendString("\ndata: ").appendBuffer(writer.toBuffer())
+        .appendString("\n\n");
+  }
+
+  /** Stops every refresh loop and the heartbeat. Open streams are left to the server to close. */
+  @Override
+  public void close() {
+    vertx.cancelTimer(heartbeatTimer);
+    for (Topic topic : topics.values()) {
+      topic.close();
+    }
+    topics.clear();
+  }
+
+  /** One followed key: its subscribers, last frame and refresh timer. */
+  private final class Topic {
+    private final String key;
+    private final String event;
+    private final Supplier<Future<? extends CachedResult<?>>> fetch;
+    private final Set<HttpServerResponse> topicSubscribers = new CopyOnWriteArraySet<>();
+    private volatile Buffer lastFrame;
+    private boolean started;
+    private boolean closed;
+    private long timerId = -1;
+
+    Topic(String key, String event, Supplier<Future<? extends CachedResult<?>>> fetch) {
+      this.key = key;
+      this.event = event;
+      this.fetch = fetch;
+    }
+
+    /** @return false if the topic has already closed and must be replaced */
+    synchronized boolean add(HttpServerResponse subscriber) {
+      if (closed) {
+        return false;
+      }
+      topicSubscribers.add(subscriber);
+      Buffer frame = lastFrame;
+      if (frame != null) {
+        send(subscriber, frame);
+      }
+      if (!started) {
+        started = true;
+        refresh();
+      }
+      return true;
+    }
+
+    /** @return true if that was the last subscriber and the topic has closed */
+    synchronized boolean remove(HttpServerResponse subscriber) {
+      topicSubscribers.remove(subscriber);
+      if (!topicSubscribers.isEmpty()) {
+        return false;
+      }
+      close();
+      return true;
+    }
+
+    synchronized void close() {
+      closed = true;
+      if (timerId >= 0) {
+        vertx.cancelTimer(timerId);
+      }
+    }
+
+    private void refresh() {
+      fetch.get().onComplete(ar -> {
+        long delayMs;
+        if (ar.succeeded()) {
+          CachedResult<?> result = ar.result();
+          Buffer frame = encodeFrame(key, event, result.getValue());
+          if (!frame.equals(lastFrame)) {
+            lastFrame = frame;
+            for (HttpServerResponse subscriber : topicSubscribers) {
+              send(subscriber, frame);
+            }
+          }
+          // The next read after expiry is the one that goes upstream
+          delayMs = Math.max(minRefreshMs, result.getExpiresAt() - System.currentTimeMillis());
+        } else {
+          logger.warn("Failed to refresh subscription {}: {}", key, ar.cause().getMessage());
+          delayMs = retryMs;
+        }
+        schedule(delayMs);
+      });
+    }
+
+    private synchronized void schedule(long delayMs) {
+      if (!closed) {
+        timerId = vertx.setTimer(delayMs, id -> refresh());
+      }
+    }
+  }
+}
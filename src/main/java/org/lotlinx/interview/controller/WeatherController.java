@@ -1,16 +1,47 @@
 package org.lotlinx.interview.controller;
 
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.RoutingContext;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.lotlinx.interview.config.ApplicationConfig;
 import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.AirQualityEstimate;
+import org.lotlinx.interview.model.AirQualityEstimateResponse;
+import org.lotlinx.interview.model.BatchQuery;
+import org.lotlinx.interview.model.BulkAirPollutionResponse;
+import org.lotlinx.interview.model.CachedResult;
+import org.lotlinx.interview.model.CitySuggestion;
+import org.lotlinx.interview.model.Coordinates;
 import org.lotlinx.interview.model.MultiCityWeatherResponse;
 import org.lotlinx.interview.model.WeatherData;
 import org.lotlinx.interview.service.WeatherService;
+import org.lotlinx.interview.util.ResponseWriter;
+import org.lotlinx.interview.util.impl.CborBufferWriter;
+import org.lotlinx.interview.util.impl.JsonArrayFieldStream;
+import org.lotlinx.interview.util.impl.JsonBufferWriter;
+import org.lotlinx.interview.util.impl.ResponseCompression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,15 +50,27 @@ public class WeatherController {
 
   private static final Logger logger = LoggerFactory.getLogger(WeatherController.class);
 
+  // Responses differ by negotiated format and, through compression, by accepted encoding
+  private static final String VARY = "Accept, Accept-Encoding";
+
+  // IMF-fixdate, the format HTTP uses for Last-Modified and If-Modified-Since
+  private static final DateTimeFormatter HTTP_DATE =
+      DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+          .withZone(ZoneOffset.UTC);
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
   private final WeatherService weatherService;
+  private final SubscriptionHub subscriptionHub;
 
-  public WeatherController(WeatherService weatherService) {
+  public WeatherController(WeatherService weatherService, SubscriptionHub subscriptionHub) {
     this.weatherService = weatherService;
+    this.subscriptionHub = subscriptionHub;
   }
 
   /** Handles the hello endpoint request. */
   public void handleHello(RoutingContext context) {
-    logger.info("Handler received request: {}", context.request().path());
+    logger.debug("Handler received request: {}", context.request().path());
 
     HttpServerResponse response = context.response();
     response.putHeader("content-type", "text/plain");
@@ -36,7 +79,7 @@ public class WeatherController {
 
   /** Handles the air pollution endpoint request. */
   public void handleAirPollution(RoutingContext context) {
-    logger.info(
+    logger.debug(
         "Handler received request: {} with Params: {}",
         context.request().path(),
         context.request().params());
@@ -44,14 +87,33 @@ public class WeatherController {
     try {
       double latitude = getQueryParameterDouble("latitude", context);
       double longitude = getQueryParameterDouble("longitude", context);
+      boolean toleranceRequested = context.request().getParam("maxDistanceKm") != null;
+      double maxDistanceKm = toleranceRequested
+          ? getQueryParameterDouble("maxDistanceKm", context)
+          : ApplicationConfig.getAirPollutionDefaultMaxDistanceKm();
+      double maxDistanceKmLimit = ApplicationConfig.getMaxDistanceKmLimit();
+      if (maxDistanceKm < 0 || maxDistanceKm > maxDistanceKmLimit) {
+        throw new IllegalArgumentException(
+            "Parameter 'maxDistanceKm' must be between 0 and " + maxDistanceKmLimit);
+      }
 
       weatherService
-          .getCurrentAirPollution(latitude, longitude)
+          .getCachedAirPollution(latitude, longitude, maxDistanceKm)
           .onComplete(
               ar -> {
                 if (ar.succeeded()) {
-                  logger.info("Successfully processed air pollution request");
-                  sendSuccessResponse(context, ar.result());
+                  logger.debug("Successfully processed air pollution request");
+                  CachedResult<AirPollutionResponse> cached = ar.result();
+                  if (sendCacheHeaders(context, cached)) {
+                    return;
+                  }
+                  AirPollutionResponse result = cached.getValue();
+                  if (toleranceRequested && result.getServedDistanceKm() == null) {
+                    // Callers that asked for a tolerance always get the served distance back
+                    result = new AirPollutionResponse(result, 0.0);
+                  }
+                  sendMemoizedResponse(
+                      context, cached, toleranceRequested ? "distance" : "exact", result);
                 } else {
                   logger.error("Error while processing air pollution request", ar.cause());
                   sendErrorResponse(
@@ -68,186 +130,864 @@ public class WeatherController {
     }
   }
 
-  /** Handles the multi-city weather endpoint request. */
+  /**
+   * Handles the multi-city weather endpoint request. The body is parsed as it arrives and each
+   * city's lookup starts as soon as its name has been read. The names and their pending lookups
+   * are kept until the list ends, which {@code requestBody.maxCities} bounds.
+   */
   public void handleMultiCityWeather(RoutingContext context) {
-    logger.info("Handler received multi-city weather request: {}", context.request().path());
+    logger.debug("Handler received multi-city weather request: {}", context.request().path());
+
+    long maxBytes = ApplicationConfig.getRequestBodyMaxBytes();
+    String contentLength = context.request().getHeader("content-length");
+    if (contentLength != null) {
+      long length;
+      try {
+        length = Long.parseLong(contentLength);
+      } catch (NumberFormatException e) {
+        logger.warn("Invalid content-length for multi-city weather request: {}", contentLength);
+        sendErrorResponse(context, 400, "Invalid content-length: " + contentLength);
+        return;
+      }
+      if (length > maxBytes) {
+        sendErrorResponse(context, 413, "Request body exceeds " + maxBytes + " bytes");
+        return;
+      }
+    }
+
+    JsonArrayFieldStream cities = new JsonArrayFieldStream(context.request(), "cities",
+        "City names", maxBytes, ApplicationConfig.getRequestBodyMaxCities());
+    weatherService
+        .getMultiCityWeather(cities)
+        .onComplete(
+            ar -> {
+              if (ar.succeeded()) {
+                logger.debug("Successfully processed multi-city weather request for {} cities",
+                    ar.result().getTotalCities());
+                sendSuccessResponse(context, ar.result());
+              } else if (ar.cause() instanceof JsonArrayFieldStream.LimitExceededException) {
+                logger.warn("Rejected multi-city weather request: {}", ar.cause().getMessage());
+                sendErrorResponse(context, 413, ar.cause().getMessage());
+              } else if (ar.cause() instanceof IllegalArgumentException) {
+                logger.warn("Invalid multi-city weather request: {}", ar.cause().getMessage());
+                sendErrorResponse(context, 400, ar.cause().getMessage());
+              } else {
+                logger.error("Error while processing multi-city weather request", ar.cause());
+                sendErrorResponse(context, 500, ar.cause().getMessage());
+              }
+            });
+    context.request().resume();
+  }
+
+  /**
+   * Handles the GET form of the multi-city weather endpoint, which takes the cities as a
+   * comma-separated {@code cities} query parameter. Any spelling of a city set other than its
+   * canonical one is redirected there, so shared caches hold one entry per set.
+   */
+  public void handleMultiCityWeatherQuery(RoutingContext context) {
+    logger.debug("Handler received multi-city weather query: {}", context.request().uri());
 
     try {
-      List<String> cities = parseCitiesFromRequest(context);
+      String citiesParam = context.request().getParam("cities");
+      if (citiesParam == null || citiesParam.isBlank()) {
+        throw new IllegalArgumentException("Missing required parameter: cities");
+      }
+      List<String> cities = canonicalCities(citiesParam);
+      int maxCities = ApplicationConfig.getRequestBodyMaxCities();
+      if (cities.size() > maxCities) {
+        throw new IllegalArgumentException(
+            "Parameter 'cities' has more than " + maxCities + " cities");
+      }
 
-      if (cities == null) {
+      String canonicalQuery = canonicalMultiCityQuery(cities, isPrettyRequested(context));
+      if (!canonicalQuery.equals(context.request().query())) {
+        context.response()
+            .setStatusCode(301)
+            .putHeader("location", context.request().path() + "?" + canonicalQuery)
+            .putHeader("cache-control", "public, max-age=86400")
+            .end();
         return;
       }
 
       weatherService
-          .getMultiCityWeather(cities)
+          .getCachedMultiCityWeather(cities)
           .onComplete(
               ar -> {
                 if (ar.succeeded()) {
-                  logger.info("Successfully processed multi-city weather request for {} cities", 
+                  logger.debug("Successfully processed multi-city weather query for {} cities",
                       cities.size());
+                  CachedResult<MultiCityWeatherResponse> cached = ar.result();
+                  if (!sendCacheHeaders(context, cached)) {
+                    sendMemoizedResponse(context, cached, "cities", cached.getValue());
+                  }
+                } else {
+                  logger.error("Error while processing multi-city weather query", ar.cause());
+                  sendErrorResponse(context, 500, ar.cause().getMessage());
+                }
+              });
+
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid parameters for multi-city weather query: {}", e.getMessage());
+      sendErrorResponse(context, 400, e.getMessage());
+    }
+  }
+
+  /** Handles the bulk air pollution endpoint request. */
+  public void handleBulkAirPollution(RoutingContext context) {
+    logger.debug("Handler received bulk air pollution request: {}", context.request().path());
+
+    try {
+      List<Coordinates> locations = parseLocationsFromRequest(context);
+
+      if (locations == null) {
+        return;
+      }
+
+      weatherService
+          .getBulkAirPollution(locations)
+          .onComplete(
+              ar -> {
+                if (ar.succeeded()) {
+                  logger.debug("Successfully processed bulk air pollution request for {} locations",
+                      locations.size());
                   sendSuccessResponse(context, ar.result());
                 } else {
-                  logger.error("Error while processing multi-city weather request", ar.cause());
+                  logger.error("Error while processing bulk air pollution request", ar.cause());
                   sendErrorResponse(context, 500, ar.cause().getMessage());
                 }
               });
 
     } catch (Exception e) {
-      logger.error("Unexpected error in multi-city weather handler", e);
+      logger.error("Unexpected error in bulk air pollution handler", e);
       sendErrorResponse(context, 400, e.getMessage());
     }
   }
 
-  /** Sends a successful JSON response. */
+  /** Handles the air quality estimate endpoint request. */
+  public void handleAirQualityEstimate(RoutingContext context) {
+    logger.debug("Handler received air quality estimate request: {}", context.request().path());
+
+    try {
+      List<Coordinates> locations = parseLocationsFromRequest(context);
+
+      if (locations == null) {
+        return;
+      }
+
+      double radiusKm = context.body().asJsonObject()
+          .getDouble("radiusKm", ApplicationConfig.getInterpolationRadiusKm());
+      double maxDistanceKmLimit = ApplicationConfig.getMaxDistanceKmLimit();
+      if (radiusKm <= 0 || radiusKm > maxDistanceKmLimit) {
+        sendErrorResponse(context, 400,
+            "Field 'radiusKm' must be greater than 0 and at most " + maxDistanceKmLimit);
+        return;
+      }
+
+      weatherService
+          .estimateAirQuality(locations, radiusKm)
+          .onComplete(
+              ar -> {
+                if (ar.succeeded()) {
+                  logger.debug("Successfully processed air quality estimate request for {} locations",
+                      locations.size());
+                  sendSuccessResponse(context, ar.result());
+                } else {
+                  logger.error("Error while processing air quality estimate request", ar.cause());
+                  sendErrorResponse(context, 500, ar.cause().getMessage());
+                }
+              });
+
+    } catch (Exception e) {
+      logger.error("Unexpected error in air quality estimate handler", e);
+      sendErrorResponse(context, 400, e.getMessage());
+    }
+  }
+
+  /**
+   * Handles the batch endpoint request: many weather and air pollution sub-queries in one call.
+   * Results are returned together, in request order, or with {@code ?stream=true} as
+   * newline-delimited JSON, one line per sub-query in the order they complete.
+   */
+  public void handleBatch(RoutingContext context) {
+    logger.debug("Handler received batch request: {}", context.request().path());
+
+    try {
+      List<BatchQuery> queries = parseBatchQueries(context);
+      List<Future<?>> results = weatherService.runBatch(queries);
+
+      if ("true".equalsIgnoreCase(context.request().getParam("stream"))) {
+        streamBatchResults(context, queries, results);
+        return;
+      }
+
+      Future.join(results).onComplete(ar -> {
+        logger.debug("Successfully processed batch request with {} queries", queries.size());
+        sendBatchResponse(context, queries, results);
+      });
+
+    } catch (Exception e) {
+      logger.warn("Invalid batch request: {}", e.getMessage());
+      sendErrorResponse(context, 400, e.getMessage());
+    }
+  }
+
+  /** Parses and validates the sub-queries of a batch request body. */
+  private List<BatchQuery> parseBatchQueries(RoutingContext context) {
+    JsonObject jsonBody = context.body().asJsonObject();
+    JsonArray queriesArray = jsonBody != null ? jsonBody.getJsonArray("queries") : null;
+    if (queriesArray == null || queriesArray.isEmpty()) {
+      throw new IllegalArgumentException("Request body must contain a non-empty 'queries' array");
+    }
+
+    int maxQueries = ApplicationConfig.getBatchMaxQueries();
+    if (queriesArray.size() > maxQueries) {
+      throw new IllegalArgumentException(
+          "A single request may contain at most " + maxQueries + " queries");
+    }
+
+    List<BatchQuery> queries = new ArrayList<>(queriesArray.size());
+    for (int i = 0; i < queriesArray.size(); i++) {
+      JsonObject query = queriesArray.getJsonObject(i);
+      if (query == null) {
+        throw new IllegalArgumentException("Each query must be an object (index " + i + ")");
+      }
+      Object idValue = query.getValue("id");
+      String id = idValue != null ? idValue.toString() : String.valueOf(i);
+
+      String type = query.getString("type");
+      if ("weather".equals(type)) {
+        String city = query.getString("city");
+        if (city == null || city.trim().isEmpty()) {
+          throw new IllegalArgumentException(
+              "Weather queries must contain a non-empty 'city' field (index " + i + ")");
+        }
+        queries.add(BatchQuery.weather(id, city));
+      } else if ("airPollution".equals(type)) {
+        if (!(query.getValue("latitude") instanceof Number)
+            || !(query.getValue("longitude") instanceof Number)) {
+          throw new IllegalArgumentException("Air pollution queries must contain numeric "
+              + "'latitude' and 'longitude' fields (index " + i + ")");
+        }
+        queries.add(BatchQuery.airPollution(
+            id, new Coordinates(query.getDouble("latitude"), query.getDouble("longitude"))));
+      } else {
+        throw new IllegalArgumentException(
+            "Query 'type' must be 'weather' or 'airPollution' (index " + i + ")");
+      }
+    }
+    return queries;
+  }
+
+  /** Sends every sub-query result in one response once all have completed. */
+  private void sendBatchResponse(
+      RoutingContext context, List<BatchQuery> queries, List<Future<?>> results) {
+    int succeeded = 0;
+    for (Future<?> result : results) {
+      if (result.succeeded()) {
+        succeeded++;
+      }
+    }
+    Set<Future<?>> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+    unique.addAll(results);
+
+    ResponseWriter writer = newWriter(context);
+    writer.beginObject()
+        .name("totalQueries").value(queries.size())
+        .name("uniqueQueries").value(unique.size())
+        .name("successfulRequests").value(succeeded)
+        .name("failedRequests").value(queries.size() - succeeded)
+        .name("results").beginArray();
+    for (int i = 0; i < queries.size(); i++) {
+      writeBatchResult(writer, queries.get(i), results.get(i));
+    }
+    writer.endArray().endObject();
+
+    context.response()
+        .putHeader("content-type", writer.contentType())
+        .end(writer.toBuffer());
+  }
+
+  /** Writes each sub-query result as its own JSON line as soon as it completes. */
+  private void streamBatchResults(
+      RoutingContext context, List<BatchQuery> queries, List<Future<?>> results) {
+    HttpServerResponse response = context.response()
+        .setChunked(true)
+        .putHeader("content-type", "application/x-ndjson");
+
+    AtomicInteger remaining = new AtomicInteger(queries.size());
+    for (int i = 0; i < queries.size(); i++) {
+      BatchQuery query = queries.get(i);
+      Future<?> result = results.get(i);
+      result.onComplete(ar -> {
+        JsonBufferWriter writer = new JsonBufferWriter(false);
+        writeBatchResult(writer, query, result);
+        response.write(writer.toBuffer().appendByte((byte) '\n'));
+        if (remaining.decrementAndGet() == 0) {
+          response.end();
+        }
+      });
+    }
+  }
+
+  /**
+   * Handles the subscription endpoint request: opens a Server-Sent Events stream that receives an
+   * event whenever the weather of a {@code cities} entry, or the air pollution at a {@code
+   * locations} entry ({@code lat,lon} pairs separated by {@code ;}), changes.
+   */
+  public void handleSubscribe(RoutingContext context) {
+    try {
+      String citiesParam = context.request().getParam("cities");
+      String locationsParam = context.request().getParam("locations");
+      List<String> cities = citiesParam != null && !citiesParam.isBlank()
+          ? canonicalCities(citiesParam)
+          : List.of();
+      List<Coordinates> locations = locationsParam != null && !locationsParam.isBlank()
+          ? parseLocationsParam(locationsParam)
+          : List.of();
+
+      if (cities.isEmpty() && locations.isEmpty()) {
+        throw new IllegalArgumentException("Missing required parameter: cities or locations");
+      }
+      int maxKeys = ApplicationConfig.getSubscriptionMaxKeys();
+      if (cities.size() + locations.size() > maxKeys) {
+        throw new IllegalArgumentException(
+            "A subscription may follow at most " + maxKeys + " cities and locations");
+      }
+
+      // Frames are encoded once and shared by every subscriber, so they are not compressed
+      HttpServerResponse response = context.response()
+          .setChunked(true)
+          .putHeader("content-type", "text/event-stream")
+          .putHeader("cache-control", "no-cache")
+          .putHeader("content-encoding", "identity");
+      response.write(": subscribed\n\n");
+      subscriptionHub.subscribe(response, cities, locations);
+      logger.debug("Subscribed to {} cities and {} locations", cities.size(), locations.size());
+
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid parameters for subscription request: {}", e.getMessage());
+      sendErrorResponse(context, 400, e.getMessage());
+    }
+  }
+
+  /** Parses {@code lat,lon} pairs separated by {@code ;}. */
+  private static List<Coordinates> parseLocationsParam(String locationsParam) {
+    List<Coordinates> locations = new ArrayList<>();
+    for (String pair : locationsParam.split(";")) {
+      String[] parts = pair.split(",");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException(
+            "Each location must be a 'latitude,longitude' pair: " + pair);
+      }
+      try {
+        locations.add(new Coordinates(
+            Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim())));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid number format in location: " + pair);
+      }
+    }
+    return locations;
+  }
+
+  /** Handles the city autocomplete endpoint request. */
+  public void handleCityAutocomplete(RoutingContext context) {
+    try {
+      String query = context.request().getParam("q");
+      if (query == null || query.isBlank()) {
+        throw new IllegalArgumentException("Missing required parameter: q");
+      }
+
+      int maxResults = ApplicationConfig.getAutocompleteMaxResults();
+      int limit = maxResults;
+      String limitParam = context.request().getParam("limit");
+      if (limitParam != null) {
+        try {
+          limit = Integer.parseInt(limitParam);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid number format for parameter 'limit': " + limitParam);
+        }
+        if (limit < 1 || limit > maxResults) {
+          throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + maxResults);
+        }
+      }
+
+      weatherService
+          .getCitySuggestions(query, limit)
+          .onComplete(
+              ar -> {
+                if (ar.succeeded()) {
+                  sendCitySuggestionsResponse(context, query, ar.result());
+                } else {
+                  logger.error("Error while processing city autocomplete request", ar.cause());
+                  sendErrorResponse(context, 500, ar.cause().getMessage());
+                }
+              });
+
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid parameters for city autocomplete request: {}", e.getMessage());
+      sendErrorResponse(context, 400, e.getMessage());
+    }
+  }
+
+  /** Sends a JSON response with city suggestions. */
+  private void sendCitySuggestionsResponse(
+      RoutingContext context, String query, List<CitySuggestion> suggestions) {
+    ResponseWriter writer = newWriter(context);
+    writer.beginObject().name("query").value(query).name("suggestions").beginArray();
+    for (CitySuggestion suggestion : suggestions) {
+      writer.beginObject()
+          .name("name").value(suggestion.getName())
+          .name("country").value(suggestion.getCountry())
+          .name("latitude").value(suggestion.getLatitude())
+          .name("longitude").value(suggestion.getLongitude())
+          .endObject();
+    }
+    writer.endArray().endObject();
+
+    context.response()
+        .putHeader("content-type", writer.contentType())
+        .end(writer.toBuffer());
+  }
+
+  /** Sends a successful response in the negotiated format. */
   private void sendSuccessResponse(RoutingContext context, Object data) {
     HttpServerResponse response = context.response();
-    response.putHeader("content-type", "application/json");
-    
+    ResponseWriter writer = newWriter(context);
+
+    if (!writeBody(writer, data)) {
+      response.putHeader("content-type", "application/json");
+      response.end(isPrettyRequested(context) ? Json.encodePrettily(data) : Json.encode(data));
+      return;
+    }
+    response.putHeader("content-type", writer.contentType());
+    response.end(writer.toBuffer());
+  }
+
+  /**
+   * Sends a response whose encoded body is memoised on the cache entry it came from. Each
+   * representation is serialised once per entry and, when large enough, compressed once per
+   * accepted encoding, so later requests only copy bytes.
+   *
+   * @param variant distinguishes bodies that differ for the same entry and representation
+   */
+  private void sendMemoizedResponse(
+      RoutingContext context, CachedResult<?> cached, String variant, Object data) {
+    ConcurrentMap<String, Object> attachments = cached.getAttachments();
+    if (attachments == null) {
+      sendSuccessResponse(context, data);
+      return;
+    }
+
+    HttpServerResponse response = context.response();
+    String representation = representation(context);
+    String bodyKey = representation + "/" + variant;
+    Buffer body = (Buffer) attachments.computeIfAbsent(bodyKey, key -> {
+      ResponseWriter writer = newWriter(context);
+      writeBody(writer, data);
+      return writer.toBuffer();
+    });
+    response
+        .putHeader("content-type",
+            "cbor".equals(representation) ? CborBufferWriter.CONTENT_TYPE : "application/json")
+        .putHeader("vary", VARY);
+
+    String encoding = ApplicationConfig.isCompressionEnabled()
+        && body.length() >= ApplicationConfig.getCompressionMinSizeBytes()
+        ? ResponseCompression.negotiate(context.request().getHeader("accept-encoding"))
+        : null;
+    if (encoding != null) {
+      Buffer uncompressed = body;
+      body = (Buffer) attachments.computeIfAbsent(bodyKey + ";" + encoding,
+          key -> ResponseCompression.compress(
+              uncompressed, encoding, ApplicationConfig.getCompressionLevel()));
+      response.putHeader("content-encoding", encoding);
+    }
+
+    response.end(body);
+  }
+
+  /**
+   * Writes a known response model.
+   *
+   * @return false if the type has no streaming serialiser and nothing was written
+   */
+  private static boolean writeBody(ResponseWriter writer, Object data) {
     if (data instanceof MultiCityWeatherResponse) {
-      MultiCityWeatherResponse weatherResponse = (MultiCityWeatherResponse) data;
-      JsonObject jsonResponse = buildMultiCityWeatherJson(weatherResponse);
-      response.end(jsonResponse.encodePrettily());
+      writeMultiCityWeather(writer, (MultiCityWeatherResponse) data);
     } else if (data instanceof AirPollutionResponse) {
-      AirPollutionResponse airPollutionResponse = (AirPollutionResponse) data;
-      JsonObject jsonResponse = buildAirPollutionJson(airPollutionResponse);
-      response.end(jsonResponse.encodePrettily());
+      writeAirPollution(writer, (AirPollutionResponse) data);
+    } else if (data instanceof BulkAirPollutionResponse) {
+      writeBulkAirPollution(writer, (BulkAirPollutionResponse) data);
+    } else if (data instanceof AirQualityEstimateResponse) {
+      writeAirQualityEstimates(writer, (AirQualityEstimateResponse) data);
     } else {
-      response.end(Json.encodePrettily(data));
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Creates a response writer for the format the client prefers. CBOR is used when the Accept
+   * header ranks it above JSON; otherwise JSON, pretty printed only when the client asks for it.
+   */
+  private ResponseWriter newWriter(RoutingContext context) {
+    context.response().putHeader("vary", VARY);
+    return acceptsCbor(context)
+        ? new CborBufferWriter()
+        : new JsonBufferWriter(isPrettyRequested(context));
+  }
+
+  /** Names the negotiated representation: cbor, pretty or json. */
+  private String representation(RoutingContext context) {
+    return acceptsCbor(context) ? "cbor" : isPrettyRequested(context) ? "pretty" : "json";
+  }
+
+  private boolean acceptsCbor(RoutingContext context) {
+    // Accepted media types come sorted by preference; stop at the first one we can produce
+    for (MIMEHeader accepted : context.parsedHeaders().accept()) {
+      // value() rather than component(), which is left unparsed for single-valued headers
+      String mediaType = accepted.value().toLowerCase(Locale.ROOT);
+      if (mediaType.equals(CborBufferWriter.CONTENT_TYPE)) {
+        return true;
+      }
+      if (mediaType.equals("application/json")
+          || mediaType.equals("application/*")
+          || mediaType.equals("*/*")) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sets validators, freshness and cache status headers for a result served through the cache.
+   * If the client's copy is still current, also ends the response with 304 Not Modified.
+   *
+   * @return true if a 304 was sent and no body should be written
+   */
+  private boolean sendCacheHeaders(RoutingContext context, CachedResult<?> cached) {
+    HttpServerResponse response = context.response();
+
+    // Each representation of the same entry gets its own tag. The tag is weak because the body
+    // may be sent in any content-coding, picked here or by the server's compressor
+    String entityTag = "\"" + cached.getVersion() + "-" + representation(context) + "\"";
+    long maxAgeSeconds = cached.getStatus() == CachedResult.Status.STALE
+        ? 0
+        : Math.max(0, (cached.getExpiresAt() - System.currentTimeMillis()) / 1000);
+
+    response
+        .putHeader("etag", "W/" + entityTag)
+        .putHeader("last-modified", HTTP_DATE.format(Instant.ofEpochMilli(cached.getLastModified())))
+        .putHeader("cache-control", "public, max-age=" + maxAgeSeconds)
+        .putHeader("x-cache", cached.getStatus().name())
+        .putHeader("vary", VARY);
+
+    if (!isNotModified(context, entityTag, cached.getLastModified())) {
+      return false;
+    }
+    response.setStatusCode(304).end();
+    return true;
+  }
+
+  /**
+   * Evaluates If-None-Match, comparing tags weakly, or If-Modified-Since when no entity tags were
+   * sent.
+   *
+   * @param entityTag opaque tag of the current representation, without the weak prefix
+   */
+  private boolean isNotModified(RoutingContext context, String entityTag, long lastModified) {
+    String ifNoneMatch = context.request().getHeader("if-none-match");
+    if (ifNoneMatch != null) {
+      for (String candidate : ifNoneMatch.split(",")) {
+        String tag = candidate.trim();
+        if (tag.startsWith("W/")) {
+          tag = tag.substring(2);
+        }
+        if (tag.equals("*") || tag.equals(entityTag)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    String ifModifiedSince = context.request().getHeader("if-modified-since");
+    if (ifModifiedSince != null) {
+      try {
+        long since = Instant.from(HTTP_DATE.parse(ifModifiedSince)).getEpochSecond();
+        return lastModified / 1000 <= since;
+      } catch (DateTimeParseException e) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private boolean isPrettyRequested(RoutingContext context) {
+    return "true".equalsIgnoreCase(context.request().getParam("pretty"));
+  }
+
+  /**
+   * Normalises a comma-separated city list: each name is NFC-normalised, trimmed, lower-cased and
+   * has its inner whitespace collapsed, then duplicates are dropped and the rest sorted.
+   */
+  static List<String> canonicalCities(String citiesParam) {
+    TreeSet<String> cities = new TreeSet<>();
+    for (String city : citiesParam.split(",", -1)) {
+      String normalized = WHITESPACE
+          .matcher(Normalizer.normalize(city, Normalizer.Form.NFC).trim())
+          .replaceAll(" ")
+          .toLowerCase(Locale.ROOT);
+      if (normalized.isEmpty()) {
+        throw new IllegalArgumentException("City names cannot be null or empty");
+      }
+      cities.add(normalized);
+    }
+    return new ArrayList<>(cities);
+  }
+
+  /** Builds the one query string every spelling of a city set redirects to. */
+  static String canonicalMultiCityQuery(List<String> cities, boolean pretty) {
+    StringBuilder query = new StringBuilder("cities=");
+    for (int i = 0; i < cities.size(); i++) {
+      if (i > 0) {
+        query.append(',');
+      }
+      query.append(URLEncoder.encode(cities.get(i), StandardCharsets.UTF_8).replace("+", "%20"));
     }
+    if (pretty) {
+      query.append("&pretty=true");
+    }
+    return query.toString();
   }
 
-  /** Parses and validates cities from the request body. */
-  private List<String> parseCitiesFromRequest(RoutingContext context) {
+  /** Parses and validates coordinate pairs from the bulk air pollution request body. */
+  private List<Coordinates> parseLocationsFromRequest(RoutingContext context) {
     JsonObject jsonBody = context.body().asJsonObject();
-    
-    // Validate cities array exists
-    if (!jsonBody.containsKey("cities") || jsonBody.getValue("cities") == null) {
-      sendErrorResponse(context, 400, "Request body must contain a 'cities' array");
+
+    if (jsonBody == null || jsonBody.getValue("locations") == null) {
+      sendErrorResponse(context, 400, "Request body must contain a 'locations' array");
       return null;
     }
-    
-    JsonArray citiesArray = jsonBody.getJsonArray("cities");
-    if (citiesArray.isEmpty()) {
-      sendErrorResponse(context, 400, "Request body must contain a non-empty 'cities' array");
+
+    JsonArray locationsArray = jsonBody.getJsonArray("locations");
+    if (locationsArray.isEmpty()) {
+      sendErrorResponse(context, 400, "Request body must contain a non-empty 'locations' array");
       return null;
     }
-    
-    // Convert to List<String> with validation
-    List<String> cities = new ArrayList<>();
-    for (int i = 0; i < citiesArray.size(); i++) {
-      String city = citiesArray.getString(i);
-      if (city == null || city.trim().isEmpty()) {
-        sendErrorResponse(context, 400, "City names cannot be null or empty");
+
+    int maxLocations = ApplicationConfig.getBulkAirPollutionMaxLocations();
+    if (locationsArray.size() > maxLocations) {
+      sendErrorResponse(context, 400, "A single request may contain at most " + maxLocations
+          + " locations");
+      return null;
+    }
+
+    List<Coordinates> locations = new ArrayList<>(locationsArray.size());
+    for (int i = 0; i < locationsArray.size(); i++) {
+      JsonObject location = locationsArray.getJsonObject(i);
+      if (location == null
+          || !(location.getValue("latitude") instanceof Number)
+          || !(location.getValue("longitude") instanceof Number)) {
+        sendErrorResponse(context, 400,
+            "Each location must contain numeric 'latitude' and 'longitude' fields (index " + i + ")");
         return null;
       }
-      cities.add(city);
+      locations.add(new Coordinates(location.getDouble("latitude"), location.getDouble("longitude")));
     }
-    
-    return cities;
+
+    return locations;
   }
 
-  /** Builds JSON response for multi-city weather data. */
-  private JsonObject buildMultiCityWeatherJson(MultiCityWeatherResponse response) {
-    JsonObject jsonResponse = new JsonObject();
-    jsonResponse.put("totalCities", response.getTotalCities());
-    jsonResponse.put("successfulRequests", response.getSuccessfulRequests());
-    jsonResponse.put("failedRequests", response.getFailedRequests());
-    
+  /** Writes the multi-city weather response. */
+  static void writeMultiCityWeather(ResponseWriter writer, MultiCityWeatherResponse response) {
+    writer.beginObject()
+        .name("totalCities").value(response.getTotalCities())
+        .name("successfulRequests").value(response.getSuccessfulRequests())
+        .name("failedRequests").value(response.getFailedRequests());
+
     // Add failed cities information
     if (response.getFailedCities() != null && !response.getFailedCities().isEmpty()) {
-      JsonArray failedCitiesArray = new JsonArray();
+      writer.name("failedCities").beginArray();
       for (String failedCity : response.getFailedCities()) {
-        failedCitiesArray.add(failedCity);
+        writer.value(failedCity);
       }
-      jsonResponse.put("failedCities", failedCitiesArray);
+      writer.endArray();
     }
-    
-    JsonArray weatherDataArray = new JsonArray();
+
+    writer.name("weatherData").beginArray();
     for (WeatherData weatherData : response.getWeatherData()) {
-      JsonObject cityWeather = new JsonObject();
-      cityWeather.put("city", weatherData.getCity());
-      cityWeather.put("temperature", weatherData.getTemperature());
-      cityWeather.put("description", weatherData.getDescription());
-      cityWeather.put("humidity", weatherData.getHumidity());
-      cityWeather.put("pressure", weatherData.getPressure());
-      cityWeather.put("windSpeed", weatherData.getWindSpeed());
-      
-      JsonObject coordinates = new JsonObject();
-      coordinates.put("latitude", weatherData.getCoordinates().getLatitude());
-      coordinates.put("longitude", weatherData.getCoordinates().getLongitude());
-      cityWeather.put("coordinates", coordinates);
-      
-      weatherDataArray.add(cityWeather);
+      writeWeatherData(writer, weatherData);
     }
-    
-    jsonResponse.put("weatherData", weatherDataArray);
-    return jsonResponse;
+    writer.endArray().endObject();
   }
 
-  /** Builds JSON response for air pollution data. */
-  private JsonObject buildAirPollutionJson(AirPollutionResponse response) {
-    JsonObject jsonResponse = new JsonObject();
-    
+  /** Writes one city's weather. */
+  static void writeWeatherData(ResponseWriter writer, WeatherData weatherData) {
+    writer.beginObject()
+        .name("city").value(weatherData.getCity())
+        .name("temperature").value(weatherData.getTemperature())
+        .name("description").value(weatherData.getDescription())
+        .name("humidity").value(weatherData.getHumidity())
+        .name("pressure").value(weatherData.getPressure())
+        .name("windSpeed").value(weatherData.getWindSpeed())
+        .name("coordinates").beginObject()
+        .name("latitude").value(weatherData.getCoordinates().getLatitude())
+        .name("longitude").value(weatherData.getCoordinates().getLongitude())
+        .endObject()
+        .endObject();
+  }
+
+  /** Writes one batch sub-query with its data, or the error it failed with. */
+  static void writeBatchResult(ResponseWriter writer, BatchQuery query, Future<?> result) {
+    writer.beginObject()
+        .name("id").value(query.getId())
+        .name("type")
+        .value(query.getType() == BatchQuery.Type.WEATHER ? "weather" : "airPollution");
+    if (result.failed()) {
+      writer.name("error").value(result.cause().getMessage());
+    } else if (result.result() instanceof WeatherData) {
+      writeWeatherData(writer.name("data"), (WeatherData) result.result());
+    } else {
+      writeAirPollution(writer.name("data"), (AirPollutionResponse) result.result());
+    }
+    writer.endObject();
+  }
+
+  /** Writes the air pollution response. */
+  static void writeAirPollution(ResponseWriter writer, AirPollutionResponse response) {
+    writer.beginObject();
+
     // Add coordinates
     if (response.getCoord() != null) {
-      JsonObject coord = new JsonObject();
-      coord.put("longitude", response.getCoord().getLongitude());
-      coord.put("latitude", response.getCoord().getLatitude());
-      jsonResponse.put("coord", coord);
+      writer.name("coord").beginObject()
+          .name("longitude").value(response.getCoord().getLongitude())
+          .name("latitude").value(response.getCoord().getLatitude())
+          .endObject();
     }
-    
+
+    // Distance to the cached point the response was served from, when not an exact match
+    if (response.getServedDistanceKm() != null) {
+      writer.name("servedDistanceKm").value(response.getServedDistanceKm());
+    }
+
     // Add air pollution data list
     if (response.getList() != null && !response.getList().isEmpty()) {
-      JsonArray listArray = new JsonArray();
-      
+      writer.name("list").beginArray();
       for (AirPollutionResponse.AirPollutionData data : response.getList()) {
-        JsonObject dataJson = new JsonObject();
-        
+        writer.beginObject();
+
         // Add main data (AQI)
         if (data.getMain() != null) {
-          JsonObject main = new JsonObject();
-          main.put("aqi", data.getMain().getAqi());
-          dataJson.put("main", main);
+          writer.name("main").beginObject().name("aqi").value(data.getMain().getAqi()).endObject();
         }
-        
+
         // Add components
         if (data.getComponents() != null) {
-          JsonObject components = new JsonObject();
-          components.put("co", data.getComponents().getCo());
-          components.put("no", data.getComponents().getNo());
-          components.put("no2", data.getComponents().getNo2());
-          components.put("o3", data.getComponents().getO3());
-          components.put("so2", data.getComponents().getSo2());
-          components.put("pm2_5", data.getComponents().getPm25());
-          components.put("pm10", data.getComponents().getPm10());
-          components.put("nh3", data.getComponents().getNh3());
-          dataJson.put("components", components);
+          writeComponents(writer.name("components"), data.getComponents());
         }
-        
+
         // Add timestamp
-        dataJson.put("dt", data.getTimestamp());
-        
-        listArray.add(dataJson);
+        writer.name("dt").value(data.getTimestamp()).endObject();
       }
-      
-      jsonResponse.put("list", listArray);
+      writer.endArray();
     }
-    
-    return jsonResponse;
+
+    writer.endObject();
+  }
+
+  /** Writes the bulk air pollution response. */
+  static void writeBulkAirPollution(ResponseWriter writer, BulkAirPollutionResponse response) {
+    writer.beginObject()
+        .name("totalLocations").value(response.getTotalLocations())
+        .name("uniqueLocations").value(response.getUniqueLocations())
+        .name("successfulRequests").value(response.getSuccessfulRequests())
+        .name("failedRequests").value(response.getFailedRequests())
+        .name("results").beginArray();
+
+    for (BulkAirPollutionResponse.LocationResult result : response.getResults()) {
+      writer.beginObject()
+          .name("latitude").value(result.getLatitude())
+          .name("longitude").value(result.getLongitude());
+
+      AirPollutionResponse.AirPollutionData data = result.getData();
+      if (data != null) {
+        if (data.getMain() != null) {
+          writer.name("aqi").value(data.getMain().getAqi());
+        }
+        if (data.getComponents() != null) {
+          writeComponents(writer.name("components"), data.getComponents());
+        }
+        writer.name("dt").value(data.getTimestamp());
+      } else {
+        writer.name("error").value(result.getError());
+      }
+
+      writer.endObject();
+    }
+
+    writer.endArray().endObject();
+  }
+
+  /** Writes the air quality estimate response. */
+  static void writeAirQualityEstimates(
+      ResponseWriter writer, AirQualityEstimateResponse response) {
+    writer.beginObject()
+        .name("totalLocations").value(response.getTotalLocations())
+        .name("interpolated").value(response.getInterpolated())
+        .name("upstream").value(response.getUpstream())
+        .name("failed").value(response.getFailed())
+        .name("estimates").beginArray();
+
+    for (AirQualityEstimate estimate : response.getEstimates()) {
+      writer.beginObject()
+          .name("latitude").value(estimate.getLatitude())
+          .name("longitude").value(estimate.getLongitude())
+          .name("source").value(estimate.getSource().name().toLowerCase());
+
+      if (estimate.getSource() == AirQualityEstimate.Source.FAILED) {
+        writer.name("error").value(estimate.getError());
+      } else {
+        writer.name("neighbours").value(estimate.getNeighbours())
+            .name("confidence").value(estimate.getConfidence())
+            .name("aqi").value(estimate.getAqi());
+        if (estimate.getComponents() != null) {
+          writeComponents(writer.name("components"), estimate.getComponents());
+        }
+      }
+
+      writer.endObject();
+    }
+
+    writer.endArray().endObject();
+  }
+
+  /** Writes air pollution component concentrations as an object. */
+  static void writeComponents(ResponseWriter writer, AirPollutionResponse.Components source) {
+    writer.beginObject()
+        .name("co").value(source.getCo())
+        .name("no").value(source.getNo())
+        .name("no2").value(source.getNo2())
+        .name("o3").value(source.getO3())
+        .name("so2").value(source.getSo2())
+        .name("pm2_5").value(source.getPm25())
+        .name("pm10").value(source.getPm10())
+        .name("nh3").value(source.getNh3())
+        .endObject();
   }
 
   /** Sends an error response. */
   private void sendErrorResponse(RoutingContext context, int statusCode, String message) {
     HttpServerResponse response = context.response();
     response.setStatusCode(statusCode);
-    response.putHeader("content-type", "application/json");
 
-    JsonObject errorJson = new JsonObject();
-    errorJson.put("error", "API_ERROR");
-    errorJson.put("message", message);
-    
-    response.end(errorJson.encodePrettily());
+    ResponseWriter writer = newWriter(context);
+    response.putHeader("content-type", writer.contentType());
+    writer.beginObject()
+        .name("error").value("API_ERROR")
+        .name("message").value(message)
+        .endObject();
+
+    response.end(writer.toBuffer());
   }
 
   /** Extracts a double query parameter from the request. */
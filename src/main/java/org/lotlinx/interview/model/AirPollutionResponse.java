@@ -12,10 +12,25 @@ public class AirPollutionResponse {
   @JsonProperty("list")
   private List<AirPollutionData> list;
 
+  @JsonProperty("servedDistanceKm")
+  private Double servedDistanceKm;
+
   public AirPollutionResponse() {
     // Default constructor for JSON deserialization
   }
 
+  /**
+   * Creates a copy of a cached response that is served for a nearby point.
+   *
+   * @param source cached response
+   * @param servedDistanceKm distance between the requested point and the cached point
+   */
+  public AirPollutionResponse(AirPollutionResponse source, double servedDistanceKm) {
+    this.coord = source.coord;
+    this.list = source.list;
+    this.servedDistanceKm = servedDistanceKm;
+  }
+
   public Coordinates getCoord() {
     return coord;
   }
@@ -32,6 +47,18 @@ public class AirPollutionResponse {
     this.list = list;
   }
 
+  /**
+   * Distance in kilometres between the requested point and the cached point this response was
+   * served from, or null if it was fetched or cached for the exact requested point.
+   */
+  public Double getServedDistanceKm() {
+    return servedDistanceKm;
+  }
+
+  public void setServedDistanceKm(Double servedDistanceKm) {
+    this.servedDistanceKm = servedDistanceKm;
+  }
+
   public static class Coordinates {
     @JsonProperty("lon")
     private double longitude;
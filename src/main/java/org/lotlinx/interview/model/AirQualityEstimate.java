@@ -0,0 +1,142 @@
+package org.lotlinx.interview.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Model representing an air quality estimate for a single coordinate pair. */
+public class AirQualityEstimate {
+
+  /** Where an estimate came from. */
+  public enum Source {
+    INTERPOLATED, // Weighted from nearby cached samples
+    UPSTREAM, // Fetched from the API because too few samples were nearby
+    FAILED // Neither interpolation nor the upstream call produced a value
+  }
+
+  @JsonProperty("latitude")
+  private double latitude;
+
+  @JsonProperty("longitude")
+  private double longitude;
+
+  @JsonProperty("source")
+  private Source source;
+
+  @JsonProperty("neighbours")
+  private int neighbours;
+
+  @JsonProperty("confidence")
+  private double confidence;
+
+  @JsonProperty("aqi")
+  private int aqi;
+
+  @JsonProperty("components")
+  private AirPollutionResponse.Components components;
+
+  @JsonProperty("error")
+  private String error;
+
+  public AirQualityEstimate() {}
+
+  public AirQualityEstimate(
+      double latitude,
+      double longitude,
+      Source source,
+      int neighbours,
+      double confidence,
+      int aqi,
+      AirPollutionResponse.Components components,
+      String error) {
+    this.latitude = latitude;
+    this.longitude = longitude;
+    this.source = source;
+    this.neighbours = neighbours;
+    this.confidence = confidence;
+    this.aqi = aqi;
+    this.components = components;
+    this.error = error;
+  }
+
+  public double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(double latitude) {
+    this.latitude = latitude;
+  }
+
+  public double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(double longitude) {
+    this.longitude = longitude;
+  }
+
+  public Source getSource() {
+    return source;
+  }
+
+  public void setSource(Source source) {
+    this.source = source;
+  }
+
+  public int getNeighbours() {
+    return neighbours;
+  }
+
+  public void setNeighbours(int neighbours) {
+    this.neighbours = neighbours;
+  }
+
+  /** Confidence in [0, 1]; 1 for values fetched or cached for the exact point. */
+  public double getConfidence() {
+    return confidence;
+  }
+
+  public void setConfidence(double confidence) {
+    this.confidence = confidence;
+  }
+
+  public int getAqi() {
+    return aqi;
+  }
+
+  public void setAqi(int aqi) {
+    this.aqi = aqi;
+  }
+
+  public AirPollutionResponse.Components getComponents() {
+    return components;
+  }
+
+  public void setComponents(AirPollutionResponse.Components components) {
+    this.components = components;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  @Override
+  public String toString() {
+    return "AirQualityEstimate{"
+        + "latitude="
+        + latitude
+        + ", longitude="
+        + longitude
+        + ", source="
+        + source
+        + ", neighbours="
+        + neighbours
+        + ", confidence="
+        + confidence
+        + ", aqi="
+        + aqi
+        + '}';
+  }
+}
@@ -0,0 +1,74 @@
+package org.lotlinx.interview.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/** Response model for air quality estimates over many coordinate pairs. */
+public class AirQualityEstimateResponse {
+
+  @JsonProperty("totalLocations")
+  private int totalLocations;
+
+  @JsonProperty("interpolated")
+  private int interpolated;
+
+  @JsonProperty("upstream")
+  private int upstream;
+
+  @JsonProperty("failed")
+  private int failed;
+
+  @JsonProperty("estimates")
+  private List<AirQualityEstimate> estimates;
+
+  public AirQualityEstimateResponse(List<AirQualityEstimate> estimates) {
+    this.estimates = estimates;
+    this.totalLocations = estimates.size();
+    for (AirQualityEstimate estimate : estimates) {
+      switch (estimate.getSource()) {
+        case INTERPOLATED:
+          interpolated++;
+          break;
+        case UPSTREAM:
+          upstream++;
+          break;
+        default:
+          failed++;
+      }
+    }
+  }
+
+  public List<AirQualityEstimate> getEstimates() {
+    return estimates;
+  }
+
+  public int getTotalLocations() {
+    return totalLocations;
+  }
+
+  public int getInterpolated() {
+    return interpolated;
+  }
+
+  public int getUpstream() {
+    return upstream;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  @Override
+  public String toString() {
+    return "AirQualityEstimateResponse{"
+        + "totalLocations="
+        + totalLocations
+        + ", interpolated="
+        + interpolated
+        + ", upstream="
+        + upstream
+        + ", failed="
+        + failed
+        + '}';
+  }
+}
@@ -0,0 +1,66 @@
+package org.lotlinx.interview.model;
+
+/** One sub-query of a batch request: current weather for a city, or air pollution at a point. */
+public class BatchQuery {
+
+  /** What a sub-query looks up. */
+  public enum Type {
+    WEATHER, // Current weather for a city name
+    AIR_POLLUTION // Current air pollution for a coordinate pair
+  }
+
+  private final String id;
+  private final Type type;
+  private final String city;
+  private final Coordinates coordinates;
+
+  private BatchQuery(String id, Type type, String city, Coordinates coordinates) {
+    this.id = id;
+    this.type = type;
+    this.city = city;
+    this.coordinates = coordinates;
+  }
+
+  public static BatchQuery weather(String id, String city) {
+    return new BatchQuery(id, Type.WEATHER, city, null);
+  }
+
+  public static BatchQuery airPollution(String id, Coordinates coordinates) {
+    return new BatchQuery(id, Type.AIR_POLLUTION, null, coordinates);
+  }
+
+  /** Client-chosen identifier echoed back with the result. */
+  public String getId() {
+    return id;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /** City name, for weather queries. */
+  public String getCity() {
+    return city;
+  }
+
+  /** Coordinate pair, for air pollution queries. */
+  public Coordinates getCoordinates() {
+    return coordinates;
+  }
+
+  @Override
+  public String toString() {
+    return "BatchQuery{"
+        + "id='"
+        + id
+        + '\''
+        + ", type="
+        + type
+        + ", city='"
+        + city
+        + '\''
+        + ", coordinates="
+        + coordinates
+        + '}';
+  }
+}
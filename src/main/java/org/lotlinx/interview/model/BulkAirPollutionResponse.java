@@ -0,0 +1,150 @@
+package org.lotlinx.interview.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/** Response model for bulk air pollution lookups over many coordinate pairs. */
+public class BulkAirPollutionResponse {
+
+  @JsonProperty("totalLocations")
+  private int totalLocations;
+
+  @JsonProperty("uniqueLocations")
+  private int uniqueLocations;
+
+  @JsonProperty("successfulRequests")
+  private int successfulRequests;
+
+  @JsonProperty("failedRequests")
+  private int failedRequests;
+
+  @JsonProperty("results")
+  private List<LocationResult> results;
+
+  public BulkAirPollutionResponse(
+      List<LocationResult> results,
+      int totalLocations,
+      int uniqueLocations,
+      int successfulRequests,
+      int failedRequests) {
+    this.results = results;
+    this.totalLocations = totalLocations;
+    this.uniqueLocations = uniqueLocations;
+    this.successfulRequests = successfulRequests;
+    this.failedRequests = failedRequests;
+  }
+
+  public List<LocationResult> getResults() {
+    return results;
+  }
+
+  public void setResults(List<LocationResult> results) {
+    this.results = results;
+  }
+
+  public int getTotalLocations() {
+    return totalLocations;
+  }
+
+  public void setTotalLocations(int totalLocations) {
+    this.totalLocations = totalLocations;
+  }
+
+  public int getUniqueLocations() {
+    return uniqueLocations;
+  }
+
+  public void setUniqueLocations(int uniqueLocations) {
+    this.uniqueLocations = uniqueLocations;
+  }
+
+  public int getSuccessfulRequests() {
+    return successfulRequests;
+  }
+
+  public void setSuccessfulRequests(int successfulRequests) {
+    this.successfulRequests = successfulRequests;
+  }
+
+  public int getFailedRequests() {
+    return failedRequests;
+  }
+
+  public void setFailedRequests(int failedRequests) {
+    this.failedRequests = failedRequests;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkAirPollutionResponse{"
+        + "totalLocations="
+        + totalLocations
+        + ", uniqueLocations="
+        + uniqueLocations
+        + ", successfulRequests="
+        + successfulRequests
+        + ", failedRequests="
+        + failedRequests
+        + '}';
+  }
+
+  /** Air pollution result for one requested coordinate pair, in request order. */
+  public static class LocationResult {
+    @JsonProperty("latitude")
+    private double latitude;
+
+    @JsonProperty("longitude")
+    private double longitude;
+
+    @JsonProperty("data")
+    private AirPollutionResponse.AirPollutionData data;
+
+    @JsonProperty("error")
+    private String error;
+
+    public LocationResult() {}
+
+    public LocationResult(
+        double latitude,
+        double longitude,
+        AirPollutionResponse.AirPollutionData data,
+        String error) {
+      this.latitude = latitude;
+      this.longitude = longitude;
+      this.data = data;
+      this.error = error;
+    }
+
+    public double getLatitude() {
+      return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+      this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+      return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+      this.longitude = longitude;
+    }
+
+    public AirPollutionResponse.AirPollutionData getData() {
+      return data;
+    }
+
+    public void setData(AirPollutionResponse.AirPollutionData data) {
+      this.data = data;
+    }
+
+    public String getError() {
+      return error;
+    }
+
+    public void setError(String error) {
+      this.error = error;
+    }
+  }
+}
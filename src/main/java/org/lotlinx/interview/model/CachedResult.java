@@ -0,0 +1,93 @@
+package org.lotlinx.interview.model;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A service result together with the cache entry it was served from, used to derive HTTP
+ * validators and freshness headers.
+ */
+public class CachedResult<T> {
+
+  /** How a result relates to the cache. */
+  public enum Status {
+    HIT, // Served from a fresh cache entry
+    MISS, // Fetched from the API and cached
+    STALE // Served from an expired entry because the API call failed
+  }
+
+  private final T value;
+  private final Status status;
+  private final String version;
+  private final long lastModified;
+  private final long expiresAt;
+  private final ConcurrentMap<String, Object> attachments;
+
+  /**
+   * @param value the result
+   * @param status how the result relates to the cache
+   * @param version identifies the cache entry; changes whenever the result may change
+   * @param lastModified time the entry was stored, in epoch milliseconds
+   * @param expiresAt time the entry stops being fresh, in epoch milliseconds
+   * @param attachments values derived from the entry, or null if they must not be shared
+   */
+  public CachedResult(
+      T value,
+      Status status,
+      String version,
+      long lastModified,
+      long expiresAt,
+      ConcurrentMap<String, Object> attachments) {
+    this.value = value;
+    this.status = status;
+    this.version = version;
+    this.lastModified = lastModified;
+    this.expiresAt = expiresAt;
+    this.attachments = attachments;
+  }
+
+  public T getValue() {
+    return value;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getVersion() {
+    return version;
+  }
+
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  public long getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Storage for values derived from the cache entry, such as encoded bodies, shared by every
+   * request the entry serves.
+   *
+   * @return attachment map, or null if the value was adapted for this request and must not be
+   *     shared
+   */
+  public ConcurrentMap<String, Object> getAttachments() {
+    return attachments;
+  }
+
+  @Override
+  public String toString() {
+    return "CachedResult{"
+        + "status="
+        + status
+        + ", version='"
+        + version
+        + '\''
+        + ", lastModified="
+        + lastModified
+        + ", expiresAt="
+        + expiresAt
+        + '}';
+  }
+}
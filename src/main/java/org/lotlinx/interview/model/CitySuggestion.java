@@ -0,0 +1,76 @@
+package org.lotlinx.interview.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Model representing a single city-name autocomplete suggestion. */
+public class CitySuggestion {
+
+  @JsonProperty("name")
+  private String name;
+
+  @JsonProperty("country")
+  private String country;
+
+  @JsonProperty("latitude")
+  private double latitude;
+
+  @JsonProperty("longitude")
+  private double longitude;
+
+  public CitySuggestion() {}
+
+  public CitySuggestion(String name, String country, double latitude, double longitude) {
+    this.name = name;
+    this.country = country;
+    this.latitude = latitude;
+    this.longitude = longitude;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getCountry() {
+    return country;
+  }
+
+  public void setCountry(String country) {
+    this.country = country;
+  }
+
+  public double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(double latitude) {
+    this.latitude = latitude;
+  }
+
+  public double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(double longitude) {
+    this.longitude = longitude;
+  }
+
+  @Override
+  public String toString() {
+    return "CitySuggestion{"
+        + "name='"
+        + name
+        + '\''
+        + ", country='"
+        + country
+        + '\''
+        + ", latitude="
+        + latitude
+        + ", longitude="
+        + longitude
+        + '}';
+  }
+}
@@ -6,6 +6,9 @@ import java.util.List;
 /** Response model for OpenWeatherMap Current Weather API. */
 public class CurrentWeatherResponse {
 
+  @JsonProperty("id")
+  private long cityId;
+
   @JsonProperty("name")
   private String cityName;
 
@@ -23,6 +26,14 @@ public class CurrentWeatherResponse {
 
   public CurrentWeatherResponse() {}
 
+  public long getCityId() {
+    return cityId;
+  }
+
+  public void setCityId(long cityId) {
+    this.cityId = cityId;
+  }
+
   public String getCityName() {
     return cityName;
   }
@@ -66,7 +77,9 @@ public class CurrentWeatherResponse {
   @Override
   public String toString() {
     return "CurrentWeatherResponse{"
-        + "cityName='"
+        + "cityId="
+        + cityId
+        + ", cityName='"
         + cityName
         + '\''
         + ", main="
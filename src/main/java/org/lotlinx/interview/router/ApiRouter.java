@@ -1,12 +1,29 @@
 package org.lotlinx.interview.router;
 
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.controller.AdminController;
+import org.lotlinx.interview.controller.SubscriptionHub;
 import org.lotlinx.interview.controller.WeatherController;
+import org.lotlinx.interview.service.PersistentCaches;
+import org.lotlinx.interview.service.UpstreamLoad;
 import org.lotlinx.interview.service.WeatherService;
 import org.lotlinx.interview.service.impl.OpenWeatherService;
+import org.lotlinx.interview.util.impl.AccessLog;
+import org.lotlinx.interview.util.impl.AdmissionController;
+import org.lotlinx.interview.util.impl.EventLoopMonitor;
+import org.lotlinx.interview.util.impl.StartupTimer;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,11 +35,70 @@ public class ApiRouter implements AutoCloseable {
   private final Vertx vertx;
   private final WeatherController weatherController;
   private final WeatherService weatherService;
+  private final SubscriptionHub subscriptionHub;
+  private final AccessLog accessLog;
+  private final AdmissionController admission;
+  private final EventLoopMonitor.Probe eventLoopProbe;
+  private final AdminController adminController;
+  private final boolean ownsWeatherService;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Promise<Void> drained = Promise.promise();
+  private volatile boolean draining;
 
   public ApiRouter(Vertx vertx) {
+    this(vertx, new OpenWeatherService(vertx), true);
+  }
+
+  /**
+   * Creates a router over a WeatherService shared with other server instances. The service is not
+   * closed with the router.
+   *
+   * @param vertx Vert.x instance
+   * @param weatherService shared service
+   */
+  public ApiRouter(Vertx vertx, WeatherService weatherService) {
+    this(vertx, weatherService, false);
+  }
+
+  private ApiRouter(Vertx vertx, WeatherService weatherService, boolean ownsWeatherService) {
     this.vertx = vertx;
-    this.weatherService = new OpenWeatherService(vertx);
-    this.weatherController = new WeatherController(weatherService);
+    this.weatherService = weatherService;
+    this.ownsWeatherService = ownsWeatherService;
+    this.subscriptionHub = new SubscriptionHub(
+        vertx,
+        weatherService,
+        ApplicationConfig.getSubscriptionMinRefreshMs(),
+        ApplicationConfig.getSubscriptionRetryMs(),
+        ApplicationConfig.getSubscriptionHeartbeatMs());
+    this.weatherController = new WeatherController(weatherService, subscriptionHub);
+    this.accessLog = ApplicationConfig.isAccessLogEnabled()
+        ? new AccessLog(
+            ApplicationConfig.getAccessLogBufferSize(),
+            ApplicationConfig.getAccessLogSampleRate(),
+            ApplicationConfig.getAccessLogClientErrorSampleRate(),
+            ApplicationConfig.getAccessLogSlowRequestMs())
+        : null;
+    // Routers are created on the event loop of their verticle, which is the loop probed here
+    EventLoopMonitor monitor = ApplicationConfig.isMonitoringEnabled()
+        ? EventLoopMonitor.get(vertx, () -> new EventLoopMonitor(
+            ApplicationConfig.getLagProbeIntervalMs(),
+            ApplicationConfig.getBlockedThresholdMs(),
+            ApplicationConfig.getBlockedStackDepth(),
+            ApplicationConfig.getRecentBlockedEvents()))
+        : null;
+    this.eventLoopProbe = monitor != null ? monitor.probe(vertx) : null;
+    this.admission = ApplicationConfig.isAdmissionControlEnabled()
+        ? new AdmissionController(
+            weatherService instanceof UpstreamLoad
+                ? ((UpstreamLoad) weatherService)::getPendingUpstreamCalls
+                : () -> 0,
+            eventLoopProbe != null ? eventLoopProbe::getLagMs : () -> 0L,
+            ApplicationConfig.getAdmissionMaxInFlight(),
+            ApplicationConfig.getAdmissionMaxPendingUpstream(),
+            ApplicationConfig.getAdmissionMaxEventLoopLagMs(),
+            ApplicationConfig.getAdmissionExpensiveShedRatio())
+        : null;
+    this.adminController = monitor != null ? new AdminController(monitor, admission) : null;
   }
 
   /**
@@ -32,7 +108,30 @@ public class ApiRouter implements AutoCloseable {
    */
   public Router createRouter() {
     Router router = Router.router(vertx);
-    router.route().handler(BodyHandler.create());
+    // Reports time to first response; routers created after it has been sent skip this
+    if (StartupTimer.isFirstResponsePending()) {
+      router.route().handler(context -> {
+        if (StartupTimer.isFirstResponsePending()) {
+          context.addEndHandler(v -> StartupTimer.markResponse());
+        }
+        context.next();
+      });
+    }
+    if (accessLog != null) {
+      router.route().handler(this::recordAccess);
+    }
+    router.route().handler(this::trackInFlight);
+    if (admission != null) {
+      router.route().handler(this::admit);
+    }
+
+    if (ApplicationConfig.isCompressionEnabled()) {
+      int minSizeBytes = ApplicationConfig.getCompressionMinSizeBytes();
+      router.route().handler(context -> {
+        context.addHeadersEndHandler(v -> skipCompressionBelow(context, minSizeBytes));
+        context.next();
+      });
+    }
 
     // Configure routes
     setupRoutes(router);
@@ -44,8 +143,149 @@ public class ApiRouter implements AutoCloseable {
     return router;
   }
 
+  /**
+   * Marks small bodies as identity-encoded so the server's compressor leaves them alone, since
+   * compressing a few hundred bytes costs more than it saves. Bodies that already carry an
+   * encoding are untouched.
+   */
+  private static void skipCompressionBelow(RoutingContext context, int minSizeBytes) {
+    MultiMap headers = context.response().headers();
+    String contentLength = headers.get(HttpHeaders.CONTENT_LENGTH);
+    if (contentLength != null
+        && !headers.contains(HttpHeaders.CONTENT_ENCODING)
+        && Long.parseLong(contentLength) < minSizeBytes) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+    }
+  }
+
+  /** Hands each finished request to the access log, timed from the moment it was routed. */
+  private void recordAccess(RoutingContext context) {
+    long start = System.nanoTime();
+    context.addBodyEndHandler(v -> {
+      HttpServerResponse response = context.response();
+      accessLog.record(
+          context.request().method().name(),
+          context.request().path(),
+          response.getStatusCode(),
+          System.nanoTime() - start,
+          response.bytesWritten(),
+          response.headers().get("x-cache"));
+    });
+    context.next();
+  }
+
+  /**
+   * Counts requests in flight so {@link #drain(long)} knows when they have finished, and refuses
+   * new ones once draining has started. Push subscriptions are not counted, since they stay open
+   * until the server closes them.
+   */
+  private void trackInFlight(RoutingContext context) {
+    if (draining) {
+      context.response()
+          .setStatusCode(503)
+          .putHeader("Retry-After",
+              String.valueOf(ApplicationConfig.getAdmissionRetryAfterSeconds()))
+          .putHeader(HttpHeaders.CONNECTION, HttpHeaders.CLOSE)
+          .putHeader("content-type", "application/json")
+          .end(
+              "{\"error\":\"Service Unavailable\",\"message\":\"The server is shutting down, retry later\"}");
+      return;
+    }
+    if (ApplicationConfig.SUBSCRIBE_ENDPOINT.equals(context.request().path())) {
+      context.next();
+      return;
+    }
+    inFlight.incrementAndGet();
+    context.addEndHandler(v -> {
+      if (inFlight.decrementAndGet() == 0 && draining) {
+        drained.tryComplete();
+      }
+    });
+    context.next();
+  }
+
+  /**
+   * Stops accepting requests and waits for those in flight to finish. New requests are answered
+   * with 503 and {@code Connection: close}, so clients and load balancers move to another server.
+   *
+   * @param gracePeriodMs longest time to wait; requests still running after it are abandoned
+   * @return completes once no request is in flight or the grace period has passed
+   */
+  public Future<Void> drain(long gracePeriodMs) {
+    draining = true;
+    if (inFlight.get() == 0) {
+      drained.tryComplete();
+      return drained.future();
+    }
+
+    logger.info("Draining {} in-flight requests", inFlight.get());
+    long timerId = vertx.setTimer(gracePeriodMs, id -> {
+      if (drained.tryComplete()) {
+        logger.warn("Grace period of {} ms passed with {} requests still in flight",
+            gracePeriodMs, inFlight.get());
+      }
+    });
+    return drained.future().onComplete(v -> vertx.cancelTimer(timerId));
+  }
+
+  /**
+   * Saves the WeatherService's caches if this router owns the service. A shared service is saved
+   * by whoever created it, once every server instance has drained.
+   *
+   * @return completes once the snapshot is written, or at once if there is nothing to save
+   */
+  public Future<Void> saveCacheSnapshot() {
+    if (ownsWeatherService && weatherService instanceof PersistentCaches) {
+      return ((PersistentCaches) weatherService).saveCacheSnapshot();
+    }
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Refuses the request with 503 when the server is overloaded, before its body is read or any
+   * lookup starts. The health check, admin endpoint and push subscriptions are always admitted.
+   */
+  private void admit(RoutingContext context) {
+    HttpServerRequest request = context.request();
+    String path = request.path();
+    if (ApplicationConfig.HELLO_ENDPOINT.equals(path)
+        || ApplicationConfig.ADMIN_EVENT_LOOP_ENDPOINT.equals(path)
+        || ApplicationConfig.SUBSCRIBE_ENDPOINT.equals(path)) {
+      context.next();
+      return;
+    }
+
+    AdmissionController.Cost cost = costOf(request);
+    if (!admission.tryAdmit(cost)) {
+      logger.debug("Shedding {} {} at load {}", request.method(), path, admission.load());
+      context.response()
+          .setStatusCode(503)
+          .putHeader("Retry-After",
+              String.valueOf(ApplicationConfig.getAdmissionRetryAfterSeconds()))
+          .putHeader("content-type", "application/json")
+          .end(
+              "{\"error\":\"Service Unavailable\",\"message\":\"The server is overloaded, retry later\"}");
+      return;
+    }
+    context.addEndHandler(v -> admission.release());
+    context.next();
+  }
+
+  /** Every POST endpoint and the GET form of multi-city weather look up many values at once. */
+  private static AdmissionController.Cost costOf(HttpServerRequest request) {
+    if (request.method() == HttpMethod.POST
+        || ApplicationConfig.MULTI_CITY_WEATHER_ENDPOINT.equals(request.path())) {
+      return AdmissionController.Cost.HIGH;
+    }
+    return AdmissionController.Cost.LOW;
+  }
+
   /** Sets up all API routes. */
   private void setupRoutes(Router router) {
+    // Only routes that read a whole JSON body buffer it, and never beyond the configured limit
+    BodyHandler bodyHandler =
+        BodyHandler.create(false).setBodyLimit(ApplicationConfig.getRequestBodyMaxBytes());
+
     // Health check endpoint
     router.get(ApplicationConfig.HELLO_ENDPOINT).handler(weatherController::handleHello);
 
@@ -54,16 +294,59 @@ public class ApiRouter implements AutoCloseable {
         .get(ApplicationConfig.AIR_POLLUTION_ENDPOINT)
         .handler(weatherController::handleAirPollution);
 
-    // Multi-city weather endpoint
+    // Multi-city weather endpoint; the body is streamed, not buffered
     router
         .post(ApplicationConfig.MULTI_CITY_WEATHER_ENDPOINT)
         .handler(weatherController::handleMultiCityWeather);
+    router
+        .get(ApplicationConfig.MULTI_CITY_WEATHER_ENDPOINT)
+        .handler(weatherController::handleMultiCityWeatherQuery);
+
+    // Bulk air pollution endpoint
+    router
+        .post(ApplicationConfig.BULK_AIR_POLLUTION_ENDPOINT)
+        .handler(bodyHandler)
+        .handler(weatherController::handleBulkAirPollution);
+
+    // City autocomplete endpoint
+    router
+        .get(ApplicationConfig.CITY_AUTOCOMPLETE_ENDPOINT)
+        .handler(weatherController::handleCityAutocomplete);
+
+    // Air quality estimate endpoint
+    router
+        .post(ApplicationConfig.AIR_QUALITY_ESTIMATE_ENDPOINT)
+        .handler(bodyHandler)
+        .handler(weatherController::handleAirQualityEstimate);
+
+    // Batch endpoint
+    router
+        .post(ApplicationConfig.BATCH_ENDPOINT)
+        .handler(bodyHandler)
+        .handler(weatherController::handleBatch);
+
+    // Push subscription endpoint
+    router
+        .get(ApplicationConfig.SUBSCRIBE_ENDPOINT)
+        .handler(weatherController::handleSubscribe);
+
+    // Event-loop lag and blocked-thread report
+    if (adminController != null) {
+      router
+          .get(ApplicationConfig.ADMIN_EVENT_LOOP_ENDPOINT)
+          .handler(adminController::handleEventLoop);
+    }
 
     logger.debug(
-        "Routes configured: {}, {}, {}",
+        "Routes configured: {}, {}, {}, {}, {}, {}, {}, {}",
         ApplicationConfig.HELLO_ENDPOINT,
         ApplicationConfig.AIR_POLLUTION_ENDPOINT,
-        ApplicationConfig.MULTI_CITY_WEATHER_ENDPOINT);
+        ApplicationConfig.MULTI_CITY_WEATHER_ENDPOINT,
+        ApplicationConfig.BULK_AIR_POLLUTION_ENDPOINT,
+        ApplicationConfig.CITY_AUTOCOMPLETE_ENDPOINT,
+        ApplicationConfig.AIR_QUALITY_ESTIMATE_ENDPOINT,
+        ApplicationConfig.BATCH_ENDPOINT,
+        ApplicationConfig.SUBSCRIBE_ENDPOINT);
   }
 
   /** Sets up global error handling for the router. */
@@ -95,12 +378,20 @@ public class ApiRouter implements AutoCloseable {
   }
 
   /**
-   * Closes the WeatherService to free resources.
+   * Closes the WeatherService unless it is shared, stops subscription refreshes and lag
+   * measurement, and flushes the access log to free resources.
    * This method should be called when the ApiRouter is no longer needed.
    */
   @Override
   public void close() {
-    if (weatherService instanceof AutoCloseable) {
+    subscriptionHub.close();
+    if (eventLoopProbe != null) {
+      eventLoopProbe.close();
+    }
+    if (accessLog != null) {
+      accessLog.close();
+    }
+    if (ownsWeatherService && weatherService instanceof AutoCloseable) {
       try {
         ((AutoCloseable) weatherService).close();
         logger.debug("ApiRouter closed successfully");
@@ -0,0 +1,14 @@
+package org.lotlinx.interview.service;
+
+import io.vertx.core.Future;
+
+/** Implemented by services whose caches outlive the process through a snapshot file. */
+public interface PersistentCaches {
+
+  /**
+   * Saves the caches to the configured snapshot file, if one is configured.
+   *
+   * @return completes once the snapshot is written
+   */
+  Future<Void> saveCacheSnapshot();
+}
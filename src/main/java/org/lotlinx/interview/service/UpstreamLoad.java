@@ -0,0 +1,10 @@
+package org.lotlinx.interview.service;
+
+/** Implemented by services that can report how much upstream work they are waiting on. */
+public interface UpstreamLoad {
+
+  /**
+   * @return upstream API calls sent and not yet answered
+   */
+  int getPendingUpstreamCalls();
+}
@@ -1,8 +1,16 @@
 package org.lotlinx.interview.service;
 
 import io.vertx.core.Future;
+import io.vertx.core.streams.ReadStream;
 import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.AirQualityEstimateResponse;
+import org.lotlinx.interview.model.BatchQuery;
+import org.lotlinx.interview.model.BulkAirPollutionResponse;
+import org.lotlinx.interview.model.CachedResult;
+import org.lotlinx.interview.model.CitySuggestion;
+import org.lotlinx.interview.model.Coordinates;
 import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.model.WeatherData;
 
 /** Service interface for weather-related operations. */
 public interface WeatherService {
@@ -16,6 +24,51 @@ public interface WeatherService {
    */
   Future<AirPollutionResponse> getCurrentAirPollution(double latitude, double longitude);
 
+  /**
+   * Retrieves current air pollution data, allowing the answer to come from the nearest fresh
+   * cached point within the given distance.
+   *
+   * @param latitude the latitude coordinate
+   * @param longitude the longitude coordinate
+   * @param maxDistanceKm maximum distance to a cached point that may be served instead
+   * @return Future containing the air pollution response
+   */
+  Future<AirPollutionResponse> getCurrentAirPollution(
+      double latitude, double longitude, double maxDistanceKm);
+
+  /**
+   * Retrieves current air pollution data like {@link #getCurrentAirPollution(double, double,
+   * double)}, together with the cache entry it was served from. If the API call fails and an
+   * expired entry is still held, that entry is served as stale instead of failing.
+   *
+   * @param latitude the latitude coordinate
+   * @param longitude the longitude coordinate
+   * @param maxDistanceKm maximum distance to a cached point that may be served instead
+   * @return Future containing the air pollution response and its cache metadata
+   */
+  Future<CachedResult<AirPollutionResponse>> getCachedAirPollution(
+      double latitude, double longitude, double maxDistanceKm);
+
+  /**
+   * Retrieves current air pollution data for many coordinate pairs in one call.
+   * Identical coordinates are looked up once.
+   *
+   * @param locations coordinate pairs, in the order results should be returned
+   * @return Future containing one result per requested coordinate pair
+   */
+  Future<BulkAirPollutionResponse> getBulkAirPollution(java.util.List<Coordinates> locations);
+
+  /**
+   * Estimates air quality at each coordinate pair from nearby cached samples, falling back to
+   * the API for points with too few samples nearby.
+   *
+   * @param locations coordinate pairs, in the order estimates should be returned
+   * @param radiusKm radius within which cached samples are used
+   * @return Future containing one estimate per requested coordinate pair
+   */
+  Future<AirQualityEstimateResponse> estimateAirQuality(
+      java.util.List<Coordinates> locations, double radiusKm);
+
   /**
    * Retrieves current weather data for multiple cities.
    *
@@ -23,4 +76,53 @@ public interface WeatherService {
    * @return Future containing the multi-city weather response
    */
   Future<MultiCityWeatherResponse> getMultiCityWeather(java.util.List<String> cities);
+
+  /**
+   * Retrieves current weather for one city together with the cache entry it was served from.
+   *
+   * @param city city name
+   * @return Future containing the city's weather and when its cache entry expires
+   */
+  Future<CachedResult<WeatherData>> getCachedCityWeather(String city);
+
+  /**
+   * Retrieves current weather data for cities read from a stream, such as a request body being
+   * parsed. Each city's lookup starts as soon as its name arrives rather than once the whole list
+   * has been read.
+   *
+   * @param cities stream of city names; a failure of the stream fails the returned Future
+   * @return Future containing the multi-city weather response, in stream order
+   */
+  Future<MultiCityWeatherResponse> getMultiCityWeather(ReadStream<String> cities);
+
+  /**
+   * Retrieves current weather data for a set of cities, memoising complete composites until the
+   * first member's weather entry expires.
+   *
+   * @param cities canonical list of city names; the same set should always be given in the same
+   *     order so that it maps to one memo entry
+   * @return Future containing the response and the memo entry it was served from
+   */
+  Future<CachedResult<MultiCityWeatherResponse>> getCachedMultiCityWeather(
+      java.util.List<String> cities);
+
+  /**
+   * Runs a batch of mixed sub-queries concurrently through the shared caches. Sub-queries that
+   * resolve to the same cache key share one lookup.
+   *
+   * @param queries sub-queries in request order
+   * @return one Future per sub-query, in request order, completing with {@link WeatherData} for
+   *     weather queries and {@link AirPollutionResponse} for air pollution queries; deduplicated
+   *     sub-queries share the same Future instance
+   */
+  java.util.List<Future<?>> runBatch(java.util.List<BatchQuery> queries);
+
+  /**
+   * Suggests city names starting with the given prefix, without calling upstream APIs.
+   *
+   * @param prefix city name prefix
+   * @param limit maximum number of suggestions
+   * @return Future containing suggestions ranked by popularity
+   */
+  Future<java.util.List<CitySuggestion>> getCitySuggestions(String prefix, int limit);
 }
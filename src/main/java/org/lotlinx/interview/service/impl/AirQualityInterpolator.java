@@ -0,0 +1,128 @@
+package org.lotlinx.interview.service.impl;
+
+import java.util.List;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.AirQualityEstimate;
+import org.lotlinx.interview.util.impl.InMemoryCache;
+import org.lotlinx.interview.util.impl.SpatialIndex;
+
+/**
+ * Estimates air quality at arbitrary points by inverse-distance weighting of cached samples.
+ *
+ * <p>Each sample within the search radius contributes with weight {@code 1 / d^power}. The
+ * confidence of an estimate is the product of two factors in [0, 1]. Coverage is the neighbour
+ * count relative to twice the minimum. Proximity is one minus the weighted mean neighbour
+ * distance relative to the radius. Stateless apart from its read-only dependencies, so a single
+ * instance may be used from many threads at once.
+ */
+final class AirQualityInterpolator {
+
+  // Samples closer than this are treated as an exact match for the query point
+  private static final double EXACT_MATCH_KM = 0.01;
+
+  private final SpatialIndex spatialIndex;
+  private final InMemoryCache<AirPollutionResponse> cache;
+  private final double power;
+  private final int minNeighbours;
+
+  AirQualityInterpolator(
+      SpatialIndex spatialIndex,
+      InMemoryCache<AirPollutionResponse> cache,
+      double power,
+      int minNeighbours) {
+    this.spatialIndex = spatialIndex;
+    this.cache = cache;
+    this.power = power;
+    this.minNeighbours = Math.max(1, minNeighbours);
+  }
+
+  /**
+   * Estimates air quality at a point from cached samples within the radius.
+   *
+   * @param latitude query latitude
+   * @param longitude query longitude
+   * @param radiusKm search radius in kilometres
+   * @return estimate, or null if fewer than the minimum number of samples are nearby
+   */
+  AirQualityEstimate estimate(double latitude, double longitude, double radiusKm) {
+    List<SpatialIndex.Match> matches =
+        spatialIndex.within(latitude, longitude, radiusKm, cache::contains);
+
+    double[] weightedComponents = new double[8];
+    double weightedAqi = 0;
+    double weightedDistance = 0;
+    double totalWeight = 0;
+    int neighbours = 0;
+
+    for (SpatialIndex.Match match : matches) {
+      AirPollutionResponse.AirPollutionData sample = firstSample(cache.get(match.getKey()));
+      if (sample == null) {
+        continue;
+      }
+      if (match.getDistanceKm() < EXACT_MATCH_KM) {
+        return new AirQualityEstimate(latitude, longitude, AirQualityEstimate.Source.INTERPOLATED,
+            1, 1.0, aqiOf(sample), sample.getComponents(), null);
+      }
+
+      double weight = 1.0 / Math.pow(match.getDistanceKm(), power);
+      accumulate(weightedComponents, sample.getComponents(), weight);
+      weightedAqi += weight * aqiOf(sample);
+      weightedDistance += weight * match.getDistanceKm();
+      totalWeight += weight;
+      neighbours++;
+    }
+
+    if (neighbours < minNeighbours) {
+      return null;
+    }
+
+    double coverage = Math.min(1.0, neighbours / (2.0 * minNeighbours));
+    double proximity = Math.max(0.0, 1.0 - (weightedDistance / totalWeight) / radiusKm);
+    return new AirQualityEstimate(
+        latitude,
+        longitude,
+        AirQualityEstimate.Source.INTERPOLATED,
+        neighbours,
+        coverage * proximity,
+        (int) Math.round(weightedAqi / totalWeight),
+        toComponents(weightedComponents, totalWeight),
+        null);
+  }
+
+  private static AirPollutionResponse.AirPollutionData firstSample(AirPollutionResponse response) {
+    if (response == null || response.getList() == null || response.getList().isEmpty()) {
+      return null;
+    }
+    AirPollutionResponse.AirPollutionData sample = response.getList().get(0);
+    return sample.getComponents() != null ? sample : null;
+  }
+
+  private static int aqiOf(AirPollutionResponse.AirPollutionData sample) {
+    return sample.getMain() != null ? sample.getMain().getAqi() : 0;
+  }
+
+  private static void accumulate(
+      double[] sums, AirPollutionResponse.Components components, double weight) {
+    sums[0] += weight * components.getCo();
+    sums[1] += weight * components.getNo();
+    sums[2] += weight * components.getNo2();
+    sums[3] += weight * components.getO3();
+    sums[4] += weight * components.getSo2();
+    sums[5] += weight * components.getPm25();
+    sums[6] += weight * components.getPm10();
+    sums[7] += weight * components.getNh3();
+  }
+
+  private static AirPollutionResponse.Components toComponents(double[] sums, double totalWeight) {
+    AirPollutionResponse.Components components = new AirPollutionResponse.Components();
+    components.setCo(sums[0] / totalWeight);
+    components.setNo(sums[1] / totalWeight);
+    components.setNo2(sums[2] / totalWeight);
+    components.setO3(sums[3] / totalWeight);
+    components.setSo2(sums[4] / totalWeight);
+    components.setPm25(sums[5] / totalWeight);
+    components.setPm10(sums[6] / totalWeight);
+    components.setNh3(sums[7] / totalWeight);
+    return components;
+  }
+}
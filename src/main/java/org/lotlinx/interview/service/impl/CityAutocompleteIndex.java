@@ -0,0 +1,267 @@
+package org.lotlinx.interview.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.lotlinx.interview.model.CitySuggestion;
+
+/**
+ * Immutable radix-trie index of city names for type-ahead suggestions.
+ *
+ * <p>Each trie node stores the IDs of the top-k entries beneath it, ranked by how often the city
+ * has been requested and then by population, so a lookup only walks the prefix and copies at most
+ * k entries into the response. Entries are held in parallel arrays. Instances are built off the
+ * event loop with a {@link Builder} and are safe to share across threads once built.
+ */
+public final class CityAutocompleteIndex {
+
+  /** Index with no entries, used until the first build completes. */
+  public static final CityAutocompleteIndex EMPTY = builder().build(1);
+
+  private final String[] names;
+  private final String[] countries;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final Node root;
+
+  /** Frozen trie node; children are sorted by the first character of their edge label. */
+  private static final class Node {
+    private final char[] firstChars;
+    private final String[] labels;
+    private final Node[] children;
+    private final int[] top;
+
+    private Node(char[] firstChars, String[] labels, Node[] children, int[] top) {
+      this.firstChars = firstChars;
+      this.labels = labels;
+      this.children = children;
+      this.top = top;
+    }
+  }
+
+  private CityAutocompleteIndex(
+      String[] names, String[] countries, double[] latitudes, double[] longitudes, Node root) {
+    this.names = names;
+    this.countries = countries;
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.root = root;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the highest-ranked cities whose name starts with the given prefix.
+   *
+   * @param prefix name prefix, matched case-insensitively
+   * @param limit maximum number of suggestions; capped at the k the index was built with
+   * @return ranked suggestions, empty if nothing matches
+   */
+  public List<CitySuggestion> suggest(String prefix, int limit) {
+    Node node = root;
+    int offset = 0;
+    int end = prefix.length();
+    while (offset < end && Character.isWhitespace(prefix.charAt(offset))) {
+      offset++;
+    }
+    while (end > offset && Character.isWhitespace(prefix.charAt(end - 1))) {
+      end--;
+    }
+
+    while (offset < end) {
+      int slot = Arrays.binarySearch(node.firstChars, Character.toLowerCase(prefix.charAt(offset)));
+      if (slot < 0) {
+        return Collections.emptyList();
+      }
+      String label = node.labels[slot];
+      int matchLength = Math.min(label.length(), end - offset);
+      for (int i = 0; i < matchLength; i++) {
+        if (label.charAt(i) != Character.toLowerCase(prefix.charAt(offset + i))) {
+          return Collections.emptyList();
+        }
+      }
+      offset += matchLength;
+      node = node.children[slot];
+    }
+
+    int count = Math.min(limit, node.top.length);
+    List<CitySuggestion> suggestions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int id = node.top[i];
+      suggestions.add(new CitySuggestion(names[id], countries[id], latitudes[id], longitudes[id]));
+    }
+    return suggestions;
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  private static String normalize(String name) {
+    StringBuilder normalized = new StringBuilder(name.length());
+    String trimmed = name.trim();
+    for (int i = 0; i < trimmed.length(); i++) {
+      normalized.append(Character.toLowerCase(trimmed.charAt(i)));
+    }
+    return normalized.toString();
+  }
+
+  /** Collects entries and builds an immutable index. Not thread-safe. */
+  public static final class Builder {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String> countries = new ArrayList<>();
+    private final List<double[]> coordinates = new ArrayList<>();
+    private final List<long[]> ranks = new ArrayList<>();
+    private final Map<String, Integer> idsByNameAndCountry = new HashMap<>();
+
+    private Builder() {}
+
+    /**
+     * Adds a city. A city with the same name and country as an earlier entry is merged into it:
+     * lookup counts are summed and the larger population is kept.
+     *
+     * @param name display name
+     * @param country ISO country code, may be null
+     * @param latitude latitude
+     * @param longitude longitude
+     * @param population population, 0 if unknown
+     * @param lookups number of times the city has been requested
+     * @return this builder
+     */
+    public Builder add(
+        String name,
+        String country,
+        double latitude,
+        double longitude,
+        long population,
+        long lookups) {
+      if (name == null || name.isBlank()) {
+        return this;
+      }
+      String key = normalize(name) + '\0' + (country != null ? country : "");
+      Integer existing = idsByNameAndCountry.get(key);
+      if (existing != null) {
+        long[] rank = ranks.get(existing);
+        rank[0] += lookups;
+        rank[1] = Math.max(rank[1], population);
+        return this;
+      }
+
+      idsByNameAndCountry.put(key, names.size());
+      names.add(name);
+      countries.add(country);
+      coordinates.add(new double[] {latitude, longitude});
+      ranks.add(new long[] {lookups, population});
+      return this;
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param k number of top entries kept per trie node
+     * @return immutable index
+     */
+    public CityAutocompleteIndex build(int k) {
+      int size = names.size();
+      double[] latitudes = new double[size];
+      double[] longitudes = new double[size];
+      MutableNode root = new MutableNode("");
+      for (int id = 0; id < size; id++) {
+        latitudes[id] = coordinates.get(id)[0];
+        longitudes[id] = coordinates.get(id)[1];
+        root.insert(normalize(names.get(id)), id);
+      }
+
+      Comparator<Integer> byRank =
+          Comparator.<Integer>comparingLong(id -> -ranks.get(id)[0])
+              .thenComparingLong(id -> -ranks.get(id)[1])
+              .thenComparing(names::get);
+
+      return new CityAutocompleteIndex(
+          names.toArray(new String[0]),
+          countries.toArray(new String[0]),
+          latitudes,
+          longitudes,
+          root.freeze(Math.max(1, k), byRank));
+    }
+  }
+
+  /** Trie node used while building; compressed into a {@link Node} by {@link #freeze}. */
+  private static final class MutableNode {
+    private String label;
+    private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+    private final List<Integer> terminals = new ArrayList<>(1);
+
+    private MutableNode(String label) {
+      this.label = label;
+    }
+
+    private void insert(String key, int id) {
+      MutableNode node = this;
+      int offset = 0;
+      while (offset < key.length()) {
+        char first = key.charAt(offset);
+        MutableNode child = node.children.get(first);
+        if (child == null) {
+          child = new MutableNode(key.substring(offset));
+          node.children.put(first, child);
+          node = child;
+          break;
+        }
+
+        int common = 0;
+        int max = Math.min(child.label.length(), key.length() - offset);
+        while (common < max && child.label.charAt(common) == key.charAt(offset + common)) {
+          common++;
+        }
+
+        if (common < child.label.length()) {
+          // Split the edge at the end of the shared prefix
+          MutableNode split = new MutableNode(child.label.substring(0, common));
+          child.label = child.label.substring(common);
+          split.children.put(child.label.charAt(0), child);
+          node.children.put(first, split);
+          child = split;
+        }
+        node = child;
+        offset += common;
+      }
+      node.terminals.add(id);
+    }
+
+    private Node freeze(int k, Comparator<Integer> byRank) {
+      int childCount = children.size();
+      char[] firstChars = new char[childCount];
+      String[] labels = new String[childCount];
+      Node[] frozenChildren = new Node[childCount];
+      List<Integer> candidates = new ArrayList<>(terminals);
+
+      int slot = 0;
+      for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+        Node frozen = entry.getValue().freeze(k, byRank);
+        firstChars[slot] = entry.getKey();
+        labels[slot] = entry.getValue().label;
+        frozenChildren[slot] = frozen;
+        for (int id : frozen.top) {
+          candidates.add(id);
+        }
+        slot++;
+      }
+
+      candidates.sort(byRank);
+      int[] top = new int[Math.min(k, candidates.size())];
+      for (int i = 0; i < top.length; i++) {
+        top[i] = candidates.get(i);
+      }
+      return new Node(firstChars, labels, frozenChildren, top);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.lotlinx.interview.model.CurrentWeatherResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces current-weather lookups for known OpenWeather city IDs into group calls.
+ *
+ * <p>Lookups arriving within the batching window are collected and sent as a single request to
+ * the group endpoint once the window elapses or the batch reaches its maximum size. Concurrent
+ * lookups for the same city share one slot in the batch. Thread-safe, so one batcher can collect
+ * lookups from every event loop; the group call itself is made outside the lock. Each lookup
+ * completes on the context it was queued from, whichever event loop the group call finished on.
+ */
+class CurrentWeatherBatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(CurrentWeatherBatcher.class);
+
+  private final Vertx vertx;
+  private final long windowMs;
+  private final int maxBatchSize;
+  private final Function<List<Long>, Future<Map<Long, CurrentWeatherResponse>>> groupFetcher;
+
+  private Map<Long, List<Waiter>> pending = new LinkedHashMap<>();
+  private long timerId = -1;
+
+  /**
+   * Creates a new batcher.
+   *
+   * @param vertx Vert.x instance used for the batching window timer
+   * @param windowMs how long to wait for more lookups before flushing a partial batch
+   * @param maxBatchSize number of distinct city IDs that triggers an immediate flush
+   * @param groupFetcher fetches current weather for a batch of city IDs, keyed by city ID
+   */
+  CurrentWeatherBatcher(
+      Vertx vertx,
+      long windowMs,
+      int maxBatchSize,
+      Function<List<Long>, Future<Map<Long, CurrentWeatherResponse>>> groupFetcher) {
+    this.vertx = vertx;
+    this.windowMs = windowMs;
+    this.maxBatchSize = maxBatchSize;
+    this.groupFetcher = groupFetcher;
+  }
+
+  /**
+   * Queues a lookup for the given city ID.
+   *
+   * @param cityId OpenWeather city ID
+   * @return Future completed when the batch containing this city has been fetched
+   */
+  Future<CurrentWeatherResponse> fetch(long cityId) {
+    Waiter waiter = new Waiter(Vertx.currentContext());
+    Map<Long, List<Waiter>> batch = null;
+
+    synchronized (this) {
+      pending.computeIfAbsent(cityId, id -> new ArrayList<>(1)).add(waiter);
+
+      if (pending.size() >= maxBatchSize) {
+        batch = takePending();
+      } else if (timerId < 0) {
+        timerId = vertx.setTimer(windowMs, this::onWindowElapsed);
+      }
+    }
+
+    send(batch);
+    return waiter.promise.future();
+  }
+
+  /**
+   * Flushes the batch the window timer was armed for. A timer that fired while a size flush was
+   * taking the lock no longer owns the pending batch, so it leaves the newer one alone.
+   */
+  private void onWindowElapsed(long id) {
+    Map<Long, List<Waiter>> expired;
+    synchronized (this) {
+      if (id != timerId) {
+        return;
+      }
+      timerId = -1;
+      expired = takePending();
+    }
+    send(expired);
+  }
+
+  /**
+   * Removes all pending lookups and cancels the window timer. Callers must hold the lock.
+   *
+   * @return the pending lookups, or null if there were none
+   */
+  private Map<Long, List<Waiter>> takePending() {
+    if (timerId >= 0) {
+      vertx.cancelTimer(timerId);
+      timerId = -1;
+    }
+    if (pending.isEmpty()) {
+      return null;
+    }
+
+    Map<Long, List<Waiter>> batch = pending;
+    pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  /** Sends a batch of lookups as one group call and distributes the results. */
+  private void send(Map<Long, List<Waiter>> batch) {
+    if (batch == null) {
+      return;
+    }
+
+    logger.debug("Flushing current weather batch of {} cities", batch.size());
+
+    groupFetcher
+        .apply(new ArrayList<>(batch.keySet()))
+        .onComplete(
+            ar -> {
+              for (Map.Entry<Long, List<Waiter>> entry : batch.entrySet()) {
+                CurrentWeatherResponse response =
+                    ar.succeeded() ? ar.result().get(entry.getKey()) : null;
+                for (Waiter waiter : entry.getValue()) {
+                  if (response != null) {
+                    waiter.complete(Future.succeededFuture(response));
+                  } else if (ar.failed()) {
+                    waiter.complete(Future.failedFuture(ar.cause()));
+                  } else {
+                    waiter.complete(
+                        Future.failedFuture(
+                            "No weather data returned for city ID " + entry.getKey()));
+                  }
+                }
+              }
+            });
+  }
+
+  /** A queued lookup and the context it was queued from. */
+  private static final class Waiter {
+    private final Context context;
+    private final Promise<CurrentWeatherResponse> promise = Promise.promise();
+
+    Waiter(Context context) {
+      this.context = context;
+    }
+
+    /** Completes the lookup, hopping back to its own context if the result arrived elsewhere. */
+    void complete(Future<CurrentWeatherResponse> result) {
+      if (context == null || context == Vertx.currentContext()) {
+        promise.handle(result);
+      } else {
+        context.runOnContext(v -> promise.handle(result));
+      }
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package org.lotlinx.interview.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.lotlinx.interview.model.GeocodingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-only in-memory index of places loaded from a GeoNames cities dump.
+ *
+ * <p>Place attributes are held in parallel arrays indexed by place number, with coordinates and
+ * populations stored as primitives. Names are resolved through a hash map from the lower-cased
+ * name (and ASCII name) to the place number; when several places share a name, the most populous
+ * one wins. Instances are immutable once loaded and safe to share across threads.
+ */
+public final class GazetteerIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(GazetteerIndex.class);
+
+  // Column positions in the GeoNames "cities" tab-separated format
+  private static final int COLUMN_NAME = 1;
+  private static final int COLUMN_ASCII_NAME = 2;
+  private static final int COLUMN_LATITUDE = 4;
+  private static final int COLUMN_LONGITUDE = 5;
+  private static final int COLUMN_COUNTRY_CODE = 8;
+  private static final int COLUMN_POPULATION = 14;
+  private static final int REQUIRED_COLUMNS = COLUMN_POPULATION + 1;
+
+  private final Map<String, Integer> nameIndex;
+  private final String[] names;
+  private final String[] countryCodes;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final int[] populations;
+
+  private GazetteerIndex(
+      Map<String, Integer> nameIndex,
+      String[] names,
+      String[] countryCodes,
+      double[] latitudes,
+      double[] longitudes,
+      int[] populations) {
+    this.nameIndex = nameIndex;
+    this.names = names;
+    this.countryCodes = countryCodes;
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.populations = populations;
+  }
+
+  /**
+   * Loads a gazetteer from a GeoNames cities dump (e.g. cities15000.txt). Blocking; call it off
+   * the event loop.
+   *
+   * @param path path to the tab-separated dump file
+   * @return loaded index
+   * @throws IOException if the file cannot be read
+   */
+  public static GazetteerIndex load(Path path) throws IOException {
+    int capacity = 1 << 14;
+    String[] names = new String[capacity];
+    String[] countryCodes = new String[capacity];
+    double[] latitudes = new double[capacity];
+    double[] longitudes = new double[capacity];
+    int[] populations = new int[capacity];
+    Map<String, Integer> nameIndex = new HashMap<>(capacity * 2);
+    Map<String, String> countryCodePool = new HashMap<>();
+
+    int size = 0;
+    int skipped = 0;
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] columns = line.split("\t", -1);
+        if (columns.length < REQUIRED_COLUMNS) {
+          skipped++;
+          continue;
+        }
+
+        double latitude;
+        double longitude;
+        int population;
+        try {
+          latitude = Double.parseDouble(columns[COLUMN_LATITUDE]);
+          longitude = Double.parseDouble(columns[COLUMN_LONGITUDE]);
+          String populationColumn = columns[COLUMN_POPULATION];
+          population = populationColumn.isEmpty() ? 0 : Integer.parseInt(populationColumn);
+        } catch (NumberFormatException e) {
+          skipped++;
+          continue;
+        }
+
+        if (size == capacity) {
+          capacity *= 2;
+          names = Arrays.copyOf(names, capacity);
+          countryCodes = Arrays.copyOf(countryCodes, capacity);
+          latitudes = Arrays.copyOf(latitudes, capacity);
+          longitudes = Arrays.copyOf(longitudes, capacity);
+          populations = Arrays.copyOf(populations, capacity);
+        }
+
+        String countryCode = columns[COLUMN_COUNTRY_CODE];
+        names[size] = columns[COLUMN_NAME];
+        countryCodes[size] = countryCodePool.computeIfAbsent(countryCode, code -> code);
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        populations[size] = population;
+
+        indexName(nameIndex, populations, columns[COLUMN_NAME], size);
+        indexName(nameIndex, populations, columns[COLUMN_ASCII_NAME], size);
+        size++;
+      }
+    }
+
+    if (skipped > 0) {
+      logger.warn("Skipped {} malformed lines while loading gazetteer: {}", skipped, path);
+    }
+    logger.info("Loaded gazetteer with {} places ({} names) from {}", size, nameIndex.size(), path);
+
+    return new GazetteerIndex(
+        nameIndex,
+        Arrays.copyOf(names, size),
+        Arrays.copyOf(countryCodes, size),
+        Arrays.copyOf(latitudes, size),
+        Arrays.copyOf(longitudes, size),
+        Arrays.copyOf(populations, size));
+  }
+
+  private static void indexName(
+      Map<String, Integer> nameIndex, int[] populations, String name, int place) {
+    if (name.isEmpty()) {
+      return;
+    }
+    nameIndex.merge(
+        normalize(name),
+        place,
+        (existing, candidate) ->
+            populations[candidate] > populations[existing] ? candidate : existing);
+  }
+
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT).trim();
+  }
+
+  /**
+   * Finds the most populous place with the given name.
+   *
+   * @param name city name, matched case-insensitively
+   * @return place number, or -1 if the name is not in the gazetteer
+   */
+  public int find(String name) {
+    Integer place = nameIndex.get(normalize(name));
+    return place != null ? place : -1;
+  }
+
+  /**
+   * Builds a geocoding response for a place, in the same shape as the Geocoding API returns.
+   *
+   * @param place place number returned by {@link #find(String)}
+   * @return geocoding response for the place
+   */
+  public GeocodingResponse toGeocodingResponse(int place) {
+    GeocodingResponse response = new GeocodingResponse();
+    response.setName(names[place]);
+    response.setLatitude(latitudes[place]);
+    response.setLongitude(longitudes[place]);
+    response.setCountry(countryCodes[place]);
+    return response;
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  public String getName(int place) {
+    return names[place];
+  }
+
+  public String getCountryCode(int place) {
+    return countryCodes[place];
+  }
+
+  public double getLatitude(int place) {
+    return latitudes[place];
+  }
+
+  public double getLongitude(int place) {
+    return longitudes[place];
+  }
+
+  public int getPopulation(int place) {
+    return populations[place];
+  }
+}
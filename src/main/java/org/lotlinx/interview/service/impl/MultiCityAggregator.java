@@ -0,0 +1,81 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.model.WeatherData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects per-city weather results into a multi-city response without locking.
+ *
+ * <p>Each city owns one slot in a preallocated array, written once by whichever thread completes
+ * that city. The slot is written before the countdown is decremented, so the thread that takes the
+ * countdown to zero sees every slot and builds the response. Results keep request order.
+ */
+final class MultiCityAggregator {
+
+  private static final Logger logger = LoggerFactory.getLogger(MultiCityAggregator.class);
+
+  private final List<String> cities;
+  private final WeatherData[] results;
+  private final AtomicInteger remaining;
+  private final Promise<MultiCityWeatherResponse> promise = Promise.promise();
+
+  MultiCityAggregator(List<String> cities) {
+    this.cities = cities;
+    this.results = new WeatherData[cities.size()];
+    this.remaining = new AtomicInteger(cities.size());
+  }
+
+  /**
+   * Records the outcome for the city at the given position in the request.
+   *
+   * @param index position of the city in the request
+   * @param result weather data, or the failure for that city
+   */
+  void complete(int index, AsyncResult<WeatherData> result) {
+    if (result.succeeded()) {
+      results[index] = result.result();
+      logger.debug("Successfully retrieved weather for city: {}", cities.get(index));
+    } else {
+      logger.warn("Failed to retrieve weather for city: {} - {}",
+          cities.get(index), result.cause().getMessage());
+    }
+
+    if (remaining.decrementAndGet() == 0) {
+      promise.complete(buildResponse());
+    }
+  }
+
+  Future<MultiCityWeatherResponse> future() {
+    return promise.future();
+  }
+
+  private MultiCityWeatherResponse buildResponse() {
+    int succeeded = 0;
+    for (WeatherData data : results) {
+      if (data != null) {
+        succeeded++;
+      }
+    }
+
+    List<WeatherData> weatherData = new ArrayList<>(succeeded);
+    List<String> failedCities = new ArrayList<>(results.length - succeeded);
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] != null) {
+        weatherData.add(results[i]);
+      } else {
+        failedCities.add(cities.get(i));
+      }
+    }
+
+    return new MultiCityWeatherResponse(
+        weatherData, results.length, succeeded, failedCities.size(), failedCities);
+  }
+}
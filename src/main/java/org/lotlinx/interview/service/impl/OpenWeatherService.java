@@ -1,30 +1,48 @@
 package org.lotlinx.interview.service.impl;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import org.lotlinx.interview.config.ApplicationConfig;
 import org.lotlinx.interview.config.CircuitBreakerConfig;
 import org.lotlinx.interview.config.OpenWeatherConfig;
 import org.lotlinx.interview.config.RateLimiterConfig;
 import org.lotlinx.interview.model.*;
+import org.lotlinx.interview.service.PersistentCaches;
+import org.lotlinx.interview.service.UpstreamLoad;
 import org.lotlinx.interview.service.WeatherService;
+import org.lotlinx.interview.util.impl.BoundedFanOut;
+import org.lotlinx.interview.util.impl.CacheSnapshot;
 import org.lotlinx.interview.util.impl.CircuitBreaker;
 import org.lotlinx.interview.util.HttpClientUtil;
 import org.lotlinx.interview.util.impl.InMemoryCache;
 import org.lotlinx.interview.util.impl.RateLimiter;
+import org.lotlinx.interview.util.impl.SpatialIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 /** Implementation of WeatherService that integrates with OpenWeatherMap API. */
-public class OpenWeatherService implements WeatherService, AutoCloseable {
+public class OpenWeatherService
+    implements WeatherService, UpstreamLoad, PersistentCaches, AutoCloseable {
 
   private static final Logger logger = LoggerFactory.getLogger(OpenWeatherService.class);
 
@@ -40,11 +58,30 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
   private final InMemoryCache<AirPollutionResponse> airPollutionCache;
   private final InMemoryCache<CurrentWeatherResponse> weatherCache;
   private final InMemoryCache<GeocodingResponse[]> geocodingCache;
+  private final InMemoryCache<Long> weatherCityIdCache;
+  private final InMemoryCache<MultiCityWeatherResponse> multiCityMemo;
+  private final CurrentWeatherBatcher weatherBatcher;
+  private final SpatialIndex airPollutionSpatialIndex = new SpatialIndex();
+  private final SpatialIndex weatherSpatialIndex = new SpatialIndex();
+  private final AirQualityInterpolator airQualityInterpolator;
+  private volatile GazetteerIndex gazetteer;
+  private volatile CityAutocompleteIndex autocompleteIndex = CityAutocompleteIndex.EMPTY;
+  private final ConcurrentHashMap<String, LongAdder> cityLookupCounts = new ConcurrentHashMap<>();
 
   public OpenWeatherService(Vertx vertx) {
+    this(vertx, new HttpClientUtil(vertx));
+  }
+
+  /** Creates the service with the given upstream client, e.g. a stub in tests and benchmarks. */
+  OpenWeatherService(Vertx vertx, HttpClientUtil httpClient) {
+    this(vertx, httpClient, ApplicationConfig.isWeatherBatchingEnabled());
+  }
+
+  /** Creates the service with the given upstream client, batching weather lookups or not. */
+  OpenWeatherService(Vertx vertx, HttpClientUtil httpClient, boolean weatherBatching) {
     this.vertx = vertx;
     this.config = new OpenWeatherConfig();
-    this.httpClient = new HttpClientUtil(vertx);
+    this.httpClient = httpClient;
     this.geocodingCircuitBreaker = new CircuitBreaker(
         CircuitBreakerConfig.GEOCODING_CIRCUIT_BREAKER_NAME,
         CircuitBreakerConfig.FAILURE_THRESHOLD,
@@ -96,25 +133,157 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
         ApplicationConfig.getGeocodingCacheTtlMs(), 
         vertx
     );
+    this.weatherCityIdCache = new InMemoryCache<>(
+        "weather_city_ids",
+        ApplicationConfig.getGeocodingCacheTtlMs(),
+        vertx
+    );
+    this.multiCityMemo = ApplicationConfig.isMultiCityMemoEnabled()
+        ? new InMemoryCache<>("multi_city", ApplicationConfig.getWeatherCacheTtlMs(), vertx)
+        : null;
+    this.weatherBatcher = weatherBatching
+        ? new CurrentWeatherBatcher(
+            vertx,
+            ApplicationConfig.getWeatherBatchWindowMs(),
+            ApplicationConfig.getWeatherBatchMaxSize(),
+            this::getCurrentWeatherGroup)
+        : null;
+    this.airQualityInterpolator = new AirQualityInterpolator(
+        airPollutionSpatialIndex,
+        airPollutionCache,
+        ApplicationConfig.getInterpolationPower(),
+        ApplicationConfig.getInterpolationMinNeighbours()
+    );
+    loadGazetteer();
+    restoreCacheSnapshot();
+    vertx.setPeriodic(
+        ApplicationConfig.getAutocompleteRefreshIntervalMs(), id -> rebuildAutocompleteIndex());
+
+    // Drop spatial index entries whose cache entries have expired, on the cache cleanup cadence
+    vertx.setPeriodic(300_000, id -> {
+      airPollutionSpatialIndex.retainAll(airPollutionCache::contains);
+      weatherSpatialIndex.retainAll(weatherCache::contains);
+    });
+  }
+
+  /**
+   * Loads the optional offline gazetteer on a worker thread. Until loading finishes, lookups
+   * fall through to the geocoding cache and API.
+   */
+  private void loadGazetteer() {
+    String gazetteerFile = ApplicationConfig.getGazetteerFile();
+    if (gazetteerFile == null || gazetteerFile.isBlank()) {
+      return;
+    }
+
+    vertx
+        .executeBlocking(() -> GazetteerIndex.load(Paths.get(gazetteerFile)), false)
+        .onSuccess(index -> {
+          gazetteer = index;
+          rebuildAutocompleteIndex();
+        })
+        .onFailure(throwable ->
+            logger.error("Failed to load gazetteer from {}, using geocoding API only",
+                gazetteerFile, throwable));
+  }
+
+  /**
+   * Restores the caches saved by the previous process, if a snapshot file is configured. Entries
+   * cached before the snapshot is read are kept over the saved ones.
+   */
+  private void restoreCacheSnapshot() {
+    String snapshotFile = ApplicationConfig.getCacheSnapshotFile();
+    if (snapshotFile == null || snapshotFile.isBlank()) {
+      return;
+    }
+
+    CacheSnapshot.load(vertx, snapshotFile)
+        .onSuccess(snapshot -> {
+          int weather = snapshot.restore("weather", weatherCache, CurrentWeatherResponse.class,
+              weatherSpatialIndex, (key, response) -> {
+                if (response.getCityId() > 0) {
+                  weatherCityIdCache.put(key, response.getCityId());
+                }
+              });
+          int airPollution = snapshot.restore("airPollution", airPollutionCache,
+              AirPollutionResponse.class, airPollutionSpatialIndex, (key, response) -> {});
+          int geocoding = snapshot.restore("geocoding", geocodingCache,
+              GeocodingResponse[].class, (key, responses) -> {});
+          logger.info("Restored {} weather, {} air pollution and {} geocoding entries from {}",
+              weather, airPollution, geocoding, snapshotFile);
+          if (geocoding > 0) {
+            rebuildAutocompleteIndex();
+          }
+        })
+        .onFailure(throwable ->
+            logger.error("Failed to restore cache snapshot from {}, starting cold",
+                snapshotFile, throwable));
+  }
+
+  @Override
+  public Future<Void> saveCacheSnapshot() {
+    String snapshotFile = ApplicationConfig.getCacheSnapshotFile();
+    if (snapshotFile == null || snapshotFile.isBlank()) {
+      return Future.succeededFuture();
+    }
+
+    return new CacheSnapshot()
+        .add("weather", weatherCache, weatherSpatialIndex)
+        .add("airPollution", airPollutionCache, airPollutionSpatialIndex)
+        .add("geocoding", geocodingCache)
+        .save(vertx, snapshotFile)
+        .onSuccess(v -> logger.info("Saved cache snapshot to {}", snapshotFile))
+        .onFailure(throwable ->
+            logger.error("Failed to save cache snapshot to {}", snapshotFile, throwable));
   }
 
   @Override
   public Future<AirPollutionResponse> getCurrentAirPollution(double latitude, double longitude) {
+    return getCurrentAirPollution(
+        latitude, longitude, ApplicationConfig.getAirPollutionDefaultMaxDistanceKm());
+  }
+
+  @Override
+  public Future<AirPollutionResponse> getCurrentAirPollution(
+      double latitude, double longitude, double maxDistanceKm) {
+    return getCachedAirPollution(latitude, longitude, maxDistanceKm).map(CachedResult::getValue);
+  }
+
+  @Override
+  public Future<CachedResult<AirPollutionResponse>> getCachedAirPollution(
+      double latitude, double longitude, double maxDistanceKm) {
     logger.debug(
         "Fetching air pollution data for coordinates: lat={}, lon={}", latitude, longitude);
 
     // Check cache first
-    String cacheKey = String.format("air_pollution:%.6f:%.6f", latitude, longitude);
-    AirPollutionResponse cachedResponse = airPollutionCache.get(cacheKey);
-    if (cachedResponse != null) {
+    String cacheKey = airPollutionCacheKey(latitude, longitude);
+    InMemoryCache.CacheEntry<AirPollutionResponse> cachedEntry = airPollutionCache.getEntry(cacheKey);
+    if (cachedEntry != null) {
       logger.debug("Cache hit for air pollution data: {}", cacheKey);
-      return Future.succeededFuture(cachedResponse);
+      return Future.succeededFuture(toCachedResult(
+          cacheKey, cachedEntry, cachedEntry.getValue(), CachedResult.Status.HIT, true));
+    }
+
+    // Serve from the nearest fresh cached point if the caller tolerates it
+    if (maxDistanceKm > 0) {
+      SpatialIndex.Match match = airPollutionSpatialIndex.nearest(
+          latitude, longitude, maxDistanceKm, airPollutionCache::contains);
+      InMemoryCache.CacheEntry<AirPollutionResponse> nearbyEntry =
+          match != null ? airPollutionCache.getEntry(match.getKey()) : null;
+      if (nearbyEntry != null) {
+        logger.debug("Serving air pollution data from {} ({} km away)",
+            match.getKey(), match.getDistanceKm());
+        // The served distance is specific to this request, so derived bodies are not shared
+        return Future.succeededFuture(toCachedResult(match.getKey(), nearbyEntry,
+            new AirPollutionResponse(nearbyEntry.getValue(), match.getDistanceKm()),
+            CachedResult.Status.HIT, false));
+      }
     }
 
     logger.debug("Cache miss for air pollution data: {}", cacheKey);
-    return airPollutionRateLimiter.executeWithRateLimit(() ->
+    Future<CachedResult<AirPollutionResponse>> fetched = airPollutionRateLimiter.executeWithRateLimit(() ->
       airPollutionCircuitBreaker.execute(() -> {
-      Promise<AirPollutionResponse> promise = Promise.promise();
+      Promise<CachedResult<AirPollutionResponse>> promise = Promise.promise();
 
       // Build query parameters
       MultiMap queryParams = MultiMap.caseInsensitiveMultiMap();
@@ -133,11 +302,14 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
                          AirPollutionResponse airPollutionResponse = parseAirPollutionResponse(response);
                          
                          // Cache the response
-                         airPollutionCache.put(cacheKey, airPollutionResponse);
+                         InMemoryCache.CacheEntry<AirPollutionResponse> entry =
+                             airPollutionCache.put(cacheKey, airPollutionResponse);
+                         airPollutionSpatialIndex.add(cacheKey, latitude, longitude);
                          logger.debug("Cached air pollution data: {}", cacheKey);
                          
-                         logger.info("Successfully retrieved air pollution data");
-                         promise.complete(airPollutionResponse);
+                         logger.debug("Successfully retrieved air pollution data");
+                         promise.complete(toCachedResult(
+                             cacheKey, entry, airPollutionResponse, CachedResult.Status.MISS, true));
                        } catch (Exception e) {
                          logger.error("Failed to parse air pollution response", e);
                          promise.fail(new RuntimeException("Failed to parse air pollution data: " + e.getMessage(), e));
@@ -150,87 +322,418 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
 
       return promise.future();
     }));
+
+    // Rate limiting, an open circuit and upstream errors all fall back to an expired entry
+    return fetched.recover(throwable -> {
+      InMemoryCache.CacheEntry<AirPollutionResponse> staleEntry = airPollutionCache.getStale(cacheKey);
+      if (staleEntry == null) {
+        return Future.failedFuture(throwable);
+      }
+      logger.warn("Serving stale air pollution data for {} after error: {}",
+          cacheKey, throwable.getMessage());
+      return Future.succeededFuture(toCachedResult(
+          cacheKey, staleEntry, staleEntry.getValue(), CachedResult.Status.STALE, true));
+    });
+  }
+
+  /**
+   * Wraps a result with the metadata of the cache entry it came from. Attachments are shared only
+   * when the value is the entry's own, not one adapted for a particular request.
+   */
+  private static <T> CachedResult<T> toCachedResult(String cacheKey,
+      InMemoryCache.CacheEntry<?> entry, T value, CachedResult.Status status, boolean shared) {
+    String version =
+        Long.toHexString(entry.getTimestamp()) + "-" + Integer.toHexString(cacheKey.hashCode());
+    return new CachedResult<>(value, status, version, entry.getTimestamp(), entry.getExpiresAt(),
+        shared ? entry.getAttachments() : null);
   }
 
   @Override
-  public Future<MultiCityWeatherResponse> getMultiCityWeather(List<String> cities) {
-    Promise<MultiCityWeatherResponse> promise = Promise.promise();
+  public Future<BulkAirPollutionResponse> getBulkAirPollution(List<Coordinates> locations) {
+    if (locations == null || locations.isEmpty()) {
+      return Future.succeededFuture(new BulkAirPollutionResponse(new ArrayList<>(), 0, 0, 0, 0));
+    }
 
-    if (cities == null || cities.isEmpty()) {
-      promise.complete(new MultiCityWeatherResponse(new ArrayList<>(), 0, 0, 0));
-      return promise.future();
+    // Deduplicate on the same key the air pollution cache uses
+    Map<String, Coordinates> uniqueLocations = new LinkedHashMap<>();
+    for (Coordinates location : locations) {
+      uniqueLocations.putIfAbsent(
+          airPollutionCacheKey(location.getLatitude(), location.getLongitude()), location);
     }
 
-    logger.info("Fetching weather data for {} cities: {}", cities.size(), cities);
+    logger.debug("Fetching air pollution data for {} locations ({} unique)",
+        locations.size(), uniqueLocations.size());
 
-    List<WeatherData> weatherDataList = new ArrayList<>();
-    List<String> failedCities = new ArrayList<>();
-    AtomicInteger completedRequests = new AtomicInteger(0);
-    AtomicInteger failedRequests = new AtomicInteger(0);
-    int totalCities = cities.size();
+    return BoundedFanOut.<String, AirPollutionResponse>run(
+            uniqueLocations.keySet(),
+            ApplicationConfig.getBulkAirPollutionMaxConcurrency(),
+            key -> {
+              Coordinates location = uniqueLocations.get(key);
+              return getCurrentAirPollution(location.getLatitude(), location.getLongitude());
+            })
+        .map(results -> {
+          int failed = 0;
+          for (AsyncResult<AirPollutionResponse> result : results.values()) {
+            if (result.failed()) {
+              failed++;
+            }
+          }
 
-    // Process each city asynchronously
-    for (String city : cities) {
-      getWeatherForCity(city)
-          .onComplete(ar -> {
-            synchronized (weatherDataList) {
-              if (ar.succeeded()) {
-                weatherDataList.add(ar.result());
-                logger.debug("Successfully retrieved weather for city: {}", city);
-              } else {
-                logger.warn("Failed to retrieve weather for city: {} - {}", city, ar.cause().getMessage());
-                failedCities.add(city);
-                failedRequests.incrementAndGet();
-              }
-
-              int completed = completedRequests.incrementAndGet();
-              if (completed == totalCities) {
-                // All requests completed
-                MultiCityWeatherResponse response = new MultiCityWeatherResponse(
-                    weatherDataList,
-                    totalCities,
-                    weatherDataList.size(),
-                    failedRequests.get(),
-                    failedCities
-                );
-                promise.complete(response);
-              }
+          List<BulkAirPollutionResponse.LocationResult> locationResults =
+              new ArrayList<>(locations.size());
+          for (Coordinates location : locations) {
+            AsyncResult<AirPollutionResponse> result = results.get(
+                airPollutionCacheKey(location.getLatitude(), location.getLongitude()));
+            locationResults.add(toLocationResult(location, result));
+          }
+
+          return new BulkAirPollutionResponse(
+              locationResults,
+              locations.size(),
+              uniqueLocations.size(),
+              uniqueLocations.size() - failed,
+              failed);
+        });
+  }
+
+  @Override
+  public Future<AirQualityEstimateResponse> estimateAirQuality(
+      List<Coordinates> locations, double radiusKm) {
+    if (locations == null || locations.isEmpty()) {
+      return Future.succeededFuture(new AirQualityEstimateResponse(new ArrayList<>()));
+    }
+
+    logger.debug("Estimating air quality for {} locations within {} km", locations.size(), radiusKm);
+
+    // Interpolation is pure CPU work over the caches, so fan it out on the fork-join pool
+    return vertx
+        .executeBlocking(() -> locations.parallelStream()
+            .map(location -> airQualityInterpolator.estimate(
+                location.getLatitude(), location.getLongitude(), radiusKm))
+            .collect(Collectors.toList()), false)
+        .compose(estimates -> fillUpstreamEstimates(locations, estimates));
+  }
+
+  /**
+   * Replaces the null entries left by interpolation with real API lookups, deduplicated on the
+   * air pollution cache key.
+   */
+  private Future<AirQualityEstimateResponse> fillUpstreamEstimates(
+      List<Coordinates> locations, List<AirQualityEstimate> estimates) {
+    Map<String, Coordinates> fallbackLocations = new LinkedHashMap<>();
+    for (int i = 0; i < estimates.size(); i++) {
+      if (estimates.get(i) == null) {
+        Coordinates location = locations.get(i);
+        fallbackLocations.putIfAbsent(
+            airPollutionCacheKey(location.getLatitude(), location.getLongitude()), location);
+      }
+    }
+
+    if (fallbackLocations.isEmpty()) {
+      return Future.succeededFuture(new AirQualityEstimateResponse(estimates));
+    }
+
+    logger.debug("Falling back to the API for {} locations with too few cached neighbours",
+        fallbackLocations.size());
+
+    return BoundedFanOut.<String, AirPollutionResponse>run(
+            fallbackLocations.keySet(),
+            ApplicationConfig.getBulkAirPollutionMaxConcurrency(),
+            key -> {
+              Coordinates location = fallbackLocations.get(key);
+              return getCurrentAirPollution(location.getLatitude(), location.getLongitude());
+            })
+        .map(results -> {
+          List<AirQualityEstimate> filled = new ArrayList<>(estimates);
+          for (int i = 0; i < filled.size(); i++) {
+            if (filled.get(i) == null) {
+              Coordinates location = locations.get(i);
+              filled.set(i, toUpstreamEstimate(location, results.get(
+                  airPollutionCacheKey(location.getLatitude(), location.getLongitude()))));
             }
-          });
+          }
+          return new AirQualityEstimateResponse(filled);
+        });
+  }
+
+  @Override
+  public Future<MultiCityWeatherResponse> getMultiCityWeather(List<String> cities) {
+    if (cities == null || cities.isEmpty()) {
+      return Future.succeededFuture(new MultiCityWeatherResponse(new ArrayList<>(), 0, 0, 0));
     }
 
+    logger.debug("Fetching weather data for {} cities: {}", cities.size(), cities);
+
+    // Each city writes its own slot, so completions never contend on a shared lock
+    MultiCityAggregator aggregator = new MultiCityAggregator(cities);
+    int index = 0;
+    for (String city : cities) {
+      int slot = index++;
+      getWeatherForCity(city).onComplete(ar -> aggregator.complete(slot, ar));
+    }
+
+    return aggregator.future();
+  }
+
+  @Override
+  public Future<CachedResult<WeatherData>> getCachedCityWeather(String city) {
+    long start = System.currentTimeMillis();
+    return getWeatherForCity(city).map(data -> {
+      InMemoryCache.CacheEntry<CurrentWeatherResponse> entry = weatherEntry(data.getCoordinates());
+      String cacheKey = weatherCacheKey(data.getCoordinates());
+      if (entry == null) {
+        long now = System.currentTimeMillis();
+        String version = Long.toHexString(now) + "-" + Integer.toHexString(cacheKey.hashCode());
+        return new CachedResult<>(data, CachedResult.Status.MISS, version, now, now, null);
+      }
+      // The city name in the result is the caller's, so derived bodies are not shared
+      CachedResult.Status status = entry.getTimestamp() >= start
+          ? CachedResult.Status.MISS
+          : CachedResult.Status.HIT;
+      return toCachedResult(cacheKey, entry, data, status, false);
+    });
+  }
+
+  @Override
+  public Future<MultiCityWeatherResponse> getMultiCityWeather(ReadStream<String> cities) {
+    List<String> names = new ArrayList<>();
+    List<Future<WeatherData>> lookups = new ArrayList<>();
+    Promise<MultiCityWeatherResponse> promise = Promise.promise();
+
+    // Lookups start as each name is parsed; slots are assigned once the list is complete
+    cities
+        .exceptionHandler(promise::tryFail)
+        .endHandler(v -> {
+          logger.debug("Fetching weather data for {} streamed cities", names.size());
+          MultiCityAggregator aggregator = new MultiCityAggregator(names);
+          for (int slot = 0; slot < lookups.size(); slot++) {
+            int index = slot;
+            lookups.get(slot).onComplete(ar -> aggregator.complete(index, ar));
+          }
+          aggregator.future().onComplete(promise);
+        })
+        .handler(city -> {
+          // Once the body has been rejected, names that still arrive are not looked up
+          if (promise.future().isComplete()) {
+            return;
+          }
+          names.add(city);
+          lookups.add(getWeatherForCity(city));
+        });
+
     return promise.future();
   }
 
+  @Override
+  public Future<CachedResult<MultiCityWeatherResponse>> getCachedMultiCityWeather(
+      List<String> cities) {
+    String memoKey = "multi-city:" + String.join("|", cities);
+    InMemoryCache.CacheEntry<MultiCityWeatherResponse> memoEntry =
+        multiCityMemo != null ? multiCityMemo.getEntry(memoKey) : null;
+    if (memoEntry != null) {
+      logger.debug("Memo hit for multi-city weather: {}", memoKey);
+      return Future.succeededFuture(toCachedResult(
+          memoKey, memoEntry, memoEntry.getValue(), CachedResult.Status.HIT, true));
+    }
+
+    return getMultiCityWeather(cities).map(response -> {
+      // A composite is only as fresh as its oldest member
+      long expiresAt = earliestWeatherExpiry(response);
+      long now = System.currentTimeMillis();
+      if (multiCityMemo != null
+          && response.getFailedRequests() == 0
+          && expiresAt > now
+          && multiCityMemo.size() < ApplicationConfig.getMultiCityMemoMaxEntries()) {
+        InMemoryCache.CacheEntry<MultiCityWeatherResponse> entry =
+            multiCityMemo.put(memoKey, response, expiresAt - now);
+        return toCachedResult(memoKey, entry, response, CachedResult.Status.MISS, true);
+      }
+      String version = Long.toHexString(now) + "-" + Integer.toHexString(memoKey.hashCode());
+      return new CachedResult<>(
+          response, CachedResult.Status.MISS, version, now, Math.max(now, expiresAt), null);
+    });
+  }
+
+  /**
+   * Finds when the first of a composite's weather entries expires.
+   *
+   * @return earliest expiry in epoch milliseconds, or the current time if an entry is gone
+   */
+  private long earliestWeatherExpiry(MultiCityWeatherResponse response) {
+    long now = System.currentTimeMillis();
+    long earliest = Long.MAX_VALUE;
+    for (WeatherData data : response.getWeatherData()) {
+      InMemoryCache.CacheEntry<CurrentWeatherResponse> entry = weatherEntry(data.getCoordinates());
+      if (entry == null) {
+        return now;
+      }
+      earliest = Math.min(earliest, entry.getExpiresAt());
+    }
+    return earliest == Long.MAX_VALUE ? now : earliest;
+  }
+
+  /**
+   * Finds the weather entry a lookup for these coordinates was served from, the same way {@link
+   * #getCurrentWeather(Coordinates)} chose it.
+   *
+   * @return the entry, possibly expired, or null if it is gone
+   */
+  private InMemoryCache.CacheEntry<CurrentWeatherResponse> weatherEntry(Coordinates coordinates) {
+    InMemoryCache.CacheEntry<CurrentWeatherResponse> entry =
+        weatherCache.getStale(weatherCacheKey(coordinates));
+    double maxDistanceKm = ApplicationConfig.getWeatherMaxDistanceKm();
+    if (entry == null && maxDistanceKm > 0) {
+      SpatialIndex.Match match = weatherSpatialIndex.nearest(coordinates.getLatitude(),
+          coordinates.getLongitude(), maxDistanceKm, weatherCache::contains);
+      entry = match != null ? weatherCache.getStale(match.getKey()) : null;
+    }
+    return entry;
+  }
+
+  @Override
+  public List<Future<?>> runBatch(List<BatchQuery> queries) {
+    // Keyed like the caches, so overlapping sub-queries cost one lookup
+    Map<String, Future<?>> lookups = new HashMap<>();
+    List<Future<?>> results = new ArrayList<>(queries.size());
+    for (BatchQuery query : queries) {
+      if (query.getType() == BatchQuery.Type.WEATHER) {
+        results.add(lookups.computeIfAbsent(geocodingCacheKey(query.getCity()),
+            key -> getWeatherForCity(query.getCity())));
+      } else {
+        Coordinates coordinates = query.getCoordinates();
+        results.add(lookups.computeIfAbsent(
+            airPollutionCacheKey(coordinates.getLatitude(), coordinates.getLongitude()),
+            key -> getCurrentAirPollution(coordinates.getLatitude(), coordinates.getLongitude())));
+      }
+    }
+
+    logger.debug("Running batch of {} queries ({} unique)", queries.size(), lookups.size());
+    return results;
+  }
+
+  @Override
+  public Future<List<CitySuggestion>> getCitySuggestions(String prefix, int limit) {
+    return Future.succeededFuture(autocompleteIndex.suggest(prefix, limit));
+  }
+
+  /**
+   * Rebuilds the autocomplete index on a worker thread from the gazetteer and every cached
+   * geocoding result, then swaps it in. Requests keep using the previous index meanwhile.
+   */
+  private void rebuildAutocompleteIndex() {
+    vertx
+        .executeBlocking(this::buildAutocompleteIndex, false)
+        .onSuccess(index -> {
+          autocompleteIndex = index;
+          logger.debug("Rebuilt autocomplete index with {} cities", index.size());
+        })
+        .onFailure(throwable -> logger.error("Failed to rebuild autocomplete index", throwable));
+  }
+
+  private CityAutocompleteIndex buildAutocompleteIndex() {
+    CityAutocompleteIndex.Builder builder = CityAutocompleteIndex.builder();
+    GazetteerIndex index = gazetteer;
+
+    if (index != null) {
+      for (int place = 0; place < index.size(); place++) {
+        builder.add(index.getName(place), index.getCountryCode(place), index.getLatitude(place),
+            index.getLongitude(place), index.getPopulation(place), 0);
+      }
+    }
+
+    geocodingCache.forEach((key, responses) -> {
+      if (responses.length > 0) {
+        GeocodingResponse city = responses[0];
+        builder.add(city.getName(), city.getCountry(), city.getLatitude(), city.getLongitude(), 0,
+            lookupCount(key));
+      }
+    });
+
+    // Credit lookups answered by the gazetteer, and forget names that never resolved
+    cityLookupCounts.forEach((key, count) -> {
+      int place = index != null ? index.find(key.substring("geocoding:".length())) : -1;
+      if (place >= 0) {
+        builder.add(index.getName(place), index.getCountryCode(place), index.getLatitude(place),
+            index.getLongitude(place), index.getPopulation(place), count.sum());
+      } else if (geocodingCache.get(key) == null) {
+        cityLookupCounts.remove(key);
+      }
+    });
+
+    return builder.build(ApplicationConfig.getAutocompleteMaxResults());
+  }
+
+  private long lookupCount(String geocodingCacheKey) {
+    LongAdder count = cityLookupCounts.get(geocodingCacheKey);
+    return count != null ? count.sum() : 0;
+  }
+
   /**
    * Retrieves weather data for a single city by first getting coordinates via geocoding,
    * then fetching current weather data.
    */
   private Future<WeatherData> getWeatherForCity(String cityName) {
-    Promise<WeatherData> promise = Promise.promise();
+    String cacheKey = geocodingCacheKey(cityName);
+    cityLookupCounts.computeIfAbsent(cacheKey, key -> new LongAdder()).increment();
 
-    // First, get coordinates for the city
-    getCityCoordinates(cityName)
-        .compose(geocodingResponse -> {
-          if (geocodingResponse == null || geocodingResponse.length == 0) {
-            return Future.failedFuture("City not found: " + cityName);
-          }
+    GeocodingResponse[] knownCoordinates = findInGazetteer(cityName);
+    if (knownCoordinates == null) {
+      knownCoordinates = geocodingCache.get(cacheKey);
+    }
 
-          GeocodingResponse cityData = geocodingResponse[0];
-          Coordinates coordinates = new Coordinates(cityData.getLatitude(), cityData.getLongitude());
+    // On a geocoding miss, a single by-name call replaces the geocode + weather round trips
+    if (knownCoordinates == null && ApplicationConfig.isWeatherLookupByCityNameEnabled()) {
+      return getCurrentWeatherByCityName(cityName);
+    }
 
-          // Then get current weather for the coordinates
-          return getCurrentWeather(coordinates)
-              .map(currentWeather -> mapToWeatherData(cityName, currentWeather, coordinates));
-        })
-        .onComplete(ar -> {
-          if (ar.succeeded()) {
-            promise.complete(ar.result());
-          } else {
-            promise.fail(ar.cause());
-          }
-        });
+    Context context = Vertx.currentContext();
+    if (context != null && context.threadingModel() == ThreadingModel.VIRTUAL_THREAD) {
+      return awaitWeatherForCity(context, cityName, knownCoordinates);
+    }
+
+    Future<GeocodingResponse[]> geocoding = knownCoordinates != null
+        ? Future.succeededFuture(knownCoordinates)
+        : getCityCoordinates(cityName);
+
+    return geocoding.compose(geocodingResponse -> {
+      if (geocodingResponse == null || geocodingResponse.length == 0) {
+        return Future.failedFuture("City not found: " + cityName);
+      }
+
+      GeocodingResponse cityData = geocodingResponse[0];
+      Coordinates coordinates = new Coordinates(cityData.getLatitude(), cityData.getLongitude());
 
+      // Then get current weather for the coordinates
+      return getCurrentWeather(coordinates)
+          .map(currentWeather -> mapToWeatherData(cityName, currentWeather, coordinates));
+    });
+  }
+
+  /**
+   * The geocode, weather and map steps of {@link #getWeatherForCity} as straight-line code, for
+   * verticles deployed on virtual threads. Each lookup runs as its own task on the context, so
+   * {@link Future#await} parks only that lookup and multi-city fan-out stays concurrent.
+   */
+  private Future<WeatherData> awaitWeatherForCity(Context context, String cityName,
+      GeocodingResponse[] knownCoordinates) {
+    Promise<WeatherData> promise = Promise.promise();
+    context.runOnContext(v -> {
+      try {
+        GeocodingResponse[] geocodingResponse = knownCoordinates != null
+            ? knownCoordinates
+            : Future.await(getCityCoordinates(cityName));
+        if (geocodingResponse == null || geocodingResponse.length == 0) {
+          throw new NoSuchElementException("City not found: " + cityName);
+        }
+
+        GeocodingResponse cityData = geocodingResponse[0];
+        Coordinates coordinates = new Coordinates(cityData.getLatitude(), cityData.getLongitude());
+        CurrentWeatherResponse currentWeather = Future.await(getCurrentWeather(coordinates));
+        promise.complete(mapToWeatherData(cityName, currentWeather, coordinates));
+      } catch (Throwable e) {
+        promise.fail(e);
+      }
+    });
     return promise.future();
   }
 
@@ -238,8 +741,15 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
    * Gets coordinates for a city using the Geocoding API.
    */
   private Future<GeocodingResponse[]> getCityCoordinates(String cityName) {
-    // Check cache first
-    String cacheKey = "geocoding:" + cityName.toLowerCase().trim();
+    // Check the offline gazetteer first
+    GeocodingResponse[] gazetteerResponse = findInGazetteer(cityName);
+    if (gazetteerResponse != null) {
+      logger.debug("Gazetteer hit for city: {}", cityName);
+      return Future.succeededFuture(gazetteerResponse);
+    }
+
+    // Then check cache
+    String cacheKey = geocodingCacheKey(cityName);
     GeocodingResponse[] cachedResponse = geocodingCache.get(cacheKey);
     if (cachedResponse != null) {
       logger.debug("Cache hit for geocoding data: {}", cacheKey);
@@ -281,12 +791,26 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
     }));
   }
 
+  /**
+   * Looks up a city in the offline gazetteer, if one is loaded.
+   *
+   * @return single-element geocoding response, or null if the city is not in the gazetteer
+   */
+  private GeocodingResponse[] findInGazetteer(String cityName) {
+    GazetteerIndex index = gazetteer;
+    if (index == null) {
+      return null;
+    }
+    int place = index.find(cityName);
+    return place >= 0 ? new GeocodingResponse[] {index.toGeocodingResponse(place)} : null;
+  }
+
   /**
    * Gets current weather data for given coordinates.
    */
   private Future<CurrentWeatherResponse> getCurrentWeather(Coordinates coordinates) {
     // Check cache first
-    String cacheKey = String.format("weather:%.6f:%.6f", coordinates.getLatitude(), coordinates.getLongitude());
+    String cacheKey = weatherCacheKey(coordinates);
     CurrentWeatherResponse cachedResponse = weatherCache.get(cacheKey);
     if (cachedResponse != null) {
       logger.debug("Cache hit for weather data: {}", cacheKey);
@@ -294,6 +818,42 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
     }
 
     logger.debug("Cache miss for weather data: {}", cacheKey);
+
+    // Weather varies slowly over short distances, so a close-enough cached point may be reused
+    double maxDistanceKm = ApplicationConfig.getWeatherMaxDistanceKm();
+    if (maxDistanceKm > 0) {
+      SpatialIndex.Match match = weatherSpatialIndex.nearest(coordinates.getLatitude(),
+          coordinates.getLongitude(), maxDistanceKm, weatherCache::contains);
+      CurrentWeatherResponse nearbyResponse = match != null ? weatherCache.get(match.getKey()) : null;
+      if (nearbyResponse != null) {
+        logger.debug("Serving weather data from {} ({} km away)",
+            match.getKey(), match.getDistanceKm());
+        return Future.succeededFuture(nearbyResponse);
+      }
+    }
+
+    // Cities whose OpenWeather ID we already know can ride along in a group call, falling back to
+    // a lookup by coordinates if the group call fails or leaves the city out
+    Long cityId = weatherBatcher != null ? weatherCityIdCache.get(cacheKey) : null;
+    if (cityId != null) {
+      return weatherBatcher
+          .fetch(cityId)
+          .onSuccess(response -> cacheWeather(cacheKey, coordinates, response))
+          .recover(e -> {
+            logger.debug("Batched weather lookup failed for city ID {}, fetching by coordinates: {}",
+                cityId, e.getMessage());
+            return fetchCurrentWeather(cacheKey, coordinates);
+          });
+    }
+
+    return fetchCurrentWeather(cacheKey, coordinates);
+  }
+
+  /**
+   * Fetches current weather data for given coordinates from the weather API and caches it.
+   */
+  private Future<CurrentWeatherResponse> fetchCurrentWeather(String cacheKey,
+      Coordinates coordinates) {
     return weatherRateLimiter.executeWithRateLimit(() ->
       weatherCircuitBreaker.execute(() -> {
       Promise<CurrentWeatherResponse> promise = Promise.promise();
@@ -309,7 +869,7 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
                      CurrentWeatherResponse response = parseWeatherResponse(ar.result());
                      
                      // Cache the response
-                     weatherCache.put(cacheKey, response);
+                     cacheWeather(cacheKey, coordinates, response);
                      logger.debug("Cached weather data: {}", cacheKey);
                      
                      promise.complete(response);
@@ -332,6 +892,135 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
     }));
   }
 
+  /**
+   * Gets current weather for a city in a single call by querying the weather API by name.
+   * The coordinates in the response backfill the geocoding cache, and the response itself is
+   * cached under its coordinate key so later lookups take the regular cached path. Client errors
+   * such as an unknown name (404) or a bad key (401) are answers from a healthy upstream, so they
+   * are rejected after the circuit breaker rather than counted against it; only a 404 means the
+   * city was not found, and no client error counts as a successful call in the rate limiter.
+   */
+  Future<WeatherData> getCurrentWeatherByCityName(String cityName) {
+    logger.debug("Cold lookup of weather by city name: {}", cityName);
+    return weatherRateLimiter.executeWithRateLimit(() ->
+      weatherCircuitBreaker.execute(() -> {
+      Promise<JsonObject> promise = Promise.promise();
+
+      MultiMap queryParams = buildWeatherByCityNameQueryParams(cityName);
+      OpenWeatherConfig config = OpenWeatherConfig.forCurrentWeather();
+
+      httpClient
+          .sendGetRequest(config.getHost(), config.getPath(), queryParams, config.getPort())
+          .onComplete(ar -> {
+                 if (ar.succeeded() && upstreamStatus(ar.result()) >= 500) {
+                   promise.fail(new RuntimeException("Unable to retrieve weather data for city '"
+                       + cityName + "': " + ar.result().getValue("message")));
+                 } else if (ar.succeeded()) {
+                   promise.complete(ar.result());
+                 } else {
+              logger.error("Failed to fetch current weather data for city: {}", cityName, ar.cause());
+              String errorMessage = "Unable to retrieve weather data for city '" + cityName + "': " +
+                  ar.cause().getMessage();
+              promise.fail(new RuntimeException(errorMessage, ar.cause()));
+            }
+          });
+
+      return promise.future();
+    }).compose(body -> {
+      int status = upstreamStatus(body);
+      if (status >= 400 && status != 404) {
+        return Future.failedFuture(new RuntimeException("Unable to retrieve weather data for city '"
+            + cityName + "': " + body.getValue("message")));
+      }
+      return Future.succeededFuture(body);
+    })).compose(body -> {
+      if (upstreamStatus(body) == 404) {
+        // Unknown names come back as {"cod":"404","message":"city not found"}
+        return Future.failedFuture("City not found: " + cityName);
+      }
+      try {
+        CurrentWeatherResponse response = parseWeatherResponse(body);
+        Coordinates coordinates = response.getCoord();
+
+        GeocodingResponse geocodingResponse = new GeocodingResponse();
+        geocodingResponse.setName(response.getCityName());
+        geocodingResponse.setLatitude(coordinates.getLatitude());
+        geocodingResponse.setLongitude(coordinates.getLongitude());
+        JsonObject sys = body.getJsonObject("sys");
+        if (sys != null) {
+          geocodingResponse.setCountry(sys.getString("country"));
+        }
+        geocodingCache.put(geocodingCacheKey(cityName),
+            new GeocodingResponse[] {geocodingResponse});
+
+        cacheWeather(weatherCacheKey(coordinates), coordinates, response);
+        logger.debug("Backfilled geocoding and weather caches for city: {}", cityName);
+
+        return Future.succeededFuture(mapToWeatherData(cityName, response, coordinates));
+      } catch (Exception e) {
+        logger.error("Failed to parse current weather response for city: {}", cityName, e);
+        return Future.failedFuture(new RuntimeException("Failed to parse weather data for city '" +
+            cityName + "': " + e.getMessage(), e));
+      }
+    });
+  }
+
+  /**
+   * Reads the status an OpenWeather response body reports in its {@code cod} field, which is a
+   * number on success and a string on errors.
+   *
+   * @return the status, or 0 if the body has none
+   */
+  private static int upstreamStatus(JsonObject body) {
+    Object code = body.getValue("cod");
+    try {
+      return code != null ? Integer.parseInt(code.toString()) : 0;
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Gets current weather for a batch of OpenWeather city IDs using the group endpoint.
+   * The whole batch costs a single rate limiter unit.
+   */
+  private Future<Map<Long, CurrentWeatherResponse>> getCurrentWeatherGroup(List<Long> cityIds) {
+    return weatherRateLimiter.executeWithRateLimit(() ->
+      weatherCircuitBreaker.execute(() -> {
+      Promise<Map<Long, CurrentWeatherResponse>> promise = Promise.promise();
+
+      MultiMap queryParams = buildGroupWeatherQueryParams(cityIds);
+      OpenWeatherConfig config = OpenWeatherConfig.forGroupWeather();
+
+      httpClient
+          .sendGetRequest(config.getHost(), config.getPath(), queryParams, config.getPort())
+          .onComplete(ar -> {
+                 if (ar.succeeded()) {
+                   try {
+                     Map<Long, CurrentWeatherResponse> responses = new HashMap<>();
+                     JsonArray list = ar.result().getJsonArray("list", new JsonArray());
+                     for (int i = 0; i < list.size(); i++) {
+                       CurrentWeatherResponse response = parseWeatherResponse(list.getJsonObject(i));
+                       responses.put(response.getCityId(), response);
+                     }
+                     logger.debug("Fetched weather for {}/{} cities via group call",
+                         responses.size(), cityIds.size());
+                     promise.complete(responses);
+                   } catch (Exception e) {
+                     logger.error("Failed to parse group weather response for city IDs: {}", cityIds, e);
+                     promise.fail(new RuntimeException("Failed to parse group weather data: " + e.getMessage(), e));
+                   }
+                 } else {
+              logger.error("Failed to fetch group weather data for city IDs: {}", cityIds, ar.cause());
+              String errorMessage = "Unable to retrieve group weather data: " + ar.cause().getMessage();
+              promise.fail(new RuntimeException(errorMessage, ar.cause()));
+            }
+          });
+
+      return promise.future();
+    }));
+  }
+
   /**
    * Builds query parameters for geocoding API.
    */
@@ -355,6 +1044,98 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
     return queryParams;
   }
 
+  /**
+   * Builds query parameters for weather API lookups by city name.
+   */
+  private MultiMap buildWeatherByCityNameQueryParams(String cityName) {
+    MultiMap queryParams = MultiMap.caseInsensitiveMultiMap();
+    queryParams.add("q", cityName.trim());
+    queryParams.add("appid", OpenWeatherConfig.forCurrentWeather().getApiKey());
+    queryParams.add("units", "metric");
+    return queryParams;
+  }
+
+  /**
+   * Caches a weather response, indexes its location for nearby lookups and remembers the
+   * OpenWeather city ID so later refreshes can be batched.
+   */
+  private void cacheWeather(String cacheKey, Coordinates coordinates, CurrentWeatherResponse response) {
+    weatherCache.put(cacheKey, response);
+    weatherSpatialIndex.add(cacheKey, coordinates.getLatitude(), coordinates.getLongitude());
+    if (response.getCityId() > 0) {
+      weatherCityIdCache.put(cacheKey, response.getCityId());
+    }
+  }
+
+  /** @return state of the weather API circuit breaker */
+  CircuitBreaker.State getWeatherCircuitState() {
+    return weatherCircuitBreaker.getState();
+  }
+
+  /** @return weather API calls counted against today's rate limit */
+  int getWeatherRateLimitUsage() {
+    return weatherRateLimiter.getCurrentUsage();
+  }
+
+  /**
+   * Caches a city's coordinates and current weather as if both had been fetched, so benchmarks can
+   * run the lookup flow without reaching OpenWeather.
+   */
+  void primeCity(String cityName, GeocodingResponse geocoding, CurrentWeatherResponse weather) {
+    geocodingCache.put(geocodingCacheKey(cityName), new GeocodingResponse[] {geocoding});
+    Coordinates coordinates = new Coordinates(geocoding.getLatitude(), geocoding.getLongitude());
+    cacheWeather(weatherCacheKey(coordinates), coordinates, weather);
+  }
+
+  /** Serves lookups from the given gazetteer, as if it had been loaded from the configured file. */
+  void useGazetteer(GazetteerIndex index) {
+    gazetteer = index;
+    rebuildAutocompleteIndex();
+  }
+
+  /**
+   * Caches a city's coordinates and OpenWeather city ID but no weather, so its next lookup is a
+   * cache miss that goes through the weather batcher.
+   */
+  void primeCityId(String cityName, GeocodingResponse geocoding, long cityId) {
+    geocodingCache.put(geocodingCacheKey(cityName), new GeocodingResponse[] {geocoding});
+    Coordinates coordinates = new Coordinates(geocoding.getLatitude(), geocoding.getLongitude());
+    weatherCityIdCache.put(weatherCacheKey(coordinates), cityId);
+  }
+
+  /**
+   * Builds the air pollution cache key for a coordinate pair.
+   */
+  private static String airPollutionCacheKey(double latitude, double longitude) {
+    return String.format(Locale.ROOT, "air_pollution:%.6f:%.6f", latitude, longitude);
+  }
+
+  /**
+   * Builds the geocoding cache key for a city name.
+   */
+  private static String geocodingCacheKey(String cityName) {
+    return "geocoding:" + cityName.toLowerCase().trim();
+  }
+
+  /**
+   * Builds the weather cache key for a coordinate pair.
+   */
+  private static String weatherCacheKey(Coordinates coordinates) {
+    return String.format(Locale.ROOT, "weather:%.6f:%.6f",
+        coordinates.getLatitude(), coordinates.getLongitude());
+  }
+
+  /**
+   * Builds query parameters for the group weather API.
+   */
+  private MultiMap buildGroupWeatherQueryParams(List<Long> cityIds) {
+    MultiMap queryParams = MultiMap.caseInsensitiveMultiMap();
+    queryParams.add("id", cityIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    queryParams.add("appid", OpenWeatherConfig.forGroupWeather().getApiKey());
+    queryParams.add("units", "metric");
+    return queryParams;
+  }
+
   /**
    * Parses geocoding API response.
    */
@@ -381,6 +1162,7 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
    */
   private CurrentWeatherResponse parseWeatherResponse(JsonObject response) {
     CurrentWeatherResponse weatherResponse = new CurrentWeatherResponse();
+    weatherResponse.setCityId(response.getLong("id", 0L));
     weatherResponse.setCityName(response.getString("name"));
     
     // Parse main weather data
@@ -481,6 +1263,41 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
     return airPollutionResponse;
   }
 
+  /**
+   * Maps a single air pollution lookup to a bulk response entry.
+   */
+  private BulkAirPollutionResponse.LocationResult toLocationResult(
+      Coordinates location, AsyncResult<AirPollutionResponse> result) {
+    if (result.failed()) {
+      return new BulkAirPollutionResponse.LocationResult(
+          location.getLatitude(), location.getLongitude(), null, result.cause().getMessage());
+    }
+
+    List<AirPollutionResponse.AirPollutionData> list = result.result().getList();
+    if (list == null || list.isEmpty()) {
+      return new BulkAirPollutionResponse.LocationResult(
+          location.getLatitude(), location.getLongitude(), null, "No air pollution data available");
+    }
+    return new BulkAirPollutionResponse.LocationResult(
+        location.getLatitude(), location.getLongitude(), list.get(0), null);
+  }
+
+  /**
+   * Maps a fallback API lookup to an air quality estimate.
+   */
+  private AirQualityEstimate toUpstreamEstimate(
+      Coordinates location, AsyncResult<AirPollutionResponse> result) {
+    BulkAirPollutionResponse.LocationResult locationResult = toLocationResult(location, result);
+    AirPollutionResponse.AirPollutionData data = locationResult.getData();
+    if (data == null) {
+      return new AirQualityEstimate(location.getLatitude(), location.getLongitude(),
+          AirQualityEstimate.Source.FAILED, 0, 0.0, 0, null, locationResult.getError());
+    }
+    return new AirQualityEstimate(location.getLatitude(), location.getLongitude(),
+        AirQualityEstimate.Source.UPSTREAM, 0, 1.0,
+        data.getMain() != null ? data.getMain().getAqi() : 0, data.getComponents(), null);
+  }
+
   /**
    * Normalizes city name to proper case format.
    * Options: Title Case, Sentence case, or Custom rules
@@ -520,6 +1337,12 @@ public class OpenWeatherService implements WeatherService, AutoCloseable {
         coordinates
     );
   }
+
+  @Override
+  public int getPendingUpstreamCalls() {
+    return httpClient.getPendingRequests();
+  }
+
   /**
    * Closes the HttpClientUtil to free resources.
    * This method should be called when the OpenWeatherService is no longer needed.
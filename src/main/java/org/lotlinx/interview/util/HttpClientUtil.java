@@ -8,6 +8,7 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.WebClient;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,6 +19,7 @@ public class HttpClientUtil implements AutoCloseable {
 
   private final Vertx vertx;
   private final WebClient webClient;
+  private final AtomicInteger pendingRequests = new AtomicInteger();
 
   public HttpClientUtil(Vertx vertx) {
     this.vertx = vertx;
@@ -68,8 +70,10 @@ public class HttpClientUtil implements AutoCloseable {
       }
     }
 
+    pendingRequests.incrementAndGet();
     request.send(
         ar -> {
+          pendingRequests.decrementAndGet();
           if (ar.succeeded()) {
             try {
               String responseBody = ar.result().bodyAsString();
@@ -114,8 +118,10 @@ public class HttpClientUtil implements AutoCloseable {
       }
     }
 
+    pendingRequests.incrementAndGet();
     request.send(
         ar -> {
+          pendingRequests.decrementAndGet();
           if (ar.succeeded()) {
             try {
               String responseBody = ar.result().bodyAsString();
@@ -134,6 +140,11 @@ public class HttpClientUtil implements AutoCloseable {
     return promise.future();
   }
 
+  /** Number of requests sent and not yet answered. */
+  public int getPendingRequests() {
+    return pendingRequests.get();
+  }
+
   /**
    * Closes the WebClient to free resources.
    * This method should be called when the HttpClientUtil is no longer needed.
@@ -0,0 +1,39 @@
+package org.lotlinx.interview.util;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Streaming encoder for response bodies, written straight into a {@link Buffer}.
+ *
+ * <p>Calls follow the JSON data model: objects hold named members, arrays hold values. Each
+ * implementation maps that model onto one wire format.
+ */
+public interface ResponseWriter {
+
+  /** Media type to send as the response content type. */
+  String contentType();
+
+  ResponseWriter beginObject();
+
+  ResponseWriter endObject();
+
+  ResponseWriter beginArray();
+
+  ResponseWriter endArray();
+
+  /** Writes a member name; the next call must write its value. */
+  ResponseWriter name(String name);
+
+  ResponseWriter value(String value);
+
+  ResponseWriter value(long value);
+
+  ResponseWriter value(double value);
+
+  ResponseWriter value(boolean value);
+
+  ResponseWriter nullValue();
+
+  /** Returns the encoded document. The writer must not be used afterwards. */
+  Buffer toBuffer();
+}
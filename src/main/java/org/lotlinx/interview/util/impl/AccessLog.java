@@ -0,0 +1,190 @@
+package org.lotlinx.interview.util.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sampled access log written off the event loop.
+ *
+ * <p>Request threads only decide whether to keep an entry and offer it to a bounded ring buffer;
+ * formatting and writing happen on a single daemon thread. When the buffer is full entries are
+ * dropped and counted rather than blocking the caller. Server errors and slow requests are always
+ * kept; other requests are sampled by status class. Lines are JSON objects written to the
+ * {@code access} logger.
+ */
+public final class AccessLog implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccessLog.class);
+  private static final Logger accessLogger = LoggerFactory.getLogger("access");
+  private static final int MAX_BATCH = 256;
+
+  private final ArrayBlockingQueue<Entry> buffer;
+  private final double sampleRate;
+  private final double clientErrorSampleRate;
+  private final long slowRequestNanos;
+  private final AtomicLong dropped = new AtomicLong();
+  private final Consumer<String> sink;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  /** One request, captured on the request thread and formatted on the writer thread. */
+  private static final class Entry {
+    final long timestamp;
+    final String method;
+    final String path;
+    final int status;
+    final long latencyNanos;
+    final long bytes;
+    final String cacheStatus;
+
+    Entry(String method, String path, int status, long latencyNanos, long bytes,
+        String cacheStatus) {
+      this.timestamp = System.currentTimeMillis();
+      this.method = method;
+      this.path = path;
+      this.status = status;
+      this.latencyNanos = latencyNanos;
+      this.bytes = bytes;
+      this.cacheStatus = cacheStatus;
+    }
+  }
+
+  /**
+   * Creates an access log and starts its writer thread.
+   *
+   * @param capacity number of entries the ring buffer holds before new ones are dropped
+   * @param sampleRate fraction of successful and redirected requests to keep, 0 to 1
+   * @param clientErrorSampleRate fraction of 4xx responses to keep, 0 to 1
+   * @param slowRequestMs requests at least this slow are always kept
+   */
+  public AccessLog(int capacity, double sampleRate, double clientErrorSampleRate,
+      long slowRequestMs) {
+    this(capacity, sampleRate, clientErrorSampleRate, slowRequestMs, accessLogger::info);
+  }
+
+  /** Creates an access log that writes its lines to the given sink instead of the logger. */
+  AccessLog(int capacity, double sampleRate, double clientErrorSampleRate, long slowRequestMs,
+      Consumer<String> sink) {
+    this.sink = sink;
+    this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.sampleRate = sampleRate;
+    this.clientErrorSampleRate = clientErrorSampleRate;
+    this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+    this.writer = new Thread(this::writeLoop, "access-log-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Records a completed request if it is sampled. Never blocks.
+   *
+   * @param method HTTP method
+   * @param path request path, without the query string
+   * @param status response status code
+   * @param latencyNanos time from routing to the end of the response
+   * @param bytes response body bytes written
+   * @param cacheStatus value of the X-Cache header, or null
+   */
+  public void record(String method, String path, int status, long latencyNanos, long bytes,
+      String cacheStatus) {
+    if (!isSampled(status, latencyNanos)) {
+      return;
+    }
+    if (!buffer.offer(new Entry(method, path, status, latencyNanos, bytes, cacheStatus))) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  /** Number of sampled entries dropped because the buffer was full. */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  private boolean isSampled(int status, long latencyNanos) {
+    if (status >= 500 || latencyNanos >= slowRequestNanos) {
+      return true;
+    }
+    double rate = status >= 400 ? clientErrorSampleRate : sampleRate;
+    return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  private void writeLoop() {
+    List<Entry> batch = new ArrayList<>(MAX_BATCH);
+    StringBuilder line = new StringBuilder(192);
+    long reportedDrops = 0;
+    while (running || !buffer.isEmpty()) {
+      try {
+        Entry first = buffer.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        buffer.drainTo(batch, MAX_BATCH - 1);
+        for (Entry entry : batch) {
+          line.setLength(0);
+          sink.accept(format(entry, line));
+        }
+        batch.clear();
+
+        long drops = dropped.get();
+        if (drops != reportedDrops) {
+          logger.warn("Access log buffer full; {} entries dropped so far", drops);
+          reportedDrops = drops;
+        }
+      } catch (InterruptedException e) {
+        // close() interrupts a poll that is waiting; the loop condition decides whether to stop
+      } catch (RuntimeException e) {
+        logger.error("Failed to write access log entries", e);
+        batch.clear();
+      }
+    }
+  }
+
+  private static String format(Entry entry, StringBuilder line) {
+    line.append("{\"ts\":").append(entry.timestamp)
+        .append(",\"method\":\"").append(entry.method)
+        .append("\",\"path\":\"");
+    appendEscaped(line, entry.path);
+    line.append("\",\"status\":").append(entry.status)
+        .append(",\"latencyMs\":").append(entry.latencyNanos / 1_000_000.0)
+        .append(",\"bytes\":").append(entry.bytes);
+    if (entry.cacheStatus != null) {
+      line.append(",\"cache\":\"");
+      appendEscaped(line, entry.cacheStatus);
+      line.append('"');
+    }
+    return line.append('}').toString();
+  }
+
+  private static void appendEscaped(StringBuilder line, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        line.append('\\').append(c);
+      } else if (c < 0x20) {
+        line.append(String.format("\\u%04x", (int) c));
+      } else {
+        line.append(c);
+      }
+    }
+  }
+
+  /** Stops the writer thread once the entries already buffered have been written. */
+  @Override
+  public void close() {
+    running = false;
+    writer.interrupt();
+    try {
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package org.lotlinx.interview.util.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether to accept new requests from the current load.
+ *
+ * <p>Load is the highest of three ratios: requests in flight to {@code maxInFlight}, pending
+ * upstream calls to {@code maxPendingUpstream}, and event-loop lag to {@code maxLagMs}. Expensive
+ * requests, such as multi-city and bulk lookups, are refused once load reaches {@code
+ * expensiveShedRatio}. Cheap reads are refused only once it reaches 1, so they keep being served
+ * while the expensive work is shed. The check is made before any work is done, so refusing a
+ * request costs almost nothing.
+ */
+public final class AdmissionController {
+
+  /** How much work a request is expected to cause. */
+  public enum Cost {
+    LOW, // Single lookups, usually served from cache
+    HIGH // Multi-city, bulk and batch lookups
+  }
+
+  private final IntSupplier pendingUpstream;
+  private final LongSupplier eventLoopLagMs;
+  private final int maxInFlight;
+  private final int maxPendingUpstream;
+  private final long maxLagMs;
+  private final double expensiveShedRatio;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder shedLow = new LongAdder();
+  private final LongAdder shedHigh = new LongAdder();
+
+  /**
+   * @param pendingUpstream reports upstream calls waiting for an answer
+   * @param eventLoopLagMs reports the current lag of the event loop serving the requests
+   * @param maxInFlight requests in flight at full load
+   * @param maxPendingUpstream pending upstream calls at full load
+   * @param maxLagMs event-loop lag at full load
+   * @param expensiveShedRatio load, from 0 to 1, at which expensive requests are refused
+   */
+  public AdmissionController(IntSupplier pendingUpstream, LongSupplier eventLoopLagMs,
+      int maxInFlight, int maxPendingUpstream, long maxLagMs, double expensiveShedRatio) {
+    this.pendingUpstream = pendingUpstream;
+    this.eventLoopLagMs = eventLoopLagMs;
+    this.maxInFlight = maxInFlight;
+    this.maxPendingUpstream = maxPendingUpstream;
+    this.maxLagMs = maxLagMs;
+    this.expensiveShedRatio = expensiveShedRatio;
+  }
+
+  /**
+   * Admits a request if load allows. Every admitted request must be {@link #release() released}.
+   *
+   * @param cost expected cost of the request
+   * @return true if the request was admitted
+   */
+  public boolean tryAdmit(Cost cost) {
+    double threshold = cost == Cost.HIGH ? expensiveShedRatio : 1.0;
+    if (load() >= threshold) {
+      (cost == Cost.HIGH ? shedHigh : shedLow).increment();
+      return false;
+    }
+    inFlight.incrementAndGet();
+    return true;
+  }
+
+  /** Marks an admitted request as finished. */
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /** Current load, where 1 means at least one limit has been reached. */
+  public double load() {
+    double inFlightRatio = (double) inFlight.get() / maxInFlight;
+    double upstreamRatio = (double) pendingUpstream.getAsInt() / maxPendingUpstream;
+    double lagRatio = (double) eventLoopLagMs.getAsLong() / maxLagMs;
+    return Math.max(inFlightRatio, Math.max(upstreamRatio, lagRatio));
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /** Number of requests refused, by cost. */
+  public long getShedCount(Cost cost) {
+    return (cost == Cost.HIGH ? shedHigh : shedLow).sum();
+  }
+}
@@ -0,0 +1,97 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runs an asynchronous task for each key with at most a fixed number of tasks in flight.
+ *
+ * <p>Tasks that complete synchronously (for example cache hits) are drained iteratively rather
+ * than recursively, so long runs of cached keys do not grow the stack. Instances are confined to
+ * the context that started them: a task completing on another event loop, such as one finished by
+ * a shared batcher or client, hands its result back to that context before any state is touched.
+ * Instances started outside a Vert.x context must be given tasks that all complete on one thread.
+ */
+public final class BoundedFanOut<K, V> {
+
+  private final Iterator<K> pending;
+  private final int maxConcurrency;
+  private final Function<K, Future<V>> task;
+  private final Map<K, AsyncResult<V>> results;
+  private final int total;
+  private final Promise<Map<K, AsyncResult<V>>> promise = Promise.promise();
+  private final Context context = Vertx.currentContext();
+  private int inFlight;
+  private boolean draining;
+
+  private BoundedFanOut(Collection<K> keys, int maxConcurrency, Function<K, Future<V>> task) {
+    this.pending = keys.iterator();
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    this.task = task;
+    this.results = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+    this.total = keys.size();
+  }
+
+  /**
+   * Runs {@code task} for every key with bounded concurrency.
+   *
+   * @param keys distinct keys to process
+   * @param maxConcurrency maximum number of tasks in flight at once
+   * @param task task to run per key
+   * @return Future completed with every key's result, in key iteration order, once all finish
+   */
+  public static <K, V> Future<Map<K, AsyncResult<V>>> run(
+      Collection<K> keys, int maxConcurrency, Function<K, Future<V>> task) {
+    BoundedFanOut<K, V> fanOut = new BoundedFanOut<>(keys, maxConcurrency, task);
+    if (keys.isEmpty()) {
+      fanOut.promise.complete(fanOut.results);
+    } else {
+      fanOut.drain();
+    }
+    return fanOut.promise.future();
+  }
+
+  private void drain() {
+    if (draining) {
+      return;
+    }
+    draining = true;
+    try {
+      while (inFlight < maxConcurrency && pending.hasNext()) {
+        K key = pending.next();
+        inFlight++;
+        Future<V> future;
+        try {
+          future = task.apply(key);
+        } catch (Exception e) {
+          future = Future.failedFuture(e);
+        }
+        future.onComplete(ar -> complete(key, ar));
+      }
+    } finally {
+      draining = false;
+    }
+  }
+
+  private void complete(K key, AsyncResult<V> result) {
+    if (context != null && context != Vertx.currentContext()) {
+      context.runOnContext(v -> complete(key, result));
+      return;
+    }
+    inFlight--;
+    results.put(key, result);
+    if (results.size() == total) {
+      promise.complete(results);
+    } else {
+      drain();
+    }
+  }
+}
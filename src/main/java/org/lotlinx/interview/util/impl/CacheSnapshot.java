@@ -0,0 +1,184 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache contents saved to a file, so the next process can start with warm caches.
+ *
+ * <p>Each named cache is stored as its unexpired entries with their original timestamps, so a
+ * restored entry expires when it would have in the process that saved it. Values are written as
+ * JSON through Jackson and read back into their model classes. Entries of a cache with a {@link
+ * SpatialIndex} also carry their indexed coordinates, so the index can be rebuilt without parsing
+ * them back out of the keys. Files are written to a temporary
+ * sibling first and then moved into place, so a crash while saving never leaves a half-written
+ * snapshot behind.
+ */
+public final class CacheSnapshot {
+
+  private static final Logger logger = LoggerFactory.getLogger(CacheSnapshot.class);
+  private static final int VERSION = 1;
+
+  private final JsonObject caches;
+
+  /** Creates an empty snapshot to add caches to. */
+  public CacheSnapshot() {
+    this(new JsonObject());
+  }
+
+  private CacheSnapshot(JsonObject caches) {
+    this.caches = caches;
+  }
+
+  /**
+   * Adds the unexpired entries of a cache. Values are kept by reference until the snapshot is
+   * saved.
+   *
+   * @param name name the entries are saved under
+   * @param cache cache to copy
+   * @return this snapshot
+   */
+  public <T> CacheSnapshot add(String name, InMemoryCache<T> cache) {
+    return add(name, cache, null);
+  }
+
+  /**
+   * Adds the unexpired entries of a cache together with the coordinates each key is indexed at.
+   *
+   * @param name name the entries are saved under
+   * @param cache cache to copy
+   * @param index spatial index over the cache's keys, or null if it has none
+   * @return this snapshot
+   */
+  public <T> CacheSnapshot add(String name, InMemoryCache<T> cache, SpatialIndex index) {
+    Map<String, double[]> locations = new HashMap<>();
+    if (index != null) {
+      index.forEach(locations::put);
+    }
+    JsonArray entries = new JsonArray();
+    cache.forEachEntry((key, entry) -> {
+      JsonObject record = new JsonObject()
+          .put("key", key)
+          .put("storedAt", entry.getTimestamp())
+          .put("expiresAt", entry.getExpiresAt())
+          .put("value", entry.getValue());
+      double[] location = locations.get(key);
+      if (location != null) {
+        record.put("latitude", location[0]).put("longitude", location[1]);
+      }
+      entries.add(record);
+    });
+    caches.put(name, entries);
+    return this;
+  }
+
+  /**
+   * Restores saved entries into a cache. Entries that have expired since, or whose value no longer
+   * parses, are skipped.
+   *
+   * @param name name the entries were saved under
+   * @param cache cache to fill
+   * @param type class of the cached values
+   * @param onRestored called with each restored key and value, e.g. to rebuild an index
+   * @return number of entries restored
+   */
+  public <T> int restore(String name, InMemoryCache<T> cache, Class<T> type,
+      BiConsumer<String, T> onRestored) {
+    return restore(name, cache, type, null, onRestored);
+  }
+
+  /**
+   * Restores saved entries into a cache and indexes each one that was saved with coordinates.
+   *
+   * @param name name the entries were saved under
+   * @param cache cache to fill
+   * @param type class of the cached values
+   * @param index spatial index to add restored keys to, or null if the cache has none
+   * @param onRestored called with each restored key and value
+   * @return number of entries restored
+   */
+  public <T> int restore(String name, InMemoryCache<T> cache, Class<T> type, SpatialIndex index,
+      BiConsumer<String, T> onRestored) {
+    JsonArray entries = caches.getJsonArray(name, new JsonArray());
+    int restored = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      JsonObject entry = entries.getJsonObject(i);
+      String key = entry.getString("key");
+      T value;
+      try {
+        value = DatabindCodec.mapper().convertValue(entry.getValue("value"), type);
+      } catch (IllegalArgumentException e) {
+        logger.debug("Skipping unreadable {} snapshot entry {}", name, key, e);
+        continue;
+      }
+      if (cache.restore(key, value, entry.getLong("storedAt"), entry.getLong("expiresAt")) != null) {
+        Double latitude = entry.getDouble("latitude");
+        Double longitude = entry.getDouble("longitude");
+        if (index != null && latitude != null && longitude != null) {
+          index.add(key, latitude, longitude);
+        }
+        onRestored.accept(key, value);
+        restored++;
+      }
+    }
+    return restored;
+  }
+
+  /**
+   * Encodes and writes the snapshot on a worker thread.
+   *
+   * @param vertx Vert.x instance providing the worker
+   * @param file file to write
+   * @return completes once the file is in place
+   */
+  public Future<Void> save(Vertx vertx, String file) {
+    JsonObject root = new JsonObject()
+        .put("version", VERSION)
+        .put("savedAt", System.currentTimeMillis())
+        .put("caches", caches);
+    return vertx.executeBlocking(() -> {
+      Path target = Paths.get(file).toAbsolutePath();
+      Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+      Files.write(temp, root.toBuffer().getBytes());
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      return null;
+    }, false);
+  }
+
+  /**
+   * Reads a snapshot on a worker thread.
+   *
+   * @param vertx Vert.x instance providing the worker
+   * @param file file to read
+   * @return the snapshot, empty if the file does not exist or has an unknown version
+   */
+  public static Future<CacheSnapshot> load(Vertx vertx, String file) {
+    return vertx.executeBlocking(() -> {
+      Path path = Paths.get(file);
+      if (!Files.exists(path)) {
+        return new CacheSnapshot();
+      }
+      JsonObject root = new JsonObject(Buffer.buffer(Files.readAllBytes(path)));
+      if (root.getInteger("version", 0) != VERSION) {
+        logger.warn("Ignoring cache snapshot {} with unknown version {}", file,
+            root.getValue("version"));
+        return new CacheSnapshot();
+      }
+      return new CacheSnapshot(root.getJsonObject("caches", new JsonObject()));
+    }, false);
+  }
+}
@@ -0,0 +1,191 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.buffer.Buffer;
+import org.lotlinx.interview.util.ResponseWriter;
+
+/**
+ * Streaming CBOR (RFC 8949) writer that encodes straight into a {@link Buffer}.
+ *
+ * <p>Objects and arrays are written with indefinite length, so nothing has to be counted or
+ * buffered ahead of time. Integers use the shortest head that fits, and doubles that survive a
+ * round trip through {@code float} are written in single precision. Not thread-safe; use one writer
+ * per response.
+ */
+public final class CborBufferWriter implements ResponseWriter {
+
+  public static final String CONTENT_TYPE = "application/cbor";
+
+  private static final int MAJOR_UNSIGNED = 0;
+  private static final int MAJOR_NEGATIVE = 1;
+  private static final int MAJOR_TEXT = 3;
+  private static final byte INDEFINITE_ARRAY = (byte) 0x9f;
+  private static final byte INDEFINITE_MAP = (byte) 0xbf;
+  private static final byte BREAK = (byte) 0xff;
+  private static final byte FALSE = (byte) 0xf4;
+  private static final byte TRUE = (byte) 0xf5;
+  private static final byte NULL = (byte) 0xf6;
+  private static final byte FLOAT32 = (byte) 0xfa;
+  private static final byte FLOAT64 = (byte) 0xfb;
+
+  private final Buffer buffer;
+
+  public CborBufferWriter() {
+    this(256);
+  }
+
+  public CborBufferWriter(int initialSizeHint) {
+    this.buffer = Buffer.buffer(initialSizeHint);
+  }
+
+  @Override
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public CborBufferWriter beginObject() {
+    buffer.appendByte(INDEFINITE_MAP);
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter endObject() {
+    buffer.appendByte(BREAK);
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter beginArray() {
+    buffer.appendByte(INDEFINITE_ARRAY);
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter endArray() {
+    buffer.appendByte(BREAK);
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter name(String name) {
+    writeText(name);
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter value(String value) {
+    if (value == null) {
+      buffer.appendByte(NULL);
+    } else {
+      writeText(value);
+    }
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter value(long value) {
+    if (value >= 0) {
+      writeHead(MAJOR_UNSIGNED, value);
+    } else {
+      // Negative integers are encoded as -1 - n, which never overflows
+      writeHead(MAJOR_NEGATIVE, -1 - value);
+    }
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter value(double value) {
+    float narrowed = (float) value;
+    if (narrowed == value || Double.isNaN(value)) {
+      buffer.appendByte(FLOAT32).appendInt(Float.floatToIntBits(narrowed));
+    } else {
+      buffer.appendByte(FLOAT64).appendLong(Double.doubleToLongBits(value));
+    }
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter value(boolean value) {
+    buffer.appendByte(value ? TRUE : FALSE);
+    return this;
+  }
+
+  @Override
+  public CborBufferWriter nullValue() {
+    buffer.appendByte(NULL);
+    return this;
+  }
+
+  @Override
+  public Buffer toBuffer() {
+    return buffer;
+  }
+
+  /** Writes a major type with its argument, using the shortest encoding that fits. */
+  private void writeHead(int majorType, long argument) {
+    int major = majorType << 5;
+    if (argument < 0) {
+      // Unsigned 64-bit arguments above Long.MAX_VALUE
+      buffer.appendByte((byte) (major | 27)).appendLong(argument);
+    } else if (argument < 24) {
+      buffer.appendByte((byte) (major | argument));
+    } else if (argument <= 0xff) {
+      buffer.appendByte((byte) (major | 24)).appendByte((byte) argument);
+    } else if (argument <= 0xffff) {
+      buffer.appendByte((byte) (major | 25)).appendUnsignedShort((int) argument);
+    } else if (argument <= 0xffffffffL) {
+      buffer.appendByte((byte) (major | 26)).appendUnsignedInt(argument);
+    } else {
+      buffer.appendByte((byte) (major | 27)).appendLong(argument);
+    }
+  }
+
+  private void writeText(String value) {
+    writeHead(MAJOR_TEXT, utf8Length(value));
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer.appendByte((byte) c);
+      } else if (c < 0x800) {
+        buffer.appendByte((byte) (0xc0 | (c >> 6)));
+        buffer.appendByte((byte) (0x80 | (c & 0x3f)));
+      } else if (isSurrogatePair(value, i)) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer.appendByte((byte) (0xf0 | (codePoint >> 18)));
+        buffer.appendByte((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+        buffer.appendByte((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        buffer.appendByte((byte) (0x80 | (codePoint & 0x3f)));
+      } else {
+        // Unpaired surrogates become U+FFFD, as String.getBytes would do
+        char encoded = Character.isSurrogate(c) ? '\ufffd' : c;
+        buffer.appendByte((byte) (0xe0 | (encoded >> 12)));
+        buffer.appendByte((byte) (0x80 | ((encoded >> 6) & 0x3f)));
+        buffer.appendByte((byte) (0x80 | (encoded & 0x3f)));
+      }
+    }
+  }
+
+  private static int utf8Length(String value) {
+    int length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length += 1;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (isSurrogatePair(value, i)) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  private static boolean isSurrogatePair(String value, int index) {
+    return Character.isHighSurrogate(value.charAt(index))
+        && index + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(index + 1));
+  }
+}
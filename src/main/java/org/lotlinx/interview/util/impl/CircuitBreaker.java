@@ -10,10 +10,13 @@ import org.slf4j.LoggerFactory;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Circuit breaker implementation for handling external API calls.
  * Provides resilience patterns: CLOSED, OPEN, HALF_OPEN states.
+ * One breaker may be shared by several event loops, so state transitions are compare-and-set:
+ * a transition only applies if the breaker is still in the state it was decided from.
  */
 public class CircuitBreaker {
 
@@ -31,7 +34,7 @@ public class CircuitBreaker {
   private final long retryTimeoutMs;
   private final Vertx vertx;
 
-  private volatile State state = State.CLOSED;
+  private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
   private final AtomicInteger failureCount = new AtomicInteger(0);
   private final AtomicLong lastFailureTime = new AtomicLong(0);
   private final AtomicInteger halfOpenSuccessCount = new AtomicInteger(0);
@@ -50,11 +53,12 @@ public class CircuitBreaker {
   public <T> Future<T> execute(CircuitBreakerOperation<T> operation) {
     Promise<T> promise = Promise.promise();
 
-    if (state == State.OPEN) {
+    if (state.get() == State.OPEN) {
       if (shouldAttemptReset()) {
-        state = State.HALF_OPEN;
-        halfOpenSuccessCount.set(0);
-        logger.info("Circuit breaker [{}] transitioning to HALF_OPEN", name);
+        if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+          halfOpenSuccessCount.set(0);
+          logger.info("Circuit breaker [{}] transitioning to HALF_OPEN", name);
+        }
       } else {
         logger.warn("Circuit breaker [{}] is OPEN, rejecting request", name);
         promise.fail(new CircuitBreakerOpenException("Circuit breaker is open"));
@@ -62,8 +66,7 @@ public class CircuitBreaker {
       }
     }
 
-    if (state == State.HALF_OPEN && halfOpenSuccessCount.get() >= 3) {
-      state = State.CLOSED;
+    if (halfOpenSuccessCount.get() >= 3 && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
       failureCount.set(0);
       logger.info("Circuit breaker [{}] transitioning to CLOSED after successful half-open tests", name);
     }
@@ -92,7 +95,7 @@ public class CircuitBreaker {
   }
 
   private void handleSuccess() {
-    if (state == State.HALF_OPEN) {
+    if (state.get() == State.HALF_OPEN) {
       halfOpenSuccessCount.incrementAndGet();
       logger.debug("Circuit breaker [{}] half-open success count: {}", name, halfOpenSuccessCount.get());
     } else {
@@ -106,8 +109,7 @@ public class CircuitBreaker {
 
     logger.warn("Circuit breaker [{}] failure count: {}/{}", name, currentFailures, failureThreshold);
 
-    if (currentFailures >= failureThreshold) {
-      state = State.OPEN;
+    if (currentFailures >= failureThreshold && state.getAndSet(State.OPEN) != State.OPEN) {
       logger.error("Circuit breaker [{}] transitioning to OPEN after {} failures", name, currentFailures);
     }
 
@@ -119,7 +121,7 @@ public class CircuitBreaker {
   }
 
   public State getState() {
-    return state;
+    return state.get();
   }
 
   public int getFailureCount() {
@@ -0,0 +1,259 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures how long tasks hold the event loops, and which code is running when they do.
+ *
+ * <p>Each event loop that serves requests gets a {@link Probe}: a periodic timer that records how
+ * late it fires into a histogram. A watchdog thread checks every probe; when one is overdue by
+ * more than the blocked threshold, its event loop is treated as blocked and the watchdog samples
+ * that thread's stack on every check until the timer fires again. Samples are counted by their
+ * top frames, so the hottest entries point at the code that steals event-loop time. The most
+ * recent blocked episodes are kept with their full first sample.
+ *
+ * <p>One monitor is shared by all verticle instances of a Vert.x instance; see {@link #get}.
+ */
+public final class EventLoopMonitor implements Shareable {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventLoopMonitor.class);
+  private static final String SHARED_MAP = "event-loop-monitor";
+  private static final int HOT_PATH_FRAMES = 6;
+  private static final int MAX_HOT_PATHS = 1000;
+  private static final int REPORTED_HOT_PATHS = 10;
+
+  private final long probeIntervalMs;
+  private final long blockedThresholdMs;
+  private final int stackDepth;
+  private final int recentCapacity;
+  private final Set<Probe> probes = new CopyOnWriteArraySet<>();
+  private final Map<String, LongAdder> hotPaths = new ConcurrentHashMap<>();
+  private final Deque<JsonObject> recentBlocked = new ArrayDeque<>();
+  private final LongAdder blockedEvents = new LongAdder();
+  private final LongAdder stackSamples = new LongAdder();
+  private Thread watchdog;
+
+  /**
+   * @param probeIntervalMs period of the lag timers, and of the watchdog's checks
+   * @param blockedThresholdMs lag beyond which an event loop counts as blocked
+   * @param stackDepth frames kept for each recent blocked episode
+   * @param recentCapacity number of recent blocked episodes kept
+   */
+  public EventLoopMonitor(long probeIntervalMs, long blockedThresholdMs, int stackDepth,
+      int recentCapacity) {
+    this.probeIntervalMs = probeIntervalMs;
+    this.blockedThresholdMs = blockedThresholdMs;
+    this.stackDepth = stackDepth;
+    this.recentCapacity = recentCapacity;
+  }
+
+  /**
+   * Gets the monitor shared by every verticle of a Vert.x instance, creating it on first use.
+   *
+   * @param vertx Vert.x instance whose event loops are monitored
+   * @param factory creates the monitor if there is none yet
+   * @return the shared monitor
+   */
+  public static synchronized EventLoopMonitor get(Vertx vertx,
+      Supplier<EventLoopMonitor> factory) {
+    LocalMap<String, EventLoopMonitor> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+    EventLoopMonitor monitor = map.get("monitor");
+    if (monitor == null) {
+      monitor = factory.get();
+      map.put("monitor", monitor);
+    }
+    return monitor;
+  }
+
+  /**
+   * Starts probing the event loop of the calling context. Must be called on an event loop.
+   *
+   * @return the probe; close it when its verticle stops
+   */
+  public Probe probe(Vertx vertx) {
+    Probe probe = new Probe(vertx);
+    probes.add(probe);
+    startWatchdog();
+    return probe;
+  }
+
+  private synchronized void startWatchdog() {
+    if (watchdog == null) {
+      watchdog = new Thread(this::watch, "event-loop-watchdog");
+      watchdog.setDaemon(true);
+      watchdog.start();
+    }
+  }
+
+  /** Stops once the last probe has closed; the next probe starts a new watchdog. */
+  private void watch() {
+    long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMs + blockedThresholdMs);
+    while (true) {
+      try {
+        Thread.sleep(probeIntervalMs);
+      } catch (InterruptedException e) {
+        return;
+      }
+      synchronized (this) {
+        if (probes.isEmpty()) {
+          watchdog = null;
+          return;
+        }
+      }
+      long now = System.nanoTime();
+      for (Probe probe : probes) {
+        Thread thread = probe.thread;
+        long lastTick = probe.lastTickNanos;
+        if (thread != null && now - lastTick > thresholdNanos) {
+          sample(probe, thread, lastTick, TimeUnit.NANOSECONDS.toMillis(now - lastTick));
+        }
+      }
+    }
+  }
+
+  private void sample(Probe probe, Thread thread, long lastTick, long blockedMs) {
+    StackTraceElement[] stack = thread.getStackTrace();
+    stackSamples.increment();
+
+    String key = hotPathKey(stack);
+    LongAdder count = hotPaths.get(key);
+    if (count == null && hotPaths.size() < MAX_HOT_PATHS) {
+      count = hotPaths.computeIfAbsent(key, k -> new LongAdder());
+    }
+    if (count != null) {
+      count.increment();
+    }
+
+    // The first sample of each episode is kept in full
+    if (probe.sampledTick != lastTick) {
+      probe.sampledTick = lastTick;
+      blockedEvents.increment();
+      JsonArray frames = new JsonArray();
+      for (int i = 0; i < Math.min(stackDepth, stack.length); i++) {
+        frames.add(stack[i].toString());
+      }
+      JsonObject event = new JsonObject()
+          .put("thread", thread.getName())
+          .put("at", System.currentTimeMillis())
+          .put("blockedMs", blockedMs)
+          .put("stack", frames);
+      synchronized (recentBlocked) {
+        recentBlocked.addFirst(event);
+        while (recentBlocked.size() > recentCapacity) {
+          recentBlocked.removeLast();
+        }
+      }
+      logger.warn("Event loop {} blocked for {} ms at {}", thread.getName(), blockedMs,
+          stack.length > 0 ? stack[0] : "unknown");
+    }
+  }
+
+  private static String hotPathKey(StackTraceElement[] stack) {
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < Math.min(HOT_PATH_FRAMES, stack.length); i++) {
+      if (i > 0) {
+        key.append('\n');
+      }
+      key.append(stack[i]);
+    }
+    return key.toString();
+  }
+
+  /** Lag histograms per event loop, and blocked-thread samples, as reported by the admin API. */
+  public JsonObject toJson() {
+    JsonArray eventLoops = new JsonArray();
+    for (Probe probe : probes) {
+      Thread thread = probe.thread;
+      eventLoops.add(new JsonObject()
+          .put("thread", thread != null ? thread.getName() : null)
+          .put("currentLagMs", probe.getLagMs())
+          .put("lagMs", probe.histogram.toJson()));
+    }
+
+    List<Map.Entry<String, LongAdder>> hottest = new ArrayList<>(hotPaths.entrySet());
+    hottest.sort(Comparator.comparingLong(
+        (Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed());
+    JsonArray hot = new JsonArray();
+    for (Map.Entry<String, LongAdder> entry : hottest.subList(0,
+        Math.min(REPORTED_HOT_PATHS, hottest.size()))) {
+      hot.add(new JsonObject()
+          .put("samples", entry.getValue().sum())
+          .put("frames", new JsonArray(List.of((Object[]) entry.getKey().split("\n")))));
+    }
+
+    JsonArray recent;
+    synchronized (recentBlocked) {
+      recent = new JsonArray(new ArrayList<>(recentBlocked));
+    }
+
+    return new JsonObject()
+        .put("probeIntervalMs", probeIntervalMs)
+        .put("eventLoops", eventLoops)
+        .put("blocked", new JsonObject()
+            .put("thresholdMs", blockedThresholdMs)
+            .put("events", blockedEvents.sum())
+            .put("stackSamples", stackSamples.sum())
+            .put("hotPaths", hot)
+            .put("recent", recent));
+  }
+
+  /** Lag timer on one event loop. */
+  public final class Probe implements AutoCloseable {
+    private final Vertx vertx;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final long timerId;
+    private volatile Thread thread;
+    private volatile long lastTickNanos = System.nanoTime();
+    private volatile long lastLagMs;
+    private long sampledTick; // Only touched by the watchdog
+
+    private Probe(Vertx vertx) {
+      this.vertx = vertx;
+      this.timerId = vertx.setPeriodic(probeIntervalMs, id -> tick());
+    }
+
+    private void tick() {
+      long now = System.nanoTime();
+      long lagMs =
+          Math.max(0, TimeUnit.NANOSECONDS.toMillis(now - lastTickNanos) - probeIntervalMs);
+      thread = Thread.currentThread();
+      lastTickNanos = now;
+      lastLagMs = lagMs;
+      histogram.record(lagMs);
+    }
+
+    /**
+     * Current lag in milliseconds: the delay of the last tick, or how overdue the next one is if
+     * the event loop is blocked right now.
+     */
+    public long getLagMs() {
+      long overdueMs =
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastTickNanos) - probeIntervalMs;
+      return Math.max(lastLagMs, overdueMs);
+    }
+
+    @Override
+    public void close() {
+      vertx.cancelTimer(timerId);
+      probes.remove(this);
+    }
+  }
+}
@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import java.time.Instant;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 /**
  * Simple in-memory cache with TTL (Time To Live) support.
@@ -24,27 +25,48 @@ public class InMemoryCache<T> {
   private final AtomicLong evictionCount = new AtomicLong(0);
 
   /**
-   * Cache entry with timestamp for TTL calculation.
+   * Cache entry with the time it was stored and the time it expires.
    */
-  private static class CacheEntry<T> {
+  public static final class CacheEntry<T> {
     private final T value;
     private final long timestamp;
+    private final long expiresAt;
+    private final ConcurrentHashMap<String, Object> attachments = new ConcurrentHashMap<>(4);
 
-    public CacheEntry(T value) {
+    private CacheEntry(T value, long ttlMs) {
+      this(value, System.currentTimeMillis(), ttlMs);
+    }
+
+    private CacheEntry(T value, long timestamp, long ttlMs) {
       this.value = value;
-      this.timestamp = System.currentTimeMillis();
+      this.timestamp = timestamp;
+      this.expiresAt = timestamp + ttlMs;
     }
 
     public T getValue() {
       return value;
     }
 
+    /** Time the value was stored, in epoch milliseconds. */
     public long getTimestamp() {
       return timestamp;
     }
 
-    public boolean isExpired(long ttlMs) {
-      return (System.currentTimeMillis() - timestamp) > ttlMs;
+    /** Time the value stops being fresh, in epoch milliseconds. */
+    public long getExpiresAt() {
+      return expiresAt;
+    }
+
+    public boolean isExpired() {
+      return System.currentTimeMillis() > expiresAt;
+    }
+
+    /**
+     * Values derived from this entry, such as encoded response bodies. They live and die with the
+     * entry, so a refresh starts with none.
+     */
+    public ConcurrentHashMap<String, Object> getAttachments() {
+      return attachments;
     }
   }
 
@@ -81,7 +103,7 @@ public class InMemoryCache<T> {
       return null;
     }
     
-    if (entry.isExpired(ttlMs)) {
+    if (entry.isExpired()) {
       cache.remove(key);
       evictionCount.incrementAndGet();
       missCount.incrementAndGet();
@@ -94,15 +116,91 @@ public class InMemoryCache<T> {
     return entry.getValue();
   }
 
+  /**
+   * Gets an unexpired entry together with its timestamps. Unlike {@link #get(String)}, an expired
+   * entry is left in place until the periodic cleanup, so it can still be served through {@link
+   * #getStale(String)} if refreshing it fails.
+   *
+   * @param key cache key
+   * @return unexpired entry or null if not found or expired
+   */
+  public CacheEntry<T> getEntry(String key) {
+    CacheEntry<T> entry = cache.get(key);
+
+    if (entry == null || entry.isExpired()) {
+      missCount.incrementAndGet();
+      logger.debug("Cache miss for key: {} in cache: {}", key, cacheName);
+      return null;
+    }
+
+    hitCount.incrementAndGet();
+    logger.debug("Cache hit for key: {} in cache: {}", key, cacheName);
+    return entry;
+  }
+
+  /**
+   * Gets an entry whether or not it has expired, without affecting hit and miss statistics.
+   *
+   * @param key cache key
+   * @return entry, possibly expired, or null if not present
+   */
+  public CacheEntry<T> getStale(String key) {
+    return cache.get(key);
+  }
+
+  /**
+   * Checks whether an unexpired entry exists, without affecting hit and miss statistics.
+   *
+   * @param key cache key
+   * @return true if the key maps to an unexpired entry
+   */
+  public boolean contains(String key) {
+    CacheEntry<T> entry = cache.get(key);
+    return entry != null && !entry.isExpired();
+  }
+
   /**
    * Puts a value in the cache.
    *
    * @param key cache key
    * @param value value to cache
+   * @return the stored entry
    */
-  public void put(String key, T value) {
-    cache.put(key, new CacheEntry<>(value));
+  public CacheEntry<T> put(String key, T value) {
+    return put(key, value, ttlMs);
+  }
+
+  /**
+   * Puts a value in the cache with its own time to live instead of the cache's.
+   *
+   * @param key cache key
+   * @param value value to cache
+   * @param entryTtlMs time to live for this entry in milliseconds
+   * @return the stored entry
+   */
+  public CacheEntry<T> put(String key, T value, long entryTtlMs) {
+    CacheEntry<T> entry = new CacheEntry<>(value, entryTtlMs);
+    cache.put(key, entry);
     logger.debug("Cached value for key: {} in cache: {}", key, cacheName);
+    return entry;
+  }
+
+  /**
+   * Puts an entry saved by an earlier process, keeping its original timestamps so it expires when
+   * it would have. Expired entries, and keys that already hold a value, are left alone.
+   *
+   * @param key cache key
+   * @param value value to cache
+   * @param timestamp time the value was originally stored, in epoch milliseconds
+   * @param expiresAt time the value stops being fresh, in epoch milliseconds
+   * @return the stored entry, or null if it was skipped
+   */
+  public CacheEntry<T> restore(String key, T value, long timestamp, long expiresAt) {
+    CacheEntry<T> entry = new CacheEntry<>(value, timestamp, expiresAt - timestamp);
+    if (entry.isExpired() || cache.putIfAbsent(key, entry) != null) {
+      return null;
+    }
+    return entry;
   }
 
   /**
@@ -120,6 +218,41 @@ public class InMemoryCache<T> {
     return null;
   }
 
+  /**
+   * Visits every unexpired entry. Safe to call from any thread; entries added or removed
+   * concurrently may or may not be visited.
+   *
+   * @param action callback receiving each key and value
+   */
+  public void forEach(BiConsumer<String, T> action) {
+    cache.forEach((key, entry) -> {
+      if (!entry.isExpired()) {
+        action.accept(key, entry.getValue());
+      }
+    });
+  }
+
+  /**
+   * Visits every unexpired entry with its timestamps, with the same guarantees as {@link
+   * #forEach(BiConsumer)}.
+   *
+   * @param action callback receiving each key and entry
+   */
+  public void forEachEntry(BiConsumer<String, CacheEntry<T>> action) {
+    cache.forEach((key, entry) -> {
+      if (!entry.isExpired()) {
+        action.accept(key, entry);
+      }
+    });
+  }
+
+  /**
+   * Number of entries held, including expired ones not yet cleaned up.
+   */
+  public int size() {
+    return cache.size();
+  }
+
   /**
    * Clears all entries from the cache.
    */
@@ -135,7 +268,7 @@ public class InMemoryCache<T> {
   private void cleanupExpiredEntries() {
     int initialSize = cache.size();
     cache.entrySet().removeIf(entry -> {
-      boolean expired = entry.getValue().isExpired(ttlMs);
+      boolean expired = entry.getValue().isExpired();
       if (expired) {
         evictionCount.incrementAndGet();
       }
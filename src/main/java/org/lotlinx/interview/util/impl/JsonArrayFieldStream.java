@@ -0,0 +1,212 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.parsetools.JsonEvent;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Streams the string elements of one array field of a JSON request body as they are parsed.
+ *
+ * <p>The body is never buffered or turned into a {@code JsonObject}: bytes go straight from the
+ * request into an incremental parser, and each element of the named top-level array is emitted as
+ * soon as it is complete. Other fields are skipped. The stream fails with an {@link
+ * IllegalArgumentException} as soon as the body is invalid, or with a {@link
+ * LimitExceededException} once it exceeds the byte or element limit, and emits nothing afterwards.
+ * Back-pressure is passed through to the request.
+ */
+public final class JsonArrayFieldStream implements ReadStream<String> {
+
+  /** Thrown when a body is larger, or has more elements, than allowed. */
+  public static final class LimitExceededException extends IllegalArgumentException {
+    public LimitExceededException(String message) {
+      super(message);
+    }
+  }
+
+  private final ReadStream<Buffer> source;
+  private final String field;
+  private final String elementName;
+  private final long maxBytes;
+  private final int maxElements;
+  private final JsonParser parser = JsonParser.newParser();
+
+  private Handler<String> handler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+  private long bytes;
+  private int elements;
+  private int depth;
+  private boolean inArray;
+  private boolean seenArray;
+  private boolean failed;
+
+  /**
+   * @param source request body
+   * @param field name of the top-level array field to stream
+   * @param elementName what the elements are called in error messages, e.g. "City names"
+   * @param maxBytes largest body accepted
+   * @param maxElements most array elements accepted
+   */
+  public JsonArrayFieldStream(ReadStream<Buffer> source, String field, String elementName,
+      long maxBytes, int maxElements) {
+    this.source = source;
+    this.field = field;
+    this.elementName = elementName;
+    this.maxBytes = maxBytes;
+    this.maxElements = maxElements;
+    parser.handler(this::handleEvent);
+    parser.exceptionHandler(e -> fail(new IllegalArgumentException(
+        "Invalid JSON in request body: " + e.getMessage(), e)));
+    parser.endHandler(v -> handleEnd());
+  }
+
+  @Override
+  public JsonArrayFieldStream handler(Handler<String> handler) {
+    this.handler = handler;
+    if (handler != null) {
+      source.handler(this::handleBuffer);
+      source.exceptionHandler(this::fail);
+      source.endHandler(v -> {
+        if (!failed) {
+          parser.end();
+        }
+      });
+    }
+    return this;
+  }
+
+  @Override
+  public JsonArrayFieldStream exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public JsonArrayFieldStream endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  @Override
+  public JsonArrayFieldStream pause() {
+    source.pause();
+    return this;
+  }
+
+  @Override
+  public JsonArrayFieldStream resume() {
+    source.resume();
+    return this;
+  }
+
+  @Override
+  public JsonArrayFieldStream fetch(long amount) {
+    source.fetch(amount);
+    return this;
+  }
+
+  private void handleBuffer(Buffer buffer) {
+    if (failed) {
+      // Keep draining so the connection can be reused, but ignore the rest of the body
+      return;
+    }
+    bytes += buffer.length();
+    if (bytes > maxBytes) {
+      fail(new LimitExceededException("Request body exceeds " + maxBytes + " bytes"));
+      return;
+    }
+    parser.handle(buffer);
+  }
+
+  private void handleEvent(JsonEvent event) {
+    if (failed) {
+      return;
+    }
+    switch (event.type()) {
+      case START_OBJECT:
+      case START_ARRAY:
+        if (depth == 0 && event.type() != JsonEventType.START_OBJECT) {
+          fail(new IllegalArgumentException("Request body must be a JSON object"));
+        } else if (inArray) {
+          fail(new IllegalArgumentException(elementName + " must be strings"));
+        } else if (depth == 1 && field.equals(event.fieldName())) {
+          if (event.type() != JsonEventType.START_ARRAY) {
+            fail(new IllegalArgumentException("Field '" + field + "' must be an array"));
+            return;
+          }
+          inArray = true;
+          seenArray = true;
+        }
+        depth++;
+        break;
+      case END_OBJECT:
+      case END_ARRAY:
+        depth--;
+        if (inArray && depth == 1) {
+          inArray = false;
+        }
+        break;
+      default:
+        if (depth == 0) {
+          fail(new IllegalArgumentException("Request body must be a JSON object"));
+        } else if (inArray) {
+          emit(event);
+        } else if (depth == 1 && field.equals(event.fieldName())) {
+          fail(new IllegalArgumentException(event.isNull()
+              ? "Request body must contain a '" + field + "' array"
+              : "Field '" + field + "' must be an array"));
+        }
+    }
+  }
+
+  private void emit(JsonEvent event) {
+    if (!event.isString()) {
+      fail(new IllegalArgumentException(event.isNull()
+          ? elementName + " cannot be null or empty"
+          : elementName + " must be strings"));
+      return;
+    }
+    String value = event.stringValue();
+    if (value.trim().isEmpty()) {
+      fail(new IllegalArgumentException(elementName + " cannot be null or empty"));
+      return;
+    }
+    if (++elements > maxElements) {
+      fail(new LimitExceededException(
+          "Field '" + field + "' has more than " + maxElements + " elements"));
+      return;
+    }
+    if (handler != null) {
+      handler.handle(value);
+    }
+  }
+
+  private void handleEnd() {
+    if (failed) {
+      return;
+    }
+    if (depth != 0) {
+      fail(new IllegalArgumentException("Invalid JSON in request body: unexpected end of input"));
+    } else if (!seenArray) {
+      fail(new IllegalArgumentException("Request body must contain a '" + field + "' array"));
+    } else if (elements == 0) {
+      fail(new IllegalArgumentException(
+          "Request body must contain a non-empty '" + field + "' array"));
+    } else if (endHandler != null) {
+      endHandler.handle(null);
+    }
+  }
+
+  private void fail(Throwable cause) {
+    if (failed) {
+      return;
+    }
+    failed = true;
+    if (exceptionHandler != null) {
+      exceptionHandler.handle(cause);
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.buffer.Buffer;
+import java.util.Arrays;
+import org.lotlinx.interview.util.ResponseWriter;
+
+/**
+ * Streaming JSON writer that encodes straight into a {@link Buffer}.
+ *
+ * <p>Unlike building a {@code JsonObject} tree and encoding it, no intermediate tree or response
+ * {@code String} is created: strings are escaped and UTF-8 encoded byte by byte, and integers are
+ * written digit by digit. Output is compact unless pretty printing is requested, in which case
+ * each member goes on its own line with two-space indentation. Not thread-safe; use one writer per
+ * response.
+ */
+public final class JsonBufferWriter implements ResponseWriter {
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes();
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+  private final Buffer buffer;
+  private final boolean pretty;
+  private final byte[] digits = new byte[20];
+
+  // Whether the container at each depth has had a member written yet
+  private boolean[] hasMembers = new boolean[8];
+  private int depth;
+  private boolean afterName;
+
+  public JsonBufferWriter(boolean pretty) {
+    this(pretty, 256);
+  }
+
+  public JsonBufferWriter(boolean pretty, int initialSizeHint) {
+    this.buffer = Buffer.buffer(initialSizeHint);
+    this.pretty = pretty;
+  }
+
+  @Override
+  public String contentType() {
+    return "application/json";
+  }
+
+  @Override
+  public JsonBufferWriter beginObject() {
+    return open('{');
+  }
+
+  @Override
+  public JsonBufferWriter endObject() {
+    return close('}');
+  }
+
+  @Override
+  public JsonBufferWriter beginArray() {
+    return open('[');
+  }
+
+  @Override
+  public JsonBufferWriter endArray() {
+    return close(']');
+  }
+
+  @Override
+  public JsonBufferWriter name(String name) {
+    separate();
+    writeString(name);
+    buffer.appendByte((byte) ':');
+    if (pretty) {
+      buffer.appendByte((byte) ' ');
+    }
+    afterName = true;
+    return this;
+  }
+
+  @Override
+  public JsonBufferWriter value(String value) {
+    separate();
+    if (value == null) {
+      buffer.appendBytes(NULL);
+    } else {
+      writeString(value);
+    }
+    return this;
+  }
+
+  @Override
+  public JsonBufferWriter value(long value) {
+    separate();
+    writeLong(value);
+    return this;
+  }
+
+  /** Writes a double the way {@link Double#toString(double)} does; non-finite values as null. */
+  @Override
+  public JsonBufferWriter value(double value) {
+    separate();
+    if (!Double.isFinite(value)) {
+      buffer.appendBytes(NULL);
+    } else if (value == (long) value && Math.abs(value) < 1e7 && !isNegativeZero(value)) {
+      // Whole numbers are common in weather data; skip the String that toString would allocate
+      writeLong((long) value);
+      buffer.appendByte((byte) '.').appendByte((byte) '0');
+    } else {
+      buffer.appendString(Double.toString(value));
+    }
+    return this;
+  }
+
+  @Override
+  public JsonBufferWriter value(boolean value) {
+    separate();
+    buffer.appendBytes(value ? TRUE : FALSE);
+    return this;
+  }
+
+  @Override
+  public JsonBufferWriter nullValue() {
+    separate();
+    buffer.appendBytes(NULL);
+    return this;
+  }
+
+  @Override
+  public Buffer toBuffer() {
+    return buffer;
+  }
+
+  private JsonBufferWriter open(char bracket) {
+    separate();
+    buffer.appendByte((byte) bracket);
+    if (++depth == hasMembers.length) {
+      hasMembers = Arrays.copyOf(hasMembers, depth * 2);
+    }
+    hasMembers[depth] = false;
+    return this;
+  }
+
+  private JsonBufferWriter close(char bracket) {
+    if (pretty && hasMembers[depth]) {
+      newLine(depth - 1);
+    }
+    depth--;
+    buffer.appendByte((byte) bracket);
+    return this;
+  }
+
+  /** Writes the comma and, when pretty printing, the line break before a new member. */
+  private void separate() {
+    if (afterName) {
+      afterName = false;
+      return;
+    }
+    if (depth == 0) {
+      return;
+    }
+    if (hasMembers[depth]) {
+      buffer.appendByte((byte) ',');
+    }
+    hasMembers[depth] = true;
+    if (pretty) {
+      newLine(depth);
+    }
+  }
+
+  private static boolean isNegativeZero(double value) {
+    return Double.doubleToRawLongBits(value) == Long.MIN_VALUE;
+  }
+
+  private void newLine(int indent) {
+    buffer.appendByte((byte) '\n');
+    for (int i = 0; i < indent; i++) {
+      buffer.appendByte((byte) ' ').appendByte((byte) ' ');
+    }
+  }
+
+  private void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      buffer.appendString(Long.toString(value));
+      return;
+    }
+    if (value < 0) {
+      buffer.appendByte((byte) '-');
+      value = -value;
+    }
+    int position = digits.length;
+    do {
+      digits[--position] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    buffer.appendBytes(digits, position, digits.length - position);
+  }
+
+  private void writeString(String value) {
+    buffer.appendByte((byte) '"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+        buffer.appendByte((byte) c);
+      } else if (c < 0x80) {
+        writeEscaped(c);
+      } else if (c < 0x800) {
+        buffer.appendByte((byte) (0xc0 | (c >> 6)));
+        buffer.appendByte((byte) (0x80 | (c & 0x3f)));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer.appendByte((byte) (0xf0 | (codePoint >> 18)));
+        buffer.appendByte((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+        buffer.appendByte((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        buffer.appendByte((byte) (0x80 | (codePoint & 0x3f)));
+      } else if (Character.isSurrogate(c)) {
+        // Unpaired surrogates cannot be encoded as UTF-8
+        writeEscaped(c);
+      } else {
+        buffer.appendByte((byte) (0xe0 | (c >> 12)));
+        buffer.appendByte((byte) (0x80 | ((c >> 6) & 0x3f)));
+        buffer.appendByte((byte) (0x80 | (c & 0x3f)));
+      }
+    }
+    buffer.appendByte((byte) '"');
+  }
+
+  private void writeEscaped(char c) {
+    buffer.appendByte((byte) '\\');
+    switch (c) {
+      case '"':
+      case '\\':
+        buffer.appendByte((byte) c);
+        break;
+      case '\n':
+        buffer.appendByte((byte) 'n');
+        break;
+      case '\r':
+        buffer.appendByte((byte) 'r');
+        break;
+      case '\t':
+        buffer.appendByte((byte) 't');
+        break;
+      case '\b':
+        buffer.appendByte((byte) 'b');
+        break;
+      case '\f':
+        buffer.appendByte((byte) 'f');
+        break;
+      default:
+        buffer.appendByte((byte) 'u');
+        buffer.appendByte(HEX[(c >> 12) & 0xf]);
+        buffer.appendByte(HEX[(c >> 8) & 0xf]);
+        buffer.appendByte(HEX[(c >> 4) & 0xf]);
+        buffer.appendByte(HEX[c & 0xf]);
+    }
+  }
+}
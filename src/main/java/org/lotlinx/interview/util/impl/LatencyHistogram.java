@@ -0,0 +1,71 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of millisecond durations in power-of-two buckets.
+ *
+ * <p>Bucket 0 holds values below 1 ms, bucket {@code i} holds values from {@code 2^(i-1)} up to
+ * {@code 2^i - 1} ms, and the last bucket holds everything larger. Percentiles are reported as the
+ * upper bound of the bucket they fall in, so they overstate by at most a factor of two; the
+ * maximum is exact.
+ */
+public final class LatencyHistogram {
+
+  private static final int BUCKETS = 18; // Up to 2^16 ms (about a minute), then overflow
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /** Records one duration in milliseconds; negative values count as zero. */
+  public void record(long valueMs) {
+    long value = Math.max(0, valueMs);
+    int bucket = value == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    counts.incrementAndGet(bucket);
+    total.increment();
+    max.accumulate(value);
+  }
+
+  public long getCount() {
+    return total.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @param quantile between 0 and 1
+   * @return upper bound in milliseconds of the bucket holding the quantile, or 0 when empty
+   */
+  public long percentile(double quantile) {
+    long count = total.sum();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(quantile * count);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS - 1; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min((1L << i) - 1, max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /** Summary with count, p50, p90, p99, p999 and max. */
+  public JsonObject toJson() {
+    return new JsonObject()
+        .put("count", getCount())
+        .put("p50", percentile(0.5))
+        .put("p90", percentile(0.9))
+        .put("p99", percentile(0.99))
+        .put("p999", percentile(0.999))
+        .put("max", getMax());
+  }
+}
@@ -12,10 +12,13 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Rate limiter implementation for API call management.
  * Tracks daily API usage and enforces rate limits for free tier APIs.
+ * One limiter may be shared by several event loops, so only the thread that moves the current
+ * date forward resets the daily count.
  */
 public class RateLimiter {
 
@@ -26,7 +29,7 @@ public class RateLimiter {
   private final Vertx vertx;
   private final ConcurrentHashMap<LocalDate, AtomicInteger> dailyUsage = new ConcurrentHashMap<>();
   private final AtomicInteger currentDayUsage = new AtomicInteger(0);
-  private LocalDate currentDate = LocalDate.now();
+  private final AtomicReference<LocalDate> currentDate = new AtomicReference<>(LocalDate.now());
 
   public RateLimiter(String name, int dailyLimit, Vertx vertx) {
     this.name = name;
@@ -44,12 +47,7 @@ public class RateLimiter {
    */
   public boolean isRequestAllowed() {
     LocalDate today = LocalDate.now();
-    
-    // Reset if it's a new day
-    if (!today.equals(currentDate)) {
-      resetDailyUsage();
-      currentDate = today;
-    }
+    rollOver(today);
     
     int currentUsage = currentDayUsage.get();
     boolean allowed = currentUsage < dailyLimit;
@@ -68,12 +66,7 @@ public class RateLimiter {
    */
   public int recordApiCall() {
     LocalDate today = LocalDate.now();
-    
-    // Reset if it's a new day
-    if (!today.equals(currentDate)) {
-      resetDailyUsage();
-      currentDate = today;
-    }
+    rollOver(today);
     
     int newUsage = currentDayUsage.incrementAndGet();
     dailyUsage.computeIfAbsent(today, k -> new AtomicInteger(0)).incrementAndGet();
@@ -89,6 +82,14 @@ public class RateLimiter {
     return newUsage;
   }
 
+  /**
+   * @return number of successful API calls recorded today
+   */
+  public int getCurrentUsage() {
+    rollOver(LocalDate.now());
+    return currentDayUsage.get();
+  }
+
   /**
    * Executes an operation with rate limiting.
    * 
@@ -109,6 +110,18 @@ public class RateLimiter {
         });
   }
 
+  /**
+   * Resets the daily usage counter if the day has changed since the last call.
+   *
+   * @param today the current date
+   */
+  private void rollOver(LocalDate today) {
+    LocalDate current = currentDate.get();
+    if (!today.equals(current) && currentDate.compareAndSet(current, today)) {
+      resetDailyUsage();
+    }
+  }
+
   /**
    * Resets daily usage counter.
    */
@@ -129,8 +142,7 @@ public class RateLimiter {
     long delayMs = java.time.Duration.between(now, midnight).toMillis();
     
     vertx.setTimer(delayMs, timerId -> {
-      resetDailyUsage();
-      currentDate = LocalDate.now();
+      rollOver(LocalDate.now());
       
       // Schedule next reset
       scheduleDailyReset();
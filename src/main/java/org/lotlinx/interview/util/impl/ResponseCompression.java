@@ -0,0 +1,117 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.buffer.Buffer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses response bodies ahead of time, so a body that is sent many times is compressed once.
+ *
+ * <p>Only gzip and deflate are produced here; they need nothing beyond the JDK. Bodies compressed
+ * this way are sent with their {@code Content-Encoding} already set, which the server's own
+ * on-the-fly compressor leaves untouched.
+ */
+public final class ResponseCompression {
+
+  public static final String GZIP = "gzip";
+  public static final String DEFLATE = "deflate";
+
+  private ResponseCompression() {}
+
+  /**
+   * Picks the encoding to pre-compress with from an {@code Accept-Encoding} header. A coding
+   * listed with {@code q=0} is refused, and {@code *} only stands for codings the header does not
+   * list by name.
+   *
+   * @param acceptEncoding header value, may be null
+   * @return {@link #GZIP}, {@link #DEFLATE}, or null if the client accepts neither
+   */
+  public static String negotiate(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+
+    double gzipQuality = 0;
+    double deflateQuality = 0;
+    double wildcardQuality = 0;
+    boolean gzipListed = false;
+    boolean deflateListed = false;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      double quality = parts.length > 1 ? parseQuality(parts[1]) : 1.0;
+      if (name.equals(GZIP)) {
+        gzipQuality = quality;
+        gzipListed = true;
+      } else if (name.equals(DEFLATE)) {
+        deflateQuality = quality;
+        deflateListed = true;
+      } else if (name.equals("*")) {
+        wildcardQuality = quality;
+      }
+    }
+
+    if (!gzipListed) {
+      gzipQuality = wildcardQuality;
+    }
+    if (!deflateListed) {
+      deflateQuality = wildcardQuality;
+    }
+    if (gzipQuality <= 0 && deflateQuality <= 0) {
+      return null;
+    }
+    return gzipQuality >= deflateQuality ? GZIP : DEFLATE;
+  }
+
+  /**
+   * Compresses a body with the given encoding.
+   *
+   * @param body uncompressed body
+   * @param encoding {@link #GZIP} or {@link #DEFLATE}
+   * @param level compression level, 1 (fastest) to 9 (smallest)
+   * @return compressed body
+   */
+  public static Buffer compress(Buffer body, String encoding, int level) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length() / 4));
+    Deflater deflater = new Deflater(level);
+    try {
+      // HTTP deflate is the zlib format; gzip wraps raw deflate in its own header and trailer
+      try (DeflaterOutputStream out = GZIP.equals(encoding)
+          ? new LeveledGzipOutputStream(compressed, level)
+          : new DeflaterOutputStream(compressed, deflater)) {
+        out.write(body.getBytes());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+    return Buffer.buffer(compressed.toByteArray());
+  }
+
+  private static double parseQuality(String parameter) {
+    String trimmed = parameter.trim();
+    if (!trimmed.startsWith("q=")) {
+      return 1.0;
+    }
+    try {
+      return Double.parseDouble(trimmed.substring(2));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /** GZIPOutputStream at a chosen compression level instead of the default. */
+  private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+    LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+      super(out);
+      def.setLevel(level);
+    }
+  }
+}
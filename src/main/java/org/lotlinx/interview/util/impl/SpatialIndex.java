@@ -0,0 +1,199 @@
+package org.lotlinx.interview.util.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Grid-bucketed spatial index over cache keys, used to find the nearest cached point to a query.
+ *
+ * <p>Points are bucketed into fixed cells of {@value #CELL_DEGREES} degrees. A radius query scans
+ * only the cells overlapping the search box and measures great-circle distance to each candidate.
+ * Entries whose cache key is no longer fresh are dropped lazily during queries and by {@link
+ * #retainAll(Predicate)}. Thread-safe.
+ */
+public class SpatialIndex {
+
+  private static final double CELL_DEGREES = 0.1;
+  private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+  private static final double EARTH_RADIUS_KM = 6371.0088;
+  private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+  private final ConcurrentHashMap<Long, Map<String, double[]>> cells = new ConcurrentHashMap<>();
+
+  /** Indexed point matched by a query, with its distance from the query point. */
+  public static final class Match {
+    private final String key;
+    private final double distanceKm;
+
+    private Match(String key, double distanceKm) {
+      this.key = key;
+      this.distanceKm = distanceKm;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    public double getDistanceKm() {
+      return distanceKm;
+    }
+  }
+
+  /**
+   * Indexes a cache key at the given coordinates.
+   *
+   * @param key cache key
+   * @param latitude latitude in degrees
+   * @param longitude longitude in degrees
+   */
+  public void add(String key, double latitude, double longitude) {
+    // Put inside compute, so retainAll cannot drop the cell between creating and filling it
+    cells.compute(cellOf(latitudeCell(latitude), longitudeCell(longitude)), (cell, points) -> {
+      Map<String, double[]> target = points != null ? points : new ConcurrentHashMap<>();
+      target.put(key, new double[] {latitude, longitude});
+      return target;
+    });
+  }
+
+  /**
+   * Finds the nearest indexed point within the given radius whose key is still fresh.
+   *
+   * @param latitude query latitude in degrees
+   * @param longitude query longitude in degrees
+   * @param maxDistanceKm search radius in kilometres
+   * @param isFresh tells whether the cache still holds an unexpired entry for a key
+   * @return nearest match, or null if no fresh point lies within the radius
+   */
+  public Match nearest(
+      double latitude, double longitude, double maxDistanceKm, Predicate<String> isFresh) {
+    Match[] best = new Match[1];
+    scan(latitude, longitude, maxDistanceKm, isFresh, (key, distance) -> {
+      if (best[0] == null || distance < best[0].distanceKm) {
+        best[0] = new Match(key, distance);
+      }
+    });
+    return best[0];
+  }
+
+  /**
+   * Finds every indexed point within the given radius whose key is still fresh.
+   *
+   * @param latitude query latitude in degrees
+   * @param longitude query longitude in degrees
+   * @param radiusKm search radius in kilometres
+   * @param isFresh tells whether the cache still holds an unexpired entry for a key
+   * @return matches in no particular order, empty if none lie within the radius
+   */
+  public List<Match> within(
+      double latitude, double longitude, double radiusKm, Predicate<String> isFresh) {
+    List<Match> matches = new ArrayList<>();
+    scan(latitude, longitude, radiusKm, isFresh,
+        (key, distance) -> matches.add(new Match(key, distance)));
+    return matches;
+  }
+
+  /** Visits every fresh point within the radius, dropping stale ones as they are found. */
+  private void scan(
+      double latitude,
+      double longitude,
+      double radiusKm,
+      Predicate<String> isFresh,
+      ObjDoubleConsumer<String> visitor) {
+    double latitudeSpan = radiusKm / KM_PER_DEGREE_LATITUDE;
+    double edgeLatitude = Math.abs(latitude) + latitudeSpan;
+
+    int minLatitudeCell = latitudeCell(Math.max(-90.0, latitude - latitudeSpan));
+    int maxLatitudeCell = latitudeCell(Math.min(90.0, latitude + latitudeSpan));
+    // Meridians converge towards the poles, so a box reaching within a degree of one spans every
+    // longitude
+    int longitudeCellSpan = LONGITUDE_CELLS / 2;
+    if (edgeLatitude < 89.0) {
+      double longitudeSpan =
+          radiusKm / (KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(edgeLatitude)));
+      longitudeCellSpan =
+          Math.min(longitudeCellSpan, (int) Math.ceil(longitudeSpan / CELL_DEGREES));
+    }
+    // A span covering the whole circle would otherwise visit its last cell from both ends
+    int maxOffset = Math.min(longitudeCellSpan, LONGITUDE_CELLS - 1 - longitudeCellSpan);
+    int centerLongitudeCell = longitudeCell(longitude);
+
+    for (int latCell = minLatitudeCell; latCell <= maxLatitudeCell; latCell++) {
+      for (int offset = -longitudeCellSpan; offset <= maxOffset; offset++) {
+        int lonCell = Math.floorMod(centerLongitudeCell + offset, LONGITUDE_CELLS);
+        Map<String, double[]> cell = cells.get(cellOf(latCell, lonCell));
+        if (cell == null) {
+          continue;
+        }
+        for (Map.Entry<String, double[]> entry : cell.entrySet()) {
+          double[] point = entry.getValue();
+          double distance = distanceKm(latitude, longitude, point[0], point[1]);
+          if (distance > radiusKm) {
+            continue;
+          }
+          if (!isFresh.test(entry.getKey())) {
+            cell.remove(entry.getKey());
+            continue;
+          }
+          visitor.accept(entry.getKey(), distance);
+        }
+      }
+    }
+  }
+
+  /**
+   * Visits every indexed point.
+   *
+   * @param action called with each key and its {@code {latitude, longitude}} pair
+   */
+  public void forEach(BiConsumer<String, double[]> action) {
+    cells.values().forEach(cell -> cell.forEach(action));
+  }
+
+  /**
+   * Drops every entry whose key no longer satisfies the predicate.
+   *
+   * @param isFresh tells whether the cache still holds an unexpired entry for a key
+   */
+  public void retainAll(Predicate<String> isFresh) {
+    cells.values().forEach(cell -> cell.keySet().removeIf(key -> !isFresh.test(key)));
+    // Checked again under the cell's lock, so a point added since the sweep keeps its cell
+    for (Long cell : cells.keySet()) {
+      cells.computeIfPresent(cell, (key, points) -> points.isEmpty() ? null : points);
+    }
+  }
+
+  /**
+   * Great-circle distance between two points using the haversine formula.
+   *
+   * @return distance in kilometres
+   */
+  public static double distanceKm(
+      double latitude1, double longitude1, double latitude2, double longitude2) {
+    double dLat = Math.toRadians(latitude2 - latitude1);
+    double dLon = Math.toRadians(longitude2 - longitude1);
+    double a =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLon / 2)
+                * Math.sin(dLon / 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+  }
+
+  private static int latitudeCell(double latitude) {
+    return (int) Math.floor((latitude + 90.0) / CELL_DEGREES);
+  }
+
+  private static int longitudeCell(double longitude) {
+    return Math.floorMod((int) Math.floor((longitude + 180.0) / CELL_DEGREES), LONGITUDE_CELLS);
+  }
+
+  private static long cellOf(int latitudeCell, int longitudeCell) {
+    return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+  }
+}
@@ -0,0 +1,52 @@
+package org.lotlinx.interview.util.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports how long after JVM start the server began listening and sent its first response.
+ *
+ * <p>Times are measured from the moment the JVM was created, so they include class loading and
+ * initialisation, which is what an autoscaler waiting for a new instance sees. Each milestone is
+ * logged once per JVM.
+ */
+public final class StartupTimer {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+  private static final AtomicBoolean listening = new AtomicBoolean();
+  private static final AtomicBoolean responded = new AtomicBoolean();
+
+  /**
+   * Milliseconds from JVM start to a given time. The start time is looked up only here, since
+   * loading the management classes takes tens of milliseconds.
+   */
+  private static long sinceJvmStartMs(long timeMs) {
+    return timeMs - ManagementFactory.getRuntimeMXBean().getStartTime();
+  }
+
+  /** Records that every server instance is listening. */
+  public static void markListening() {
+    if (listening.compareAndSet(false, true)) {
+      long now = System.currentTimeMillis();
+      logger.info("Time to listen: {} ms after JVM start", sinceJvmStartMs(now));
+    }
+  }
+
+  /** @return true until the first response has been sent */
+  public static boolean isFirstResponsePending() {
+    return !responded.get();
+  }
+
+  /** Records that a response has been sent; only the first call counts. */
+  public static void markResponse() {
+    if (responded.compareAndSet(false, true)) {
+      long now = System.currentTimeMillis();
+      logger.info("Time to first response: {} ms after JVM start", sinceJvmStartMs(now));
+    }
+  }
+
+  private StartupTimer() {
+  }
+}
@@ -0,0 +1,69 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class AdminTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdminTest.class);
+  private static final String EVENT_LOOP_URL = "http://localhost:8080/admin/event-loop";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for admin testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  @Test
+  void test_event_loop_report(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+
+    logger.info("Testing event-loop report: {}", EVENT_LOOP_URL);
+
+    // Let the probe tick a few times first
+    vertx.setTimer(200, id -> client
+        .getAbs(EVENT_LOOP_URL)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        assertEquals("no-store", response.getHeader("cache-control"));
+
+                        JsonObject body = response.bodyAsJsonObject();
+                        JsonArray eventLoops = body.getJsonArray("eventLoops");
+                        assertEquals(1, eventLoops.size());
+                        JsonObject lag = eventLoops.getJsonObject(0).getJsonObject("lagMs");
+                        assertTrue(lag.getLong("count") > 0);
+                        assertTrue(lag.getLong("p99") <= lag.getLong("max"));
+
+                        JsonObject blocked = body.getJsonObject("blocked");
+                        assertNotNull(blocked.getJsonArray("hotPaths"));
+                        assertNotNull(blocked.getJsonArray("recent"));
+                        assertNotNull(body.getJsonObject("admission"));
+
+                        logger.info("Event-loop report test passed: {}", eventLoops);
+                      });
+                  testContext.completeNow();
+                })));
+  }
+}
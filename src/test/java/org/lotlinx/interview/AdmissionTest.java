@@ -0,0 +1,69 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.CachedResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class AdmissionTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdmissionTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String AIR_POLLUTION_URL =
+      BASE_URL + "/getCurrentAirPollution?latitude=43.65&longitude=-79.38";
+  private static final String MULTI_CITY_URL = BASE_URL + "/api/v1/weather/multi-city";
+
+  @Test
+  void test_overload_refuses_with_retry_after(Vertx vertx, VertxTestContext testContext) {
+    int maxPendingUpstream = ApplicationConfig.getAdmissionMaxPendingUpstream();
+    // Just past the shed ratio, so expensive requests are refused and cheap ones still served
+    AtomicInteger pendingUpstream = new AtomicInteger(
+        (int) Math.ceil(maxPendingUpstream * ApplicationConfig.getAdmissionExpensiveShedRatio()));
+    CachedResult<AirPollutionResponse> hit = StubWeatherService.cachedAirPollutionHit();
+    WebClient client = WebClient.create(vertx);
+    String retryAfter = String.valueOf(ApplicationConfig.getAdmissionRetryAfterSeconds());
+
+    logger.info("Testing admission control at {} of {} pending upstream calls",
+        pendingUpstream.get(), maxPendingUpstream);
+
+    vertx.deployVerticle(new MainServerVerticle(StubWeatherService.withUpstreamLoad(
+            pendingUpstream::get, method -> Future.succeededFuture(hit))))
+        .compose(id -> client.getAbs(AIR_POLLUTION_URL).send())
+        .compose(cheap -> {
+          testContext.verify(() -> assertEquals(200, cheap.statusCode()));
+          return client.postAbs(MULTI_CITY_URL)
+              .sendJsonObject(new JsonObject().put("cities", new JsonArray().add("London")));
+        })
+        .compose(expensive -> {
+          testContext.verify(() -> {
+            assertEquals(503, expensive.statusCode());
+            assertEquals(retryAfter, expensive.getHeader("retry-after"));
+          });
+          pendingUpstream.set(maxPendingUpstream);
+          return client.getAbs(AIR_POLLUTION_URL).send();
+        })
+        .onComplete(testContext.succeeding(cheap -> {
+          testContext.verify(() -> {
+            assertEquals(503, cheap.statusCode());
+            assertEquals(retryAfter, cheap.getHeader("retry-after"));
+            assertTrue(cheap.bodyAsJsonObject().getString("message").contains("overloaded"));
+            logger.info("Admission test passed");
+          });
+          testContext.completeNow();
+        }));
+  }
+}
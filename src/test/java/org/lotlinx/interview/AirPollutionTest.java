@@ -243,4 +243,44 @@ public class AirPollutionTest {
                   testContext.completeNow();
                 }));
   }
+
+  @Test
+  void test_conditional_request_not_modified(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    String testUrl = AIR_POLLUTION_ENDPOINT + "?latitude=43.6534817&longitude=-79.3839347";
+
+    logger.info("Testing air pollution endpoint with a conditional request: {}", testUrl);
+
+    client
+        .getAbs(testUrl)
+        .send()
+        .compose(
+            first -> {
+              testContext.verify(
+                  () -> {
+                    assertEquals(200, first.statusCode());
+                    assertNotNull(first.getHeader("etag"));
+                    assertNotNull(first.getHeader("last-modified"));
+                    assertTrue(first.getHeader("cache-control").contains("max-age="));
+                    assertNotNull(first.getHeader("x-cache"));
+                  });
+              return client
+                  .getAbs(testUrl)
+                  .putHeader("If-None-Match", first.getHeader("etag"))
+                  .send();
+            })
+        .onComplete(
+            testContext.succeeding(
+                second -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(304, second.statusCode());
+                        assertEquals("HIT", second.getHeader("x-cache"));
+                        assertNull(second.body());
+
+                        logger.info("Conditional request test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
 }
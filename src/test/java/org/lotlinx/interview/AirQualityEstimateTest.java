@@ -0,0 +1,106 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class AirQualityEstimateTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AirQualityEstimateTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String ESTIMATE_ENDPOINT = BASE_URL + "/api/v1/air-pollution/estimate";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for air quality estimate testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  private static JsonObject location(double latitude, double longitude) {
+    return new JsonObject().put("latitude", latitude).put("longitude", longitude);
+  }
+
+  @Test
+  void test_estimates_returned_in_request_order(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray locations = new JsonArray()
+        .add(location(43.6534817, -79.3839347))
+        .add(location(-33.8688, 151.2093));
+    JsonObject requestBody = new JsonObject().put("locations", locations).put("radiusKm", 10.0);
+
+    logger.info("Testing air quality estimate endpoint with two locations");
+
+    client
+        .postAbs(ESTIMATE_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+
+                        assertNotNull(responseBody);
+                        assertEquals(2, responseBody.getInteger("totalLocations"));
+                        assertEquals(2, responseBody.getInteger("interpolated")
+                            + responseBody.getInteger("upstream")
+                            + responseBody.getInteger("failed"));
+
+                        JsonArray estimates = responseBody.getJsonArray("estimates");
+                        assertEquals(2, estimates.size());
+                        assertEquals(-33.8688, estimates.getJsonObject(1).getDouble("latitude"));
+                        assertNotNull(estimates.getJsonObject(0).getString("source"));
+
+                        logger.info("Estimate order test passed: {}", responseBody.encode());
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_radius_out_of_range(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject()
+        .put("locations", new JsonArray().add(location(43.6534817, -79.3839347)))
+        .put("radiusKm", -5.0);
+
+    logger.info("Testing air quality estimate endpoint with negative radius");
+
+    client
+        .postAbs(ESTIMATE_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+                        assertTrue(responseBody.getString("message").contains("radiusKm"));
+
+                        logger.info("Radius out of range test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
@@ -0,0 +1,143 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class BatchQueryTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchQueryTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String BATCH_ENDPOINT = BASE_URL + "/api/v1/batch";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for batch testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  private static JsonObject airPollution(String id, double latitude, double longitude) {
+    return new JsonObject()
+        .put("id", id)
+        .put("type", "airPollution")
+        .put("latitude", latitude)
+        .put("longitude", longitude);
+  }
+
+  @Test
+  void test_overlapping_queries_are_deduplicated(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray queries = new JsonArray()
+        .add(airPollution("a", 43.6534817, -79.3839347))
+        .add(airPollution("b", -33.8688, 151.2093))
+        .add(airPollution("c", 43.6534817, -79.3839347));
+    JsonObject requestBody = new JsonObject().put("queries", queries);
+
+    logger.info("Testing batch endpoint with overlapping queries");
+
+    client
+        .postAbs(BATCH_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+
+                        assertEquals(3, responseBody.getInteger("totalQueries"));
+                        assertEquals(2, responseBody.getInteger("uniqueQueries"));
+                        assertEquals(3, responseBody.getInteger("successfulRequests")
+                            + responseBody.getInteger("failedRequests"));
+
+                        JsonArray results = responseBody.getJsonArray("results");
+                        assertEquals(3, results.size());
+                        assertEquals("b", results.getJsonObject(1).getString("id"));
+                        assertEquals("airPollution", results.getJsonObject(1).getString("type"));
+
+                        logger.info("Overlapping queries test passed: {}", responseBody.encode());
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_streamed_results(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray queries = new JsonArray()
+        .add(airPollution("a", 43.6534817, -79.3839347))
+        .add(airPollution("b", -33.8688, 151.2093));
+    JsonObject requestBody = new JsonObject().put("queries", queries);
+
+    logger.info("Testing batch endpoint with streamed results");
+
+    client
+        .postAbs(BATCH_ENDPOINT + "?stream=true")
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        assertEquals("application/x-ndjson", response.getHeader("content-type"));
+
+                        String[] lines = response.bodyAsString().split("\n");
+                        assertEquals(2, lines.length);
+                        for (String line : lines) {
+                          assertTrue(new JsonObject(line).containsKey("id"));
+                        }
+
+                        logger.info("Streamed results test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_unknown_query_type(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray queries = new JsonArray().add(new JsonObject().put("type", "forecast"));
+    JsonObject requestBody = new JsonObject().put("queries", queries);
+
+    logger.info("Testing batch endpoint with an unknown query type");
+
+    client
+        .postAbs(BATCH_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertTrue(response.bodyAsJsonObject().getString("message")
+                            .contains("'weather' or 'airPollution'"));
+
+                        logger.info("Unknown query type test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
@@ -0,0 +1,156 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class BulkAirPollutionTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkAirPollutionTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String BULK_ENDPOINT = BASE_URL + "/api/v1/air-pollution/bulk";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for bulk air pollution testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  private static JsonObject location(double latitude, double longitude) {
+    return new JsonObject().put("latitude", latitude).put("longitude", longitude);
+  }
+
+  @Test
+  void test_duplicate_locations_are_deduplicated(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray locations = new JsonArray()
+        .add(location(43.6534817, -79.3839347))
+        .add(location(-33.8688, 151.2093))
+        .add(location(43.6534817, -79.3839347));
+    JsonObject requestBody = new JsonObject().put("locations", locations);
+
+    logger.info("Testing bulk air pollution endpoint with duplicate locations");
+
+    client
+        .postAbs(BULK_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+
+                        assertNotNull(responseBody);
+                        assertEquals(3, responseBody.getInteger("totalLocations"));
+                        assertEquals(2, responseBody.getInteger("uniqueLocations"));
+                        assertEquals(2, responseBody.getInteger("successfulRequests")
+                            + responseBody.getInteger("failedRequests"));
+
+                        JsonArray results = responseBody.getJsonArray("results");
+                        assertEquals(3, results.size());
+                        assertEquals(-33.8688, results.getJsonObject(1).getDouble("latitude"));
+
+                        logger.info("Duplicate locations test passed: {}", responseBody.encode());
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_empty_locations_list(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("locations", new JsonArray());
+
+    logger.info("Testing bulk air pollution endpoint with empty locations list");
+
+    client
+        .postAbs(BULK_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+                        assertTrue(responseBody.getString("message").contains("non-empty 'locations' array"));
+
+                        logger.info("Empty locations list test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_location_missing_longitude(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray locations = new JsonArray()
+        .add(location(43.6534817, -79.3839347))
+        .add(new JsonObject().put("latitude", 10.0));
+    JsonObject requestBody = new JsonObject().put("locations", locations);
+
+    logger.info("Testing bulk air pollution endpoint with a location missing longitude");
+
+    client
+        .postAbs(BULK_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+                        assertTrue(responseBody.getString("message").contains("index 1"));
+
+                        logger.info("Missing longitude test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_missing_locations_field(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("cities", new JsonArray().add("Toronto"));
+
+    logger.info("Testing bulk air pollution endpoint with missing locations field");
+
+    client
+        .postAbs(BULK_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        logger.info("Missing locations field test passed: status = {}", response.statusCode());
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
@@ -0,0 +1,109 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class CityAutocompleteTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(CityAutocompleteTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String AUTOCOMPLETE_ENDPOINT = BASE_URL + "/api/v1/cities/autocomplete";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for city autocomplete testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  @Test
+  void test_valid_prefix(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    String testUrl = AUTOCOMPLETE_ENDPOINT + "?q=Tor&limit=5";
+
+    logger.info("Testing city autocomplete endpoint with valid prefix: {}", testUrl);
+
+    client
+        .getAbs(testUrl)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+
+                        assertNotNull(responseBody);
+                        assertEquals("Tor", responseBody.getString("query"));
+                        assertTrue(responseBody.containsKey("suggestions"));
+                        assertTrue(responseBody.getJsonArray("suggestions").size() <= 5);
+
+                        logger.info("Valid prefix test passed: {}", responseBody.encode());
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_missing_query_parameter(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+
+    logger.info("Testing city autocomplete endpoint with missing query parameter");
+
+    client
+        .getAbs(AUTOCOMPLETE_ENDPOINT)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+                        assertTrue(responseBody.getString("message").contains("q"));
+
+                        logger.info("Missing query parameter test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_limit_out_of_range(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    String testUrl = AUTOCOMPLETE_ENDPOINT + "?q=Lon&limit=0";
+
+    logger.info("Testing city autocomplete endpoint with out-of-range limit: {}", testUrl);
+
+    client
+        .getAbs(testUrl)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        JsonObject responseBody = response.bodyAsJsonObject();
+                        assertTrue(responseBody.getString("message").contains("limit"));
+
+                        logger.info("Out-of-range limit test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
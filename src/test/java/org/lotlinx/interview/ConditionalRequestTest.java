@@ -0,0 +1,51 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class ConditionalRequestTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConditionalRequestTest.class);
+  private static final String AIR_POLLUTION_URL =
+      "http://localhost:8080/getCurrentAirPollution?latitude=43.65&longitude=-79.38";
+
+  @Test
+  void test_entity_tag_matches_across_codings(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+
+    logger.info("Testing If-None-Match across content-codings: {}", AIR_POLLUTION_URL);
+
+    vertx.deployVerticle(new MainServerVerticle(StubWeatherService.cachedAirPollution()))
+        .compose(id -> client.getAbs(AIR_POLLUTION_URL)
+            .putHeader("Accept-Encoding", "gzip")
+            .send())
+        .compose(first -> {
+          testContext.verify(() -> {
+            assertEquals(200, first.statusCode());
+            // The same tag is sent whatever the coding, so it must not claim byte equality
+            assertTrue(first.getHeader("etag").startsWith("W/\""), first.getHeader("etag"));
+          });
+          return client.getAbs(AIR_POLLUTION_URL)
+              .putHeader("Accept-Encoding", "identity")
+              .putHeader("If-None-Match", first.getHeader("etag"))
+              .send();
+        })
+        .onComplete(testContext.succeeding(second -> {
+          testContext.verify(() -> {
+            assertEquals(304, second.statusCode());
+            assertTrue(second.getHeader("etag").startsWith("W/\""));
+            logger.info("Conditional request test passed: {}", second.getHeader("etag"));
+          });
+          testContext.completeNow();
+        }));
+  }
+}
@@ -1,7 +1,9 @@
 package org.lotlinx.interview;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,4 +52,29 @@ public class HelloTest {
                   testContext.completeNow();
                 }));
   }
-}
\ No newline at end of file
+
+  @Test
+  void get_hello_over_http2_cleartext(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx, new WebClientOptions()
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2ClearTextUpgrade(false));
+    String testUrl = "http://localhost:8080/hello";
+
+    logger.info("Testing hello endpoint over h2c: {}", testUrl);
+
+    client
+        .getAbs(testUrl)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(HttpVersion.HTTP_2, response.version());
+                        assertEquals(200, response.statusCode());
+                        assertEquals("Hello from Lotlinx!", response.bodyAsString());
+                        logger.info("h2c hello endpoint test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
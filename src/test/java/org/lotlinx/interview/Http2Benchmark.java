@@ -0,0 +1,140 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.CachedResult;
+import org.lotlinx.interview.model.Coordinates;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.model.WeatherData;
+import org.lotlinx.interview.service.WeatherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test comparing HTTP/1.1 keep-alive with h2c when a client holds few connections.
+ *
+ * <p>Fast cache-hit air pollution requests run alongside slow multi-city requests, which the
+ * stubbed WeatherService answers after {@code slowMs}. Over HTTP/1.1 the client is limited to
+ * {@code connections} pooled connections, so fast requests wait behind slow ones. Over HTTP/2 the
+ * same number of connections carries every request as a separate stream. Compare the sample-time
+ * percentiles of {@code mixed:fast}. Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.include=Http2}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Http2Benchmark {
+
+  private static final String FAST_PATH =
+      "/getCurrentAirPollution?latitude=43.6534817&longitude=-79.3839347";
+  private static final String SLOW_PATH = "/api/v1/weather/multi-city?cities=london,paris";
+
+  @Param({"HTTP_1_1", "HTTP_2"})
+  private HttpVersion protocol;
+
+  @Param({"2"})
+  private int connections;
+
+  @Param({"50"})
+  private long slowMs;
+
+  private Vertx serverVertx;
+  private Vertx clientVertx;
+  private WebClient client;
+
+  @Setup
+  public void setUp() throws Exception {
+    serverVertx = Vertx.vertx();
+
+    List<WeatherData> weatherData = new ArrayList<>();
+    weatherData.add(new WeatherData("London", 12.34, "scattered clouds", 40, 1012.0, 4.63,
+        new Coordinates(51.5073219, -0.1276474)));
+    weatherData.add(new WeatherData("Paris", 15.1, "clear sky", 55, 1015.0, 2.1,
+        new Coordinates(48.8588897, 2.3200410)));
+    MultiCityWeatherResponse multiCity =
+        new MultiCityWeatherResponse(weatherData, 2, 2, 0, new ArrayList<>());
+
+    long now = System.currentTimeMillis();
+    long expiresAt = now + TimeUnit.HOURS.toMillis(1);
+    CachedResult<AirPollutionResponse> airPollutionHit = StubWeatherService.cachedAirPollutionHit();
+    CachedResult<MultiCityWeatherResponse> multiCityResult = new CachedResult<>(multiCity,
+        CachedResult.Status.MISS, "bench-2", now, expiresAt, new ConcurrentHashMap<>());
+    WeatherService weatherService = StubWeatherService.answering(method -> {
+      if (!method.equals("getCachedMultiCityWeather")) {
+        return Future.succeededFuture(airPollutionHit);
+      }
+      Promise<CachedResult<MultiCityWeatherResponse>> promise = Promise.promise();
+      serverVertx.setTimer(slowMs, id -> promise.complete(multiCityResult));
+      return promise.future();
+    });
+
+    serverVertx
+        .deployVerticle(new MainServerVerticle(weatherService))
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    clientVertx = Vertx.vertx();
+    client = WebClient.create(clientVertx, new WebClientOptions()
+        .setDefaultHost("localhost")
+        .setDefaultPort(ApplicationConfig.getServerPort())
+        .setProtocolVersion(protocol)
+        .setHttp2ClearTextUpgrade(false)
+        .setKeepAlive(true)
+        .setMaxPoolSize(connections)
+        .setHttp2MaxPoolSize(connections)
+        .setMaxWaitQueueSize(-1));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    clientVertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    serverVertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(24)
+  public Buffer fast() throws Exception {
+    return get(FAST_PATH);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(8)
+  public Buffer slow() throws Exception {
+    return get(SLOW_PATH);
+  }
+
+  private Buffer get(String path) throws Exception {
+    return client
+        .get(path)
+        .send()
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        .body();
+  }
+}
@@ -100,6 +100,33 @@ public class MultiCityWeatherTest {
                 }));
   }
 
+  @Test
+  void test_blank_city_name(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonArray cities = new JsonArray().add(" ").add("Toronto");
+    JsonObject requestBody = new JsonObject().put("cities", cities);
+
+    logger.info("Testing multi-city weather endpoint with a blank city name");
+
+    client
+        .postAbs(WEATHER_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertEquals("City names cannot be null or empty",
+                            response.bodyAsJsonObject().getString("message"));
+
+                        logger.info("Blank city name test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
   @Test
   void test_invalid_city_names(Vertx vertx, VertxTestContext testContext) {
     WebClient client = WebClient.create(vertx);
@@ -253,4 +280,127 @@ public class MultiCityWeatherTest {
                   testContext.completeNow();
                 }));
   }
+
+  @Test
+  void test_query_redirects_to_canonical_form(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+
+    logger.info("Testing that a non-canonical city query redirects to the canonical one");
+
+    client
+        .getAbs(WEATHER_ENDPOINT + "?cities=Toronto,%20new%20%20york%20,toronto,Delhi")
+        .followRedirects(false)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(301, response.statusCode());
+                        assertEquals(
+                            "/api/v1/weather/multi-city?cities=delhi,new%20york,toronto",
+                            response.getHeader("location"));
+
+                        logger.info("Canonical redirect test passed: {}",
+                            response.getHeader("location"));
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_query_missing_cities(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+
+    logger.info("Testing multi-city weather query without the cities parameter");
+
+    client
+        .getAbs(WEATHER_ENDPOINT)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertEquals("API_ERROR", response.bodyAsJsonObject().getString("error"));
+
+                        logger.info("Missing cities query test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_oversized_request_body(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    String body = "{\"cities\": [\"Toronto\"]}" + " ".repeat(1024 * 1024);
+
+    logger.info("Testing multi-city weather endpoint with a body over the size limit");
+
+    client
+        .postAbs(WEATHER_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendBuffer(
+            io.vertx.core.buffer.Buffer.buffer(body),
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(413, response.statusCode());
+                        logger.info("Oversized body test passed: status = {}", response.statusCode());
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_query_too_many_cities(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    // 1001 distinct three-letter names, one over the default limit and short enough for one line
+    StringBuilder cities = new StringBuilder();
+    for (int i = 0; i <= 1000; i++) {
+      if (i > 0) {
+        cities.append(',');
+      }
+      cities.append((char) ('a' + i / 676)).append((char) ('a' + i / 26 % 26))
+          .append((char) ('a' + i % 26));
+    }
+
+    logger.info("Testing multi-city weather query with more cities than allowed");
+
+    client
+        .getAbs(WEATHER_ENDPOINT + "?cities=" + cities)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertEquals("API_ERROR", response.bodyAsJsonObject().getString("error"));
+
+                        logger.info("Too many cities query test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_malformed_content_length(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Testing multi-city weather endpoint with a malformed content-length");
+
+    vertx.createNetClient()
+        .connect(8080, "localhost")
+        .onComplete(testContext.succeeding(socket -> {
+          socket.handler(buffer -> {
+            testContext.verify(() -> {
+              assertTrue(buffer.toString().startsWith("HTTP/1.1 400"), buffer.toString());
+              logger.info("Malformed content-length test passed");
+            });
+            testContext.completeNow();
+          });
+          socket.write("POST /api/v1/weather/multi-city HTTP/1.1\r\n"
+              + "Host: localhost\r\n"
+              + "Content-Type: application/json\r\n"
+              + "Content-Length: 12abc\r\n\r\n");
+        }));
+  }
 }
@@ -0,0 +1,177 @@
+package org.lotlinx.interview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class ResponseFormatTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResponseFormatTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String MULTI_CITY_ENDPOINT = BASE_URL + "/api/v1/weather/multi-city";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for response format testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  @Test
+  void test_compact_by_default(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("cities", new JsonArray());
+
+    logger.info("Testing that responses are compact by default");
+
+    client
+        .postAbs(MULTI_CITY_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        String body = response.bodyAsString();
+                        assertFalse(body.contains("\n"));
+                        assertEquals("API_ERROR", new JsonObject(body).getString("error"));
+
+                        logger.info("Compact response test passed: {}", body);
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_pretty_when_requested(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("cities", new JsonArray());
+
+    logger.info("Testing that responses are pretty printed with ?pretty=true");
+
+    client
+        .postAbs(MULTI_CITY_ENDPOINT + "?pretty=true")
+        .putHeader("Content-Type", "application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        String body = response.bodyAsString();
+                        assertTrue(body.contains("\n  \"error\": \"API_ERROR\""));
+                        assertEquals("API_ERROR", new JsonObject(body).getString("error"));
+
+                        logger.info("Pretty response test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_cbor_when_accepted(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("cities", new JsonArray());
+
+    logger.info("Testing that responses are CBOR encoded when the client accepts CBOR");
+
+    client
+        .postAbs(MULTI_CITY_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .putHeader("Accept", "application/cbor")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertEquals("application/cbor", response.getHeader("content-type"));
+                        assertTrue(response.getHeader("vary").contains("Accept"));
+
+                        JsonNode body = new CBORMapper().readTree(response.body().getBytes());
+                        assertEquals("API_ERROR", body.get("error").asText());
+                        assertTrue(body.get("message").asText().contains("cities"));
+
+                        logger.info("CBOR response test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_json_preferred_over_cbor(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("cities", new JsonArray());
+
+    logger.info("Testing that JSON is sent when the client ranks it above CBOR");
+
+    client
+        .postAbs(MULTI_CITY_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .putHeader("Accept", "application/cbor;q=0.5, application/json")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertEquals("application/json", response.getHeader("content-type"));
+                        assertEquals("API_ERROR", response.bodyAsJsonObject().getString("error"));
+
+                        logger.info("JSON preference test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  void test_small_response_not_compressed(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    JsonObject requestBody = new JsonObject().put("cities", new JsonArray());
+
+    logger.info("Testing that responses below the compression threshold are sent uncompressed");
+
+    client
+        .postAbs(MULTI_CITY_ENDPOINT)
+        .putHeader("Content-Type", "application/json")
+        .putHeader("Accept-Encoding", "gzip, deflate")
+        .sendJsonObject(
+            requestBody,
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        String encoding = response.getHeader("content-encoding");
+                        assertTrue(encoding == null || encoding.equals("identity"));
+                        assertEquals("API_ERROR", response.bodyAsJsonObject().getString("error"));
+
+                        logger.info("Uncompressed small response test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
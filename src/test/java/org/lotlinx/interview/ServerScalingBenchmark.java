@@ -0,0 +1,86 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.util.concurrent.TimeUnit;
+import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.service.WeatherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how request throughput scales with the number of deployed server verticle instances.
+ *
+ * <p>Every instance shares one stubbed WeatherService that always returns a cached air pollution
+ * result, so the numbers cover routing, cache validation and encoding on the
+ * {@code /getCurrentAirPollution} cache-hit path, with no upstream calls. The client runs on its
+ * own Vert.x instance. Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.include=ServerScaling}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+public class ServerScalingBenchmark {
+
+  private static final String PATH =
+      "/getCurrentAirPollution?latitude=43.6534817&longitude=-79.3839347";
+
+  @Param({"1", "2", "4"})
+  private int instances;
+
+  private Vertx serverVertx;
+  private Vertx clientVertx;
+  private WebClient client;
+
+  @Setup
+  public void setUp() throws Exception {
+    WeatherService weatherService = StubWeatherService.cachedAirPollution();
+
+    serverVertx = Vertx.vertx();
+    serverVertx
+        .deployVerticle(() -> new MainServerVerticle(weatherService),
+            new DeploymentOptions().setInstances(instances))
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    clientVertx = Vertx.vertx();
+    client = WebClient.create(clientVertx,
+        new WebClientOptions()
+            .setDefaultHost("localhost")
+            .setDefaultPort(ApplicationConfig.getServerPort())
+            .setKeepAlive(true)
+            .setMaxPoolSize(64));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    clientVertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    serverVertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public Buffer cachedAirPollution() throws Exception {
+    return client
+        .get(PATH)
+        .send()
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        .body();
+  }
+}
@@ -0,0 +1,72 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.model.CachedResult;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.service.WeatherService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class ShutdownTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShutdownTest.class);
+  private static final String SLOW_URL =
+      "http://localhost:8080/api/v1/weather/multi-city?cities=London,Paris";
+  private static final String HELLO_URL = "http://localhost:8080/hello";
+  private static final long SLOW_MS = 1000;
+
+  @Test
+  void test_in_flight_request_finishes_while_draining(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+    MainServerVerticle verticle = new MainServerVerticle(slowWeatherService(vertx));
+
+    logger.info("Testing drain on undeploy: {}", SLOW_URL);
+
+    vertx.deployVerticle(verticle).onComplete(testContext.succeeding(id -> {
+      Future<?> slow = client.getAbs(SLOW_URL).send()
+          .onComplete(testContext.succeeding(response -> testContext.verify(() ->
+              assertEquals(200, response.statusCode()))));
+
+      // Undeploy once the slow request is being served, then try a new one
+      vertx.setTimer(SLOW_MS / 2, timer -> {
+        Future<Void> undeploy = vertx.undeploy(id);
+        client.getAbs(HELLO_URL).send().onComplete(testContext.succeeding(response -> {
+          testContext.verify(() -> {
+            assertEquals(503, response.statusCode());
+            assertEquals("close", response.getHeader("connection"));
+            assertNotNull(response.getHeader("retry-after"));
+            assertFalse(slow.isComplete());
+          });
+          Future.all(slow, undeploy).onComplete(testContext.succeeding(v -> {
+            logger.info("Drain test passed");
+            testContext.completeNow();
+          }));
+        }));
+      });
+    }));
+  }
+
+  /** Answers multi-city lookups after a delay, so a request is still in flight at undeploy. */
+  private static WeatherService slowWeatherService(Vertx vertx) {
+    long now = System.currentTimeMillis();
+    CachedResult<MultiCityWeatherResponse> result = new CachedResult<>(
+        new MultiCityWeatherResponse(List.of(), 2, 0, 2, List.of("London", "Paris")),
+        CachedResult.Status.HIT, "drain-1", now, now + 60_000, null);
+    return StubWeatherService.answering(method -> {
+      Promise<Object> promise = Promise.promise();
+      vertx.setTimer(SLOW_MS, id -> promise.complete(result));
+      return promise.future();
+    });
+  }
+}
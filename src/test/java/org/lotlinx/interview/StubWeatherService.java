@@ -0,0 +1,74 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Future;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.CachedResult;
+import org.lotlinx.interview.service.UpstreamLoad;
+import org.lotlinx.interview.service.WeatherService;
+
+/**
+ * WeatherService stubs for benchmarks and tests that exercise the server rather than OpenWeather.
+ */
+final class StubWeatherService {
+
+  /**
+   * @return a WeatherService answering every call with a cached air pollution result, fresh for
+   *     an hour
+   */
+  static WeatherService cachedAirPollution() {
+    CachedResult<AirPollutionResponse> hit = cachedAirPollutionHit();
+    return answering(method -> Future.succeededFuture(hit));
+  }
+
+  /**
+   * @return a cache hit holding one air pollution reading, fresh for an hour
+   */
+  static CachedResult<AirPollutionResponse> cachedAirPollutionHit() {
+    AirPollutionResponse.Main main = new AirPollutionResponse.Main();
+    main.setAqi(2);
+    AirPollutionResponse.AirPollutionData data = new AirPollutionResponse.AirPollutionData();
+    data.setMain(main);
+    data.setComponents(new AirPollutionResponse.Components());
+    data.setTimestamp(1757607978L);
+    AirPollutionResponse airPollution = new AirPollutionResponse();
+    airPollution.setList(List.of(data));
+
+    long now = System.currentTimeMillis();
+    return new CachedResult<>(airPollution, CachedResult.Status.HIT, "bench-1", now,
+        now + TimeUnit.HOURS.toMillis(1), new ConcurrentHashMap<>());
+  }
+
+  /**
+   * @param answer gives the result of each call from the name of the method called
+   * @return a WeatherService answering every call through the given function
+   */
+  static WeatherService answering(Function<String, Future<?>> answer) {
+    return (WeatherService) Proxy.newProxyInstance(
+        WeatherService.class.getClassLoader(), new Class<?>[] {WeatherService.class},
+        (proxy, method, args) -> answer.apply(method.getName()));
+  }
+
+  /**
+   * @param pendingUpstream gives the upstream calls the service reports as waiting for an answer
+   * @param answer gives the result of each other call from the name of the method called
+   * @return a WeatherService reporting the given upstream load
+   */
+  static WeatherService withUpstreamLoad(
+      IntSupplier pendingUpstream, Function<String, Future<?>> answer) {
+    return (WeatherService) Proxy.newProxyInstance(
+        WeatherService.class.getClassLoader(),
+        new Class<?>[] {WeatherService.class, UpstreamLoad.class},
+        (proxy, method, args) -> method.getName().equals("getPendingUpstreamCalls")
+            ? pendingUpstream.getAsInt()
+            : answer.apply(method.getName()));
+  }
+
+  private StubWeatherService() {
+  }
+}
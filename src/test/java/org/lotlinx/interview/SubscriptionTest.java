@@ -0,0 +1,88 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class SubscriptionTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(SubscriptionTest.class);
+  private static final String BASE_URL = "http://localhost:8080";
+  private static final String SUBSCRIBE_PATH = "/api/v1/subscribe";
+
+  @BeforeEach
+  void deploy_verticle(Vertx vertx, VertxTestContext testContext) {
+    logger.info("Deploying MainServerVerticle for subscription testing");
+    vertx.deployVerticle(
+        new MainServerVerticle(),
+        testContext.succeeding(
+            id -> {
+              logger.info("MainServerVerticle deployed successfully with ID: {}", id);
+              testContext.completeNow();
+            }));
+  }
+
+  @Test
+  void test_subscription_opens_event_stream(Vertx vertx, VertxTestContext testContext) {
+    HttpClient client = vertx.createHttpClient();
+
+    logger.info("Testing that a subscription opens a Server-Sent Events stream");
+
+    client
+        .request(HttpMethod.GET, 8080, "localhost",
+            SUBSCRIBE_PATH + "?locations=43.6534817,-79.3839347")
+        .compose(request -> request.send())
+        .onComplete(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(200, response.statusCode());
+                        assertEquals("text/event-stream", response.getHeader("content-type"));
+                        assertEquals("no-cache", response.getHeader("cache-control"));
+                      });
+                  response.handler(
+                      chunk -> {
+                        testContext.verify(
+                            () -> assertTrue(chunk.toString().startsWith(":")));
+                        logger.info("Subscription stream test passed");
+                        response.request().reset();
+                        testContext.completeNow();
+                      });
+                }));
+  }
+
+  @Test
+  void test_subscription_without_keys(Vertx vertx, VertxTestContext testContext) {
+    WebClient client = WebClient.create(vertx);
+
+    logger.info("Testing subscription without cities or locations");
+
+    client
+        .getAbs(BASE_URL + SUBSCRIBE_PATH)
+        .send(
+            testContext.succeeding(
+                response -> {
+                  testContext.verify(
+                      () -> {
+                        assertEquals(400, response.statusCode());
+                        assertTrue(response.bodyAsJsonObject().getString("message")
+                            .contains("cities or locations"));
+
+                        logger.info("Subscription without keys test passed");
+                      });
+                  testContext.completeNow();
+                }));
+  }
+}
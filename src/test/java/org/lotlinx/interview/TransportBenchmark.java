@@ -0,0 +1,125 @@
+package org.lotlinx.interview;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.service.WeatherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the NIO and native epoll transports, with default and tuned socket options.
+ *
+ * <p>{@code newConnection} opens a fresh connection for every request, so its throughput is the
+ * connection rate; {@code keepAlive} reuses pooled connections. Sample-time results give the p99
+ * latency of each. The server runs the real MainServerVerticle over a stubbed WeatherService that
+ * always returns a cached air pollution result. Each trial forks a JVM whose configuration file is
+ * rewritten with that trial's transport section. Native trials fail at setup when epoll cannot be
+ * loaded, rather than silently measuring NIO, so run them with the epoll profile: {@code mvn
+ * -Pbenchmark,epoll test-compile exec:exec -Dbenchmark.include=Transport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class TransportBenchmark {
+
+  private static final String PATH =
+      "/getCurrentAirPollution?latitude=43.6534817&longitude=-79.3839347";
+
+  @Param({"false", "true"})
+  private boolean nativeTransport;
+
+  @Param({"false", "true"})
+  private boolean tuned;
+
+  private Vertx serverVertx;
+  private Vertx clientVertx;
+  private WebClient pooledClient;
+  private WebClient connectingClient;
+
+  @Setup
+  public void setUp() throws Exception {
+    // Must run before ApplicationConfig is first loaded in this fork
+    JsonObject config = new JsonObject(Files.readString(Paths.get("config.json")));
+    config.put("transport", new JsonObject()
+        .put("nativeTransport", nativeTransport)
+        .put("reusePort", tuned)
+        .put("tcpNoDelay", true)
+        .put("tcpQuickAck", tuned)
+        .put("tcpFastOpen", tuned)
+        .put("acceptBacklog", tuned ? 4096 : -1)
+        .put("sendBufferSize", tuned ? 262144 : -1)
+        .put("receiveBufferSize", tuned ? 262144 : -1));
+    Path configFile = Files.createTempFile("transport-benchmark", ".json");
+    Files.writeString(configFile, config.encode());
+    configFile.toFile().deleteOnExit();
+    System.setProperty("config.file", configFile.toString());
+
+    WeatherService weatherService = StubWeatherService.cachedAirPollution();
+
+    serverVertx = Vertx.vertx(MainServerVerticle.createVertxOptions());
+    if (nativeTransport && !serverVertx.isNativeTransportEnabled()) {
+      Throwable cause = serverVertx.unavailableNativeTransportCause();
+      serverVertx.close();
+      throw new IllegalStateException("Native transport requested but unavailable", cause);
+    }
+    serverVertx
+        .deployVerticle(new MainServerVerticle(weatherService))
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    clientVertx = Vertx.vertx();
+    WebClientOptions options = new WebClientOptions()
+        .setDefaultHost("localhost")
+        .setDefaultPort(ApplicationConfig.getServerPort())
+        .setMaxPoolSize(16);
+    pooledClient = WebClient.create(clientVertx, new WebClientOptions(options).setKeepAlive(true));
+    connectingClient =
+        WebClient.create(clientVertx, new WebClientOptions(options).setKeepAlive(false));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    clientVertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    serverVertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public Buffer newConnection() throws Exception {
+    return get(connectingClient);
+  }
+
+  @Benchmark
+  public Buffer keepAlive() throws Exception {
+    return get(pooledClient);
+  }
+
+  private static Buffer get(WebClient client) throws Exception {
+    return client
+        .get(PATH)
+        .send()
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        .body();
+  }
+}
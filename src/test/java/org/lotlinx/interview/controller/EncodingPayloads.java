@@ -0,0 +1,50 @@
+package org.lotlinx.interview.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.Coordinates;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.model.WeatherData;
+
+/** Representative response bodies for comparing the JSON and CBOR encodings. */
+final class EncodingPayloads {
+
+  /** @return a successful lookup of 20 cities */
+  static MultiCityWeatherResponse multiCity() {
+    List<WeatherData> weatherData = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      weatherData.add(new WeatherData("City" + i, 12.34 + i, "scattered clouds", 40 + i, 1012.0,
+          4.63, new Coordinates(43.6534817 + i, -79.3839347 - i)));
+    }
+    return new MultiCityWeatherResponse(weatherData, 20, 20, 0, new ArrayList<>());
+  }
+
+  /** @return one air pollution reading with every component set */
+  static AirPollutionResponse airPollution() {
+    AirPollutionResponse.Components components = new AirPollutionResponse.Components();
+    components.setCo(179.37);
+    components.setNo2(0.01);
+    components.setO3(83.25);
+    components.setSo2(0.16);
+    components.setPm25(3.9);
+    components.setPm10(10.88);
+    components.setNh3(0.22);
+    AirPollutionResponse.Main main = new AirPollutionResponse.Main();
+    main.setAqi(2);
+    AirPollutionResponse.AirPollutionData data = new AirPollutionResponse.AirPollutionData();
+    data.setMain(main);
+    data.setComponents(components);
+    data.setTimestamp(1757607978L);
+    AirPollutionResponse.Coordinates coord = new AirPollutionResponse.Coordinates();
+    coord.setLatitude(43.6535);
+    coord.setLongitude(-79.3839);
+    AirPollutionResponse airPollution = new AirPollutionResponse();
+    airPollution.setCoord(coord);
+    airPollution.setList(List.of(data));
+    return airPollution;
+  }
+
+  private EncodingPayloads() {
+  }
+}
@@ -0,0 +1,115 @@
+package org.lotlinx.interview.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.lotlinx.interview.model.AirPollutionResponse;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.util.ResponseWriter;
+import org.lotlinx.interview.util.impl.CborBufferWriter;
+import org.lotlinx.interview.util.impl.JsonBufferWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares JSON and CBOR response bodies for the multi-city and air pollution payloads.
+ *
+ * <p>Encoding goes through the same writers and serialisers the controller uses. Decoding walks
+ * every token with Jackson's streaming parsers, as a consumer would. ResponseEncodingTest checks
+ * and logs the encoded sizes. Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.include=ResponseEncoding}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+  @Param({"multiCity", "airPollution"})
+  private String payload;
+
+  private MultiCityWeatherResponse multiCity;
+  private AirPollutionResponse airPollution;
+  private byte[] json;
+  private byte[] cbor;
+
+  @Setup
+  public void setUp() {
+    multiCity = EncodingPayloads.multiCity();
+    airPollution = EncodingPayloads.airPollution();
+
+    json = encodeJson().getBytes();
+    cbor = encodeCbor().getBytes();
+  }
+
+  @Benchmark
+  public Buffer encodeJson() {
+    return write(new JsonBufferWriter(false));
+  }
+
+  @Benchmark
+  public Buffer encodeCbor() {
+    return write(new CborBufferWriter());
+  }
+
+  @Benchmark
+  public int decodeJson() throws IOException {
+    return countTokens(JSON_FACTORY.createParser(json));
+  }
+
+  @Benchmark
+  public int decodeCbor() throws IOException {
+    return countTokens(CBOR_FACTORY.createParser(cbor));
+  }
+
+  private Buffer write(ResponseWriter writer) {
+    if ("multiCity".equals(payload)) {
+      WeatherController.writeMultiCityWeather(writer, multiCity);
+    } else {
+      WeatherController.writeAirPollution(writer, airPollution);
+    }
+    return writer.toBuffer();
+  }
+
+  /** Reads every token and its value, the way a consumer binding the payload would. */
+  private static int countTokens(JsonParser parser) throws IOException {
+    int tokens = 0;
+    try (parser) {
+      while (parser.nextToken() != null) {
+        switch (parser.currentToken()) {
+          case VALUE_NUMBER_FLOAT:
+            parser.getDoubleValue();
+            break;
+          case VALUE_NUMBER_INT:
+            parser.getLongValue();
+            break;
+          case VALUE_STRING:
+          case FIELD_NAME:
+            parser.getText();
+            break;
+          default:
+            break;
+        }
+        tokens++;
+      }
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,60 @@
+package org.lotlinx.interview.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.lotlinx.interview.util.ResponseWriter;
+import org.lotlinx.interview.util.impl.CborBufferWriter;
+import org.lotlinx.interview.util.impl.JsonBufferWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseEncodingTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResponseEncodingTest.class);
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+  private static final ObjectMapper CBOR_MAPPER = new ObjectMapper(new CBORFactory());
+
+  @Test
+  void test_multi_city_cbor_is_smaller_than_json() throws IOException {
+    JsonBufferWriter json = new JsonBufferWriter(false);
+    CborBufferWriter cbor = new CborBufferWriter();
+    WeatherController.writeMultiCityWeather(json, EncodingPayloads.multiCity());
+    WeatherController.writeMultiCityWeather(cbor, EncodingPayloads.multiCity());
+
+    assertSameContentSmaller("multiCity", json, cbor);
+  }
+
+  @Test
+  void test_air_pollution_cbor_is_smaller_than_json() throws IOException {
+    JsonBufferWriter json = new JsonBufferWriter(false);
+    CborBufferWriter cbor = new CborBufferWriter();
+    WeatherController.writeAirPollution(json, EncodingPayloads.airPollution());
+    WeatherController.writeAirPollution(cbor, EncodingPayloads.airPollution());
+
+    assertSameContentSmaller("airPollution", json, cbor);
+  }
+
+  /**
+   * Checks that both bodies decode to the same content and the CBOR one is smaller. The trees are
+   * compared as text, since CBOR keeps narrower number types than JSON parsing infers.
+   */
+  private static void assertSameContentSmaller(String payload, ResponseWriter json,
+      ResponseWriter cbor) throws IOException {
+    byte[] jsonBytes = json.toBuffer().getBytes();
+    byte[] cborBytes = cbor.toBuffer().getBytes();
+    logger.info("{} payload: json={} bytes, cbor={} bytes ({}%)", payload, jsonBytes.length,
+        cborBytes.length, 100 * cborBytes.length / jsonBytes.length);
+
+    JsonNode fromJson = JSON_MAPPER.readTree(jsonBytes);
+    JsonNode fromCbor = CBOR_MAPPER.readTree(cborBytes);
+    assertEquals(fromJson.toString(), fromCbor.toString());
+    assertTrue(cborBytes.length < jsonBytes.length,
+        "CBOR body of " + cborBytes.length + " bytes is not smaller than JSON body of "
+            + jsonBytes.length);
+  }
+}
@@ -0,0 +1,206 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.MainServerVerticle;
+import org.lotlinx.interview.config.ApplicationConfig;
+import org.lotlinx.interview.util.HttpClientUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class BatchedMultiCityTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchedMultiCityTest.class);
+  private static final String WEATHER_ENDPOINT =
+      "http://localhost:8080" + ApplicationConfig.MULTI_CITY_WEATHER_ENDPOINT;
+  private static final int INSTANCES = 2;
+  private static final int REQUESTS = 6;
+  private static final int CITIES_PER_REQUEST = 5;
+  private static final long SETTLE_MS = 500;
+
+  @Test
+  void test_concurrent_requests_across_instances(Vertx vertx, VertxTestContext testContext) {
+    AtomicInteger groupCalls = new AtomicInteger();
+    OpenWeatherService service =
+        new OpenWeatherService(vertx, groupClient(vertx, groupCalls), true);
+    // The last city warms up the server before the concurrent requests
+    List<String> cities = PrimedCities.primeIds(service, REQUESTS * CITIES_PER_REQUEST + 1);
+    WebClient client = WebClient.create(vertx);
+
+    logger.info(
+        "Testing {} concurrent batched multi-city requests across {} instances",
+        REQUESTS,
+        INSTANCES);
+
+    vertx
+        .deployVerticle(
+            () -> new MainServerVerticle(service), new DeploymentOptions().setInstances(INSTANCES))
+        // A cold first request blocks the event loop on class loading; let the lag probes settle
+        // after it, or admission control sheds the concurrent requests
+        .compose(
+            id ->
+                client
+                    .postAbs(WEATHER_ENDPOINT)
+                    .sendJsonObject(
+                        new JsonObject()
+                            .put("cities", new JsonArray().add(cities.get(cities.size() - 1)))))
+        .compose(
+            warmUp -> Future.<Long>future(settled -> vertx.setTimer(SETTLE_MS, settled::complete)))
+        .onComplete(
+            testContext.succeeding(
+                settled -> {
+                  List<Future<HttpResponse<Buffer>>> responses = new ArrayList<>();
+                  for (int r = 0; r < REQUESTS; r++) {
+                    JsonArray names = new JsonArray();
+                    for (int c = 0; c < CITIES_PER_REQUEST; c++) {
+                      names.add(cities.get(c * REQUESTS + r));
+                    }
+                    responses.add(
+                        client
+                            .postAbs(WEATHER_ENDPOINT)
+                            .sendJsonObject(new JsonObject().put("cities", names)));
+                  }
+
+                  Future.all(responses)
+                      .onComplete(
+                          testContext.succeeding(
+                              all -> {
+                                testContext.verify(
+                                    () -> {
+                                      for (HttpResponse<Buffer> response :
+                                          all.<HttpResponse<Buffer>>list()) {
+                                        assertEquals(200, response.statusCode(), response.bodyAsString());
+                                        JsonObject body = response.bodyAsJsonObject();
+                                        assertEquals(
+                                            CITIES_PER_REQUEST,
+                                            body.getInteger("successfulRequests"),
+                                            body.encode());
+                                      }
+                                      assertTrue(
+                                          groupCalls.get() < REQUESTS * CITIES_PER_REQUEST,
+                                          "Expected lookups to share group calls, got "
+                                              + groupCalls.get());
+                                      logger.info(
+                                          "Batched multi-city test passed: {} cities in {} group calls",
+                                          REQUESTS * CITIES_PER_REQUEST,
+                                          groupCalls.get());
+                                    });
+                                service.close();
+                                testContext.completeNow();
+                              }));
+                }));
+  }
+
+  @Test
+  void test_failed_group_call_falls_back_to_coordinates(Vertx vertx,
+      VertxTestContext testContext) {
+    AtomicInteger weatherCalls = new AtomicInteger();
+    OpenWeatherService service = new OpenWeatherService(vertx,
+        fallbackClient(vertx, Future.failedFuture("Group call timed out"), weatherCalls), true);
+
+    logger.info("Testing the coordinate fallback when a group call fails");
+
+    assertFallback(service, weatherCalls, testContext);
+  }
+
+  @Test
+  void test_missing_city_falls_back_to_coordinates(Vertx vertx, VertxTestContext testContext) {
+    AtomicInteger weatherCalls = new AtomicInteger();
+    OpenWeatherService service = new OpenWeatherService(vertx,
+        fallbackClient(vertx,
+            Future.succeededFuture(new JsonObject().put("list", new JsonArray())),
+            weatherCalls),
+        true);
+
+    logger.info("Testing the coordinate fallback when a group response leaves cities out");
+
+    assertFallback(service, weatherCalls, testContext);
+  }
+
+  /** Looks up primed cities whose group call goes wrong and expects each to be fetched alone. */
+  private static void assertFallback(OpenWeatherService service, AtomicInteger weatherCalls,
+      VertxTestContext testContext) {
+    List<String> cities = PrimedCities.primeIds(service, 3);
+    service.getMultiCityWeather(cities).onComplete(testContext.succeeding(response -> {
+      testContext.verify(() -> {
+        assertEquals(cities.size(), response.getSuccessfulRequests());
+        assertEquals(cities.size(), weatherCalls.get());
+        logger.info("Fallback test passed: {} cities fetched by coordinates", weatherCalls.get());
+      });
+      service.close();
+      testContext.completeNow();
+    }));
+  }
+
+  /**
+   * Answers group calls for whatever IDs were asked for, after a short delay so lookups from both
+   * instances end up waiting on the same call.
+   */
+  private static HttpClientUtil groupClient(Vertx vertx, AtomicInteger groupCalls) {
+    return new HttpClientUtil(vertx) {
+      @Override
+      public Future<JsonObject> sendGetRequest(
+          String host, String path, MultiMap queryParams, int port) {
+        if (!ApplicationConfig.GROUP_WEATHER_API_PATH.equals(path)) {
+          return Future.failedFuture("Unexpected upstream request to " + path);
+        }
+        groupCalls.incrementAndGet();
+        JsonArray list = new JsonArray();
+        for (String id : queryParams.get("id").split(",")) {
+          list.add(weather(Long.parseLong(id)));
+        }
+        Promise<JsonObject> promise = Promise.promise();
+        vertx.setTimer(10, timer -> promise.complete(new JsonObject().put("list", list)));
+        return promise.future();
+      }
+    };
+  }
+
+  /**
+   * Answers group calls with the given result and lookups by coordinates with a city of their own.
+   */
+  private static HttpClientUtil fallbackClient(
+      Vertx vertx, Future<JsonObject> groupResult, AtomicInteger weatherCalls) {
+    return new HttpClientUtil(vertx) {
+      @Override
+      public Future<JsonObject> sendGetRequest(
+          String host, String path, MultiMap queryParams, int port) {
+        if (ApplicationConfig.GROUP_WEATHER_API_PATH.equals(path)) {
+          return groupResult;
+        }
+        if (ApplicationConfig.CURRENT_WEATHER_API_PATH.equals(path)) {
+          int call = weatherCalls.getAndIncrement();
+          return Future.succeededFuture(weather(PrimedCities.FIRST_CITY_ID + call));
+        }
+        return Future.failedFuture("Unexpected upstream request to " + path);
+      }
+    };
+  }
+
+  private static JsonObject weather(long cityId) {
+    return new JsonObject()
+        .put("id", cityId)
+        .put("name", "Batched City " + (cityId - PrimedCities.FIRST_CITY_ID))
+        .put("main", new JsonObject().put("temp", 20.0).put("humidity", 50).put("pressure", 1013.0))
+        .put("weather", new JsonArray().add(new JsonObject().put("description", "clear sky")))
+        .put("wind", new JsonObject().put("speed", 3.5));
+  }
+}
@@ -0,0 +1,184 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.model.CurrentWeatherResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class CurrentWeatherBatcherTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(CurrentWeatherBatcherTest.class);
+  private static final long WINDOW_MS = 20;
+  private static final int MAX_BATCH_SIZE = 10;
+
+  @Test
+  void test_lookups_complete_on_their_own_context(Vertx vertx, VertxTestContext testContext) {
+    Context first = newContext(vertx);
+    Context second = newContext(vertx);
+    Context upstream = newContext(vertx);
+    CurrentWeatherBatcher batcher = new CurrentWeatherBatcher(vertx, WINDOW_MS, MAX_BATCH_SIZE,
+        ids -> {
+          // The group call finishes on a third event loop, as a shared client's would
+          Promise<Map<Long, CurrentWeatherResponse>> promise = Promise.promise();
+          upstream.runOnContext(v -> promise.complete(responses(ids)));
+          return promise.future();
+        });
+    Checkpoint completed = testContext.checkpoint(2);
+
+    logger.info("Testing batched lookups queued from two contexts");
+
+    for (Context context : List.of(first, second)) {
+      context.runOnContext(v -> batcher.fetch(1).onComplete(testContext.succeeding(response -> {
+        testContext.verify(() -> {
+          assertSame(context, Vertx.currentContext());
+          assertEquals(1, response.getCityId());
+        });
+        completed.flag();
+      })));
+    }
+  }
+
+  @Test
+  void test_same_city_shares_one_slot(Vertx vertx, VertxTestContext testContext) {
+    List<List<Long>> groupCalls = new CopyOnWriteArrayList<>();
+    CurrentWeatherBatcher batcher =
+        new CurrentWeatherBatcher(vertx, WINDOW_MS, MAX_BATCH_SIZE, recording(groupCalls));
+
+    logger.info("Testing duplicate city IDs within one batching window");
+
+    Future.all(batcher.fetch(1), batcher.fetch(1), batcher.fetch(2))
+        .onComplete(testContext.succeeding(all -> {
+          testContext.verify(() -> {
+            assertEquals(List.of(List.of(1L, 2L)), groupCalls);
+            assertEquals(1, all.<CurrentWeatherResponse>resultAt(0).getCityId());
+            assertEquals(1, all.<CurrentWeatherResponse>resultAt(1).getCityId());
+            assertEquals(2, all.<CurrentWeatherResponse>resultAt(2).getCityId());
+          });
+          testContext.completeNow();
+        }));
+  }
+
+  @Test
+  void test_flushes_at_max_batch_size(Vertx vertx, VertxTestContext testContext) {
+    List<List<Long>> groupCalls = new CopyOnWriteArrayList<>();
+    // A window far longer than the test, so only the size can trigger the flush
+    CurrentWeatherBatcher batcher =
+        new CurrentWeatherBatcher(vertx, 60_000, MAX_BATCH_SIZE, recording(groupCalls));
+
+    logger.info("Testing a flush once {} cities are queued", MAX_BATCH_SIZE);
+
+    List<Future<CurrentWeatherResponse>> lookups = new ArrayList<>();
+    for (long id = 1; id < MAX_BATCH_SIZE; id++) {
+      lookups.add(batcher.fetch(id));
+    }
+    assertTrue(groupCalls.isEmpty());
+    lookups.add(batcher.fetch(MAX_BATCH_SIZE));
+
+    Future.all(lookups).onComplete(testContext.succeeding(all -> {
+      testContext.verify(() -> {
+        assertEquals(1, groupCalls.size());
+        assertEquals(MAX_BATCH_SIZE, groupCalls.get(0).size());
+      });
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void test_flushes_when_window_elapses(Vertx vertx, VertxTestContext testContext) {
+    List<List<Long>> groupCalls = new CopyOnWriteArrayList<>();
+    CurrentWeatherBatcher batcher =
+        new CurrentWeatherBatcher(vertx, WINDOW_MS, MAX_BATCH_SIZE, recording(groupCalls));
+
+    logger.info("Testing a flush of a partial batch after {} ms", WINDOW_MS);
+
+    long start = System.nanoTime();
+    batcher.fetch(1).onComplete(testContext.succeeding(response -> {
+      testContext.verify(() -> {
+        assertEquals(List.of(List.of(1L)), groupCalls);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= WINDOW_MS);
+      });
+      testContext.completeNow();
+    }));
+    assertTrue(groupCalls.isEmpty());
+  }
+
+  @Test
+  void test_failed_group_call_fails_every_lookup(Vertx vertx, VertxTestContext testContext) {
+    CurrentWeatherBatcher batcher = new CurrentWeatherBatcher(vertx, WINDOW_MS, MAX_BATCH_SIZE,
+        ids -> Future.failedFuture("Group call timed out"));
+
+    logger.info("Testing lookups in a batch whose group call fails");
+
+    Future<CurrentWeatherResponse> first = batcher.fetch(1);
+    Future<CurrentWeatherResponse> second = batcher.fetch(2);
+    Future.join(first, second).onComplete(ar -> {
+      testContext.verify(() -> {
+        assertEquals("Group call timed out", first.cause().getMessage());
+        assertEquals("Group call timed out", second.cause().getMessage());
+      });
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  void test_missing_city_fails_only_its_lookup(Vertx vertx, VertxTestContext testContext) {
+    CurrentWeatherBatcher batcher = new CurrentWeatherBatcher(vertx, WINDOW_MS, MAX_BATCH_SIZE,
+        ids -> Future.succeededFuture(responses(List.of(1L))));
+
+    logger.info("Testing a city ID left out of the group response");
+
+    Future<CurrentWeatherResponse> present = batcher.fetch(1);
+    Future<CurrentWeatherResponse> missing = batcher.fetch(2);
+    Future.join(present, missing).onComplete(ar -> {
+      testContext.verify(() -> {
+        assertTrue(present.succeeded());
+        assertEquals("No weather data returned for city ID 2", missing.cause().getMessage());
+      });
+      testContext.completeNow();
+    });
+  }
+
+  /** @return a group fetcher that answers every city ID and records the IDs of each call */
+  private static Function<List<Long>, Future<Map<Long, CurrentWeatherResponse>>> recording(
+      List<List<Long>> groupCalls) {
+    return ids -> {
+      groupCalls.add(ids);
+      return Future.succeededFuture(responses(ids));
+    };
+  }
+
+  /** @return a fresh event-loop context; the test itself already runs on one */
+  private static Context newContext(Vertx vertx) {
+    return CompletableFuture.supplyAsync(vertx::getOrCreateContext).join();
+  }
+
+  /** @return a response for every requested city ID */
+  private static Map<Long, CurrentWeatherResponse> responses(List<Long> ids) {
+    Map<Long, CurrentWeatherResponse> responses = new HashMap<>();
+    for (long id : ids) {
+      CurrentWeatherResponse response = new CurrentWeatherResponse();
+      response.setCityId(id);
+      responses.put(id, response);
+    }
+    return responses;
+  }
+}
@@ -0,0 +1,110 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.model.Coordinates;
+import org.lotlinx.interview.model.GeocodingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class GazetteerIndexTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(GazetteerIndexTest.class);
+  // Six places, two of them sharing a name with a smaller town, plus two malformed lines
+  private static final String FIXTURE = "/gazetteer/cities-sample.txt";
+
+  @Test
+  void test_load_skips_malformed_lines() throws Exception {
+    GazetteerIndex index = GazetteerIndex.load(fixture());
+
+    logger.info("Testing gazetteer loading from {}", FIXTURE);
+
+    assertEquals(6, index.size());
+    int tokyo = index.find("Tokyo");
+    assertEquals("Tokyo", index.getName(tokyo));
+    assertEquals("JP", index.getCountryCode(tokyo));
+    assertEquals(35.6895, index.getLatitude(tokyo));
+    assertEquals(139.69171, index.getLongitude(tokyo));
+    assertEquals(8336599, index.getPopulation(tokyo));
+    assertEquals(-1, index.find("Broken"));
+  }
+
+  @Test
+  void test_names_are_normalised() throws Exception {
+    GazetteerIndex index = GazetteerIndex.load(fixture());
+
+    logger.info("Testing gazetteer name matching");
+
+    int saoPaulo = index.find("São Paulo");
+    assertTrue(saoPaulo >= 0);
+    assertEquals(saoPaulo, index.find("SÃO PAULO"));
+    assertEquals(saoPaulo, index.find("  sao paulo "));
+    assertEquals(index.find("tokyo"), index.find("TOKYO"));
+    assertEquals(-1, index.find("Atlantis"));
+    assertEquals(-1, index.find(""));
+  }
+
+  @Test
+  void test_most_populous_place_wins() throws Exception {
+    GazetteerIndex index = GazetteerIndex.load(fixture());
+
+    logger.info("Testing places that share a name");
+
+    GeocodingResponse london = index.toGeocodingResponse(index.find("London"));
+    assertEquals("London", london.getName());
+    assertEquals("GB", london.getCountry());
+    assertEquals(51.50853, london.getLatitude());
+    assertEquals(-0.12574, london.getLongitude());
+    assertEquals("FR", index.getCountryCode(index.find("paris")));
+  }
+
+  @Test
+  void test_gazetteer_takes_precedence_over_geocoding_cache(Vertx vertx,
+      VertxTestContext testContext) throws Exception {
+    OpenWeatherService service =
+        new OpenWeatherService(vertx, PrimedCities.offlineClient(vertx));
+    GazetteerIndex index = GazetteerIndex.load(fixture());
+    GeocodingResponse gazetteerLondon = index.toGeocodingResponse(index.find("London"));
+    // The cache places London elsewhere; weather is primed at both spots
+    service.primeCity("London", geocoding("London", 10.0, 20.0), PrimedCities.weather("London"));
+    service.primeCity("Gazetteer London", gazetteerLondon, PrimedCities.weather("London"));
+    service.useGazetteer(index);
+
+    logger.info("Testing that gazetteer coordinates win over cached geocoding");
+
+    service.getMultiCityWeather(List.of("London")).onComplete(testContext.succeeding(response -> {
+      testContext.verify(() -> {
+        assertEquals(1, response.getSuccessfulRequests());
+        Coordinates coordinates = response.getWeatherData().get(0).getCoordinates();
+        assertEquals(gazetteerLondon.getLatitude(), coordinates.getLatitude());
+        assertEquals(gazetteerLondon.getLongitude(), coordinates.getLongitude());
+        logger.info("Gazetteer precedence test passed");
+      });
+      service.close();
+      testContext.completeNow();
+    }));
+  }
+
+  private static Path fixture() throws IOException, URISyntaxException {
+    return Path.of(GazetteerIndexTest.class.getResource(FIXTURE).toURI());
+  }
+
+  private static GeocodingResponse geocoding(String name, double latitude, double longitude) {
+    GeocodingResponse geocoding = new GeocodingResponse();
+    geocoding.setName(name);
+    geocoding.setLatitude(latitude);
+    geocoding.setLongitude(longitude);
+    geocoding.setCountry("XX");
+    return geocoding;
+  }
+}
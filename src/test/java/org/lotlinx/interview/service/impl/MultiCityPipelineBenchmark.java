@@ -0,0 +1,131 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.lotlinx.interview.model.Coordinates;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.lotlinx.interview.model.WeatherData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the multi-city pipeline and compares its aggregation step against the previous
+ * synchronized implementation.
+ *
+ * <p>{@code pipeline} runs {@code OpenWeatherService.getMultiCityWeather} for cities primed in the
+ * caches, over an HTTP client that fails any upstream request, so lookup, cache access and
+ * response assembly are all included. {@code lockFree} and {@code synchronizedBaseline} time the
+ * final fold alone over already-completed futures, one in ten failing. Run with {@code mvn
+ * -Pbenchmark test-compile exec:exec -Dbenchmark.include=MultiCityPipeline}; the gc profiler
+ * reports {@code gc.alloc.rate.norm}, which divided by the city count gives bytes allocated per
+ * city.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiCityPipelineBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int cityCount;
+
+  private Vertx vertx;
+  private OpenWeatherService service;
+  private List<String> cities;
+  private List<Future<WeatherData>> lookups;
+
+  @Setup
+  public void setUp() {
+    vertx = Vertx.vertx();
+    service = new OpenWeatherService(vertx, PrimedCities.offlineClient(vertx));
+    cities = PrimedCities.prime(service, cityCount);
+
+    lookups = new ArrayList<>(cityCount);
+    for (int i = 0; i < cityCount; i++) {
+      String city = cities.get(i);
+      lookups.add(i % 10 == 9
+          ? Future.failedFuture("City not found: " + city)
+          : Future.succeededFuture(new WeatherData(
+              city, 20.0, "clear sky", 50, 1013.0, 3.5, new Coordinates(i, i))));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    service.close();
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public MultiCityWeatherResponse pipeline() {
+    MultiCityWeatherResponse response = service.getMultiCityWeather(cities).result();
+    if (response == null || response.getFailedRequests() > 0) {
+      throw new IllegalStateException("Primed lookups did not all complete from the caches");
+    }
+    return response;
+  }
+
+  @Benchmark
+  public MultiCityWeatherResponse lockFree() {
+    MultiCityAggregator aggregator = new MultiCityAggregator(cities);
+    for (int i = 0; i < cityCount; i++) {
+      int slot = i;
+      lookups.get(i).onComplete(ar -> aggregator.complete(slot, ar));
+    }
+    return aggregator.future().result();
+  }
+
+  /** The aggregation as it was: an extra promise per city and a shared lock. */
+  @Benchmark
+  public MultiCityWeatherResponse synchronizedBaseline() {
+    Promise<MultiCityWeatherResponse> promise = Promise.promise();
+    List<WeatherData> weatherDataList = new ArrayList<>();
+    List<String> failedCities = new ArrayList<>();
+    AtomicInteger completedRequests = new AtomicInteger(0);
+    AtomicInteger failedRequests = new AtomicInteger(0);
+
+    for (int i = 0; i < cityCount; i++) {
+      String city = cities.get(i);
+      Promise<WeatherData> cityPromise = Promise.promise();
+      lookups.get(i).onComplete(ar -> {
+        if (ar.succeeded()) {
+          cityPromise.complete(ar.result());
+        } else {
+          cityPromise.fail(ar.cause());
+        }
+      });
+      cityPromise.future().onComplete(ar -> {
+        synchronized (weatherDataList) {
+          if (ar.succeeded()) {
+            weatherDataList.add(ar.result());
+          } else {
+            failedCities.add(city);
+            failedRequests.incrementAndGet();
+          }
+          if (completedRequests.incrementAndGet() == cityCount) {
+            promise.complete(new MultiCityWeatherResponse(weatherDataList, cityCount,
+                weatherDataList.size(), failedRequests.get(), failedCities));
+          }
+        }
+      });
+    }
+    return promise.future().result();
+  }
+}
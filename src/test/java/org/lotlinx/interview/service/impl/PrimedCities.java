@@ -0,0 +1,104 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+import org.lotlinx.interview.model.CurrentWeatherResponse;
+import org.lotlinx.interview.model.GeocodingResponse;
+import org.lotlinx.interview.util.HttpClientUtil;
+
+/** Cities primed in a service's caches, so benchmarks and tests do not depend on OpenWeather. */
+final class PrimedCities {
+
+  static final long FIRST_CITY_ID = 1000;
+
+  /**
+   * Primes geocoding and weather entries for the given number of cities.
+   *
+   * @param service service to prime
+   * @param count number of cities
+   * @return the primed city names
+   */
+  static List<String> prime(OpenWeatherService service, int count) {
+    List<String> cities = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String city = "Benchmark City " + i;
+      cities.add(city);
+      service.primeCity(city, geocoding(city, i), weather(city));
+    }
+    return cities;
+  }
+
+  /**
+   * Primes geocoding entries and OpenWeather city IDs, but no weather, for the given number of
+   * cities. City {@code i} gets ID {@code FIRST_CITY_ID + i}.
+   *
+   * @param service service to prime
+   * @param count number of cities
+   * @return the primed city names
+   */
+  static List<String> primeIds(OpenWeatherService service, int count) {
+    List<String> cities = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String city = "Batched City " + i;
+      cities.add(city);
+      service.primeCityId(city, geocoding(city, i), FIRST_CITY_ID + i);
+    }
+    return cities;
+  }
+
+  /**
+   * @return an HTTP client that fails every request, so a cache miss shows up as a failed city
+   *     instead of a call to OpenWeather
+   */
+  static HttpClientUtil offlineClient(Vertx vertx) {
+    return new HttpClientUtil(vertx) {
+      @Override
+      public Future<JsonObject> sendGetRequest(
+          String host, String path, MultiMap queryParams, int port, MultiMap headers) {
+        return Future.failedFuture("Unexpected upstream request to " + path);
+      }
+
+      @Override
+      public Future<String> sendGetRequestRaw(
+          String host, String path, MultiMap queryParams, int port) {
+        return Future.failedFuture("Unexpected upstream request to " + path);
+      }
+    };
+  }
+
+  private static GeocodingResponse geocoding(String city, int index) {
+    GeocodingResponse geocoding = new GeocodingResponse();
+    geocoding.setName(city);
+    // Half a degree apart on both axes and wrapped into valid ranges; distinct for 2880 cities
+    geocoding.setLatitude(-80 + (index * 0.5) % 160);
+    geocoding.setLongitude(-180 + (index * 0.5) % 360);
+    geocoding.setCountry("XX");
+    return geocoding;
+  }
+
+  /** @return clear, mild weather reported under the given city name */
+  static CurrentWeatherResponse weather(String city) {
+    CurrentWeatherResponse.MainWeatherData main = new CurrentWeatherResponse.MainWeatherData();
+    main.setTemperature(20.0);
+    main.setHumidity(50);
+    main.setPressure(1013.0);
+    CurrentWeatherResponse.Weather description = new CurrentWeatherResponse.Weather();
+    description.setDescription("clear sky");
+    CurrentWeatherResponse.Wind wind = new CurrentWeatherResponse.Wind();
+    wind.setSpeed(3.5);
+
+    CurrentWeatherResponse weather = new CurrentWeatherResponse();
+    weather.setCityName(city);
+    weather.setMain(main);
+    weather.setWeather(List.of(description));
+    weather.setWind(wind);
+    return weather;
+  }
+
+  private PrimedCities() {
+  }
+}
@@ -0,0 +1,126 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.util.HttpClientUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class StreamedMultiCityTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(StreamedMultiCityTest.class);
+
+  @Test
+  void test_no_lookups_after_stream_fails(Vertx vertx, VertxTestContext testContext) {
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    OpenWeatherService service = new OpenWeatherService(vertx, countingClient(vertx, upstreamCalls));
+    List<String> primed = PrimedCities.prime(service, 1);
+    CityStream cities = new CityStream();
+
+    logger.info("Testing that names streamed after a rejected body are not looked up");
+
+    Future<?> result = service.getMultiCityWeather(cities);
+    cities.emit(primed.get(0));
+    cities.fail(new IllegalArgumentException("Request body exceeds 10 bytes"));
+    cities.emit("Unprimed City");
+    cities.end();
+
+    result.onComplete(ar -> {
+      testContext.verify(() -> {
+        assertTrue(ar.failed());
+        assertEquals("Request body exceeds 10 bytes", ar.cause().getMessage());
+        assertEquals(0, upstreamCalls.get());
+        logger.info("Streamed failure test passed");
+      });
+      service.close();
+      testContext.completeNow();
+    });
+  }
+
+  /** Counts upstream requests and fails them, so any lookup past the caches shows up. */
+  private static HttpClientUtil countingClient(Vertx vertx, AtomicInteger upstreamCalls) {
+    return new HttpClientUtil(vertx) {
+      @Override
+      public Future<JsonObject> sendGetRequest(
+          String host, String path, MultiMap queryParams, int port, MultiMap headers) {
+        upstreamCalls.incrementAndGet();
+        return Future.failedFuture("Unexpected upstream request to " + path);
+      }
+
+      @Override
+      public Future<String> sendGetRequestRaw(
+          String host, String path, MultiMap queryParams, int port) {
+        upstreamCalls.incrementAndGet();
+        return Future.failedFuture("Unexpected upstream request to " + path);
+      }
+    };
+  }
+
+  /**
+   * A stream of city names pushed by the test, which unlike the request body parser keeps
+   * emitting after it has failed.
+   */
+  private static final class CityStream implements ReadStream<String> {
+    private Handler<String> handler;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+
+    void emit(String city) {
+      handler.handle(city);
+    }
+
+    void fail(Throwable cause) {
+      exceptionHandler.handle(cause);
+    }
+
+    void end() {
+      endHandler.handle(null);
+    }
+
+    @Override
+    public CityStream exceptionHandler(Handler<Throwable> handler) {
+      this.exceptionHandler = handler;
+      return this;
+    }
+
+    @Override
+    public CityStream handler(Handler<String> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public CityStream endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+
+    @Override
+    public CityStream pause() {
+      return this;
+    }
+
+    @Override
+    public CityStream resume() {
+      return this;
+    }
+
+    @Override
+    public CityStream fetch(long amount) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.lotlinx.interview.model.MultiCityWeatherResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the callback city lookup flow on an event loop with the straight-line {@code
+ * Future.await} flow on virtual threads.
+ *
+ * <p>Each call runs a multi-city lookup on the context of a verticle deployed with the given
+ * threading model. Every city is primed in the caches, so the numbers show the cost of each flow
+ * rather than of OpenWeather. Run with {@code mvn -Pjava21,benchmark test-compile exec:exec
+ * -Dbenchmark.include=ThreadingModelBenchmark} on Java 21; on older runtimes the VIRTUAL_THREAD
+ * runs fail at setup. The gc profiler reports bytes allocated per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadingModelBenchmark {
+
+  @Param({"EVENT_LOOP", "VIRTUAL_THREAD"})
+  private ThreadingModel threadingModel;
+
+  @Param({"1", "20"})
+  private int cityCount;
+
+  private Vertx vertx;
+  private OpenWeatherService service;
+  private Context context;
+  private List<String> cities;
+
+  @Setup
+  public void setUp() throws Exception {
+    if (threadingModel == ThreadingModel.VIRTUAL_THREAD && Runtime.version().feature() < 21) {
+      throw new IllegalStateException(
+          "VIRTUAL_THREAD needs Java 21, running on " + Runtime.version());
+    }
+    vertx = Vertx.vertx();
+    service = new OpenWeatherService(vertx);
+
+    cities = PrimedCities.prime(service, cityCount);
+
+    LookupVerticle verticle = new LookupVerticle();
+    vertx.deployVerticle(verticle, new DeploymentOptions().setThreadingModel(threadingModel))
+        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    context = verticle.context();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    service.close();
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public MultiCityWeatherResponse multiCity() throws Exception {
+    CompletableFuture<MultiCityWeatherResponse> result = new CompletableFuture<>();
+    context.runOnContext(v -> service.getMultiCityWeather(cities).onComplete(ar -> {
+      if (ar.succeeded()) {
+        result.complete(ar.result());
+      } else {
+        result.completeExceptionally(ar.cause());
+      }
+    }));
+    return result.get(10, TimeUnit.SECONDS);
+  }
+
+  /** Does nothing itself; its context runs tasks with the deployment's threading model. */
+  private static final class LookupVerticle extends AbstractVerticle {
+    Context context() {
+      return context;
+    }
+  }
+}
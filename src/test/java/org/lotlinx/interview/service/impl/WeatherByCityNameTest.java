@@ -0,0 +1,114 @@
+package org.lotlinx.interview.service.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lotlinx.interview.util.HttpClientUtil;
+import org.lotlinx.interview.util.impl.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+public class WeatherByCityNameTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(WeatherByCityNameTest.class);
+  private static final int LOOKUPS = 10;
+
+  @Test
+  void test_unknown_cities_keep_breaker_closed(Vertx vertx, VertxTestContext testContext) {
+    OpenWeatherService service = new OpenWeatherService(vertx,
+        stubClient(vertx, new JsonObject().put("cod", "404").put("message", "city not found")));
+
+    logger.info("Testing {} unknown city names against the weather circuit breaker", LOOKUPS);
+
+    List<Future<?>> lookups = new ArrayList<>();
+    for (int i = 0; i < LOOKUPS; i++) {
+      lookups.add(service.getCurrentWeatherByCityName("Nowheresville " + i));
+    }
+    Future.join(lookups).onComplete(ar -> {
+      testContext.verify(() -> {
+        for (Future<?> lookup : lookups) {
+          assertTrue(lookup.failed());
+          assertTrue(lookup.cause().getMessage().startsWith("City not found"),
+              lookup.cause().getMessage());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, service.getWeatherCircuitState());
+        logger.info("Unknown city test passed: breaker is {}", service.getWeatherCircuitState());
+      });
+      service.close();
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  void test_client_errors_fail_with_upstream_message(Vertx vertx, VertxTestContext testContext) {
+    List<OpenWeatherService> services = List.of(
+        new OpenWeatherService(vertx,
+            stubClient(vertx, new JsonObject().put("cod", 401).put("message", "Invalid API key"))),
+        new OpenWeatherService(vertx,
+            stubClient(vertx, new JsonObject().put("cod", "429").put("message", "Too many calls"))));
+
+    logger.info("Testing rejected API keys and throttling against city name lookups");
+
+    List<Future<?>> lookups = new ArrayList<>();
+    for (OpenWeatherService service : services) {
+      lookups.add(service.getCurrentWeatherByCityName("London"));
+    }
+    Future.join(lookups).onComplete(ar -> {
+      testContext.verify(() -> {
+        assertTrue(lookups.get(0).cause().getMessage().endsWith("Invalid API key"),
+            lookups.get(0).cause().getMessage());
+        assertTrue(lookups.get(1).cause().getMessage().endsWith("Too many calls"),
+            lookups.get(1).cause().getMessage());
+        for (OpenWeatherService service : services) {
+          assertEquals(CircuitBreaker.State.CLOSED, service.getWeatherCircuitState());
+          assertEquals(0, service.getWeatherRateLimitUsage());
+        }
+        logger.info("Client error test passed");
+      });
+      services.forEach(OpenWeatherService::close);
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  void test_upstream_server_errors_open_breaker(Vertx vertx, VertxTestContext testContext) {
+    OpenWeatherService service = new OpenWeatherService(vertx,
+        stubClient(vertx, new JsonObject().put("cod", "503").put("message", "unavailable")));
+
+    logger.info("Testing {} upstream server errors against the weather circuit breaker", LOOKUPS);
+
+    List<Future<?>> lookups = new ArrayList<>();
+    for (int i = 0; i < LOOKUPS; i++) {
+      lookups.add(service.getCurrentWeatherByCityName("London"));
+    }
+    Future.join(lookups).onComplete(ar -> {
+      testContext.verify(() -> {
+        assertEquals(CircuitBreaker.State.OPEN, service.getWeatherCircuitState());
+        logger.info("Server error test passed: breaker is {}", service.getWeatherCircuitState());
+      });
+      service.close();
+      testContext.completeNow();
+    });
+  }
+
+  /** Answers every request with the same body, as OpenWeather does with a 200 or error status. */
+  private static HttpClientUtil stubClient(Vertx vertx, JsonObject body) {
+    return new HttpClientUtil(vertx) {
+      @Override
+      public Future<JsonObject> sendGetRequest(
+          String host, String path, MultiMap queryParams, int port) {
+        return Future.succeededFuture(body.copy());
+      }
+    };
+  }
+}
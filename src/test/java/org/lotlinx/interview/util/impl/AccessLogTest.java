@@ -0,0 +1,108 @@
+package org.lotlinx.interview.util.impl;
+
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccessLogTest.class);
+  private static final long SLOW_MS = 1000;
+  private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+  private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(SLOW_MS);
+
+  @Test
+  void test_errors_and_slow_requests_always_kept() {
+    List<String> lines = new CopyOnWriteArrayList<>();
+    AccessLog accessLog = new AccessLog(100, 0, 0, SLOW_MS, lines::add);
+
+    logger.info("Testing that 5xx and slow requests are kept at sample rate 0");
+
+    accessLog.record("GET", "/fast-ok", 200, FAST_NANOS, 10, null);
+    accessLog.record("GET", "/fast-missing", 404, FAST_NANOS, 10, null);
+    accessLog.record("GET", "/fast-error", 503, FAST_NANOS, 10, null);
+    accessLog.record("GET", "/slow-ok", 200, SLOW_NANOS, 10, "MISS");
+    accessLog.record("GET", "/slow-missing", 404, SLOW_NANOS, 10, null);
+    accessLog.close();
+
+    assertEquals(List.of("/fast-error", "/slow-ok", "/slow-missing"), paths(lines));
+    JsonObject slow = new JsonObject(lines.get(1));
+    assertEquals(200, slow.getInteger("status"));
+    assertEquals((double) SLOW_MS, slow.getDouble("latencyMs"));
+    assertEquals("MISS", slow.getString("cache"));
+  }
+
+  @Test
+  void test_status_classes_sampled_at_their_rates() {
+    List<String> clientErrorsOnly = new CopyOnWriteArrayList<>();
+    AccessLog clientErrorLog = new AccessLog(100, 0, 1, SLOW_MS, clientErrorsOnly::add);
+    List<String> successesOnly = new CopyOnWriteArrayList<>();
+    AccessLog successLog = new AccessLog(100, 1, 0, SLOW_MS, successesOnly::add);
+
+    logger.info("Testing 2xx and 4xx sampling at rates 0 and 1");
+
+    for (AccessLog accessLog : List.of(clientErrorLog, successLog)) {
+      accessLog.record("GET", "/ok", 200, FAST_NANOS, 10, null);
+      accessLog.record("GET", "/moved", 301, FAST_NANOS, 0, null);
+      accessLog.record("GET", "/bad", 400, FAST_NANOS, 10, null);
+      accessLog.record("GET", "/missing", 404, FAST_NANOS, 10, null);
+      accessLog.close();
+    }
+
+    assertEquals(List.of("/bad", "/missing"), paths(clientErrorsOnly));
+    assertEquals(List.of("/ok", "/moved"), paths(successesOnly));
+  }
+
+  @Test
+  void test_full_buffer_drops_and_close_flushes() throws InterruptedException {
+    int capacity = 2;
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> lines = new CopyOnWriteArrayList<>();
+    AccessLog accessLog = new AccessLog(capacity, 1, 1, SLOW_MS, line -> {
+      writing.countDown();
+      awaitQuietly(release);
+      lines.add(line);
+    });
+
+    logger.info("Testing drops while the writer is stalled, then the flush on close");
+
+    // Stall the writer on the first entry, so the buffer fills up behind it
+    accessLog.record("GET", "/first", 200, FAST_NANOS, 10, null);
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < capacity; i++) {
+      accessLog.record("GET", "/buffered-" + i, 200, FAST_NANOS, 10, null);
+    }
+    assertEquals(0, accessLog.getDroppedCount());
+    accessLog.record("GET", "/dropped", 200, FAST_NANOS, 10, null);
+    accessLog.record("GET", "/dropped", 500, FAST_NANOS, 10, null);
+    assertEquals(2, accessLog.getDroppedCount());
+
+    release.countDown();
+    accessLog.close();
+
+    assertEquals(List.of("/first", "/buffered-0", "/buffered-1"), paths(lines));
+  }
+
+  private static List<String> paths(List<String> lines) {
+    List<String> paths = new ArrayList<>();
+    lines.forEach(line -> paths.add(new JsonObject(line).getString("path")));
+    return paths;
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package org.lotlinx.interview.util.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.lotlinx.interview.util.impl.AdmissionController.Cost;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdmissionControllerTest.class);
+  private static final int MAX_IN_FLIGHT = 4;
+  private static final int MAX_PENDING_UPSTREAM = 10;
+  private static final long MAX_LAG_MS = 100;
+  private static final double EXPENSIVE_SHED_RATIO = 0.5;
+
+  private final AtomicInteger pendingUpstream = new AtomicInteger();
+  private final AtomicLong lagMs = new AtomicLong();
+  private final AdmissionController admission = new AdmissionController(
+      pendingUpstream::get, lagMs::get,
+      MAX_IN_FLIGHT, MAX_PENDING_UPSTREAM, MAX_LAG_MS, EXPENSIVE_SHED_RATIO);
+
+  @Test
+  void test_expensive_requests_shed_first() {
+    logger.info("Testing that expensive requests are refused at the shed ratio");
+
+    pendingUpstream.set(4);
+    assertEquals(0.4, admission.load(), 1e-9);
+    assertTrue(admission.tryAdmit(Cost.HIGH));
+
+    pendingUpstream.set(5);
+    assertEquals(EXPENSIVE_SHED_RATIO, admission.load(), 1e-9);
+    assertFalse(admission.tryAdmit(Cost.HIGH));
+    assertTrue(admission.tryAdmit(Cost.LOW));
+
+    // Event-loop lag counts the same way
+    pendingUpstream.set(0);
+    lagMs.set(60);
+    assertFalse(admission.tryAdmit(Cost.HIGH));
+    assertTrue(admission.tryAdmit(Cost.LOW));
+  }
+
+  @Test
+  void test_cheap_requests_shed_at_full_load() {
+    logger.info("Testing that cheap requests are refused once a limit is reached");
+
+    pendingUpstream.set(9);
+    assertTrue(admission.tryAdmit(Cost.LOW));
+
+    pendingUpstream.set(MAX_PENDING_UPSTREAM);
+    assertFalse(admission.tryAdmit(Cost.LOW));
+
+    pendingUpstream.set(0);
+    lagMs.set(MAX_LAG_MS);
+    assertFalse(admission.tryAdmit(Cost.LOW));
+  }
+
+  @Test
+  void test_release_restores_capacity() {
+    logger.info("Testing that released requests free their slots");
+
+    for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+      assertTrue(admission.tryAdmit(Cost.LOW));
+    }
+    assertEquals(MAX_IN_FLIGHT, admission.getInFlight());
+    assertEquals(1.0, admission.load(), 1e-9);
+    assertFalse(admission.tryAdmit(Cost.LOW));
+
+    admission.release();
+    assertEquals(MAX_IN_FLIGHT - 1, admission.getInFlight());
+    assertTrue(admission.tryAdmit(Cost.LOW));
+
+    for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+      admission.release();
+    }
+    assertEquals(0, admission.getInFlight());
+    assertTrue(admission.tryAdmit(Cost.HIGH));
+  }
+
+  @Test
+  void test_shed_counters() {
+    logger.info("Testing the shed counters");
+
+    pendingUpstream.set(5);
+    admission.tryAdmit(Cost.HIGH);
+    admission.tryAdmit(Cost.HIGH);
+    admission.tryAdmit(Cost.LOW);
+    assertEquals(2, admission.getShedCount(Cost.HIGH));
+    assertEquals(0, admission.getShedCount(Cost.LOW));
+
+    pendingUpstream.set(MAX_PENDING_UPSTREAM);
+    admission.tryAdmit(Cost.LOW);
+    assertEquals(2, admission.getShedCount(Cost.HIGH));
+    assertEquals(1, admission.getShedCount(Cost.LOW));
+  }
+}
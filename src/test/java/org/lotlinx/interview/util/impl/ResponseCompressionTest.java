@@ -0,0 +1,47 @@
+package org.lotlinx.interview.util.impl;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCompressionTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResponseCompressionTest.class);
+
+  @Test
+  void test_preferred_coding_is_picked() {
+    logger.info("Testing Accept-Encoding preferences");
+
+    assertEquals(ResponseCompression.GZIP, ResponseCompression.negotiate("gzip, deflate"));
+    assertEquals(ResponseCompression.DEFLATE,
+        ResponseCompression.negotiate("gzip;q=0.5, deflate"));
+    assertEquals(ResponseCompression.GZIP, ResponseCompression.negotiate("br, gzip;q=0.8"));
+    assertNull(ResponseCompression.negotiate("br, identity"));
+    assertNull(ResponseCompression.negotiate(null));
+  }
+
+  @Test
+  void test_q_zero_refuses_coding() {
+    logger.info("Testing codings refused with q=0");
+
+    assertNull(ResponseCompression.negotiate("gzip;q=0"));
+    assertNull(ResponseCompression.negotiate("gzip;q=0, deflate;q=0"));
+    assertEquals(ResponseCompression.DEFLATE,
+        ResponseCompression.negotiate("gzip;q=0, deflate;q=0.1"));
+  }
+
+  @Test
+  void test_wildcard_covers_only_unlisted_codings() {
+    logger.info("Testing the * coding");
+
+    assertEquals(ResponseCompression.GZIP, ResponseCompression.negotiate("*"));
+    assertEquals(ResponseCompression.DEFLATE, ResponseCompression.negotiate("gzip;q=0, *"));
+    assertEquals(ResponseCompression.DEFLATE, ResponseCompression.negotiate("*, gzip;q=0"));
+    assertEquals(ResponseCompression.DEFLATE,
+        ResponseCompression.negotiate("gzip;q=0.2, *;q=0.5"));
+    assertNull(ResponseCompression.negotiate("gzip;q=0, deflate;q=0, *"));
+    assertNull(ResponseCompression.negotiate("*;q=0"));
+  }
+}
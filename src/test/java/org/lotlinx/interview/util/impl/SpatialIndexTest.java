@@ -0,0 +1,105 @@
+package org.lotlinx.interview.util.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialIndexTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(SpatialIndexTest.class);
+
+  @Test
+  void test_nearest_within_radius() {
+    SpatialIndex index = new SpatialIndex();
+    index.add("origin", 0.0, 0.0);
+    index.add("east", 0.0, 0.05);
+
+    logger.info("Testing nearest lookups against the radius cut-off");
+
+    // About 1.1 km from "east" and 4.5 km from "origin"
+    SpatialIndex.Match match = index.nearest(0.0, 0.04, 10, key -> true);
+    assertEquals("east", match.getKey());
+    assertEquals(1.11, match.getDistanceKm(), 0.01);
+
+    assertEquals(2, index.within(0.0, 0.04, 10, key -> true).size());
+    assertEquals(List.of("east"), keys(index.within(0.0, 0.04, 2, key -> true)));
+    assertNull(index.nearest(0.0, 0.04, 1, key -> true));
+  }
+
+  @Test
+  void test_nearest_across_antimeridian() {
+    SpatialIndex index = new SpatialIndex();
+    index.add("west of line", 0.0, 179.98);
+
+    logger.info("Testing lookups across the antimeridian");
+
+    SpatialIndex.Match match = index.nearest(0.0, -179.98, 10, key -> true);
+    assertNotNull(match);
+    assertEquals(4.45, match.getDistanceKm(), 0.01);
+    assertNotNull(index.nearest(0.0, 180.0, 10, key -> true));
+    assertNull(index.nearest(0.0, -179.8, 10, key -> true));
+  }
+
+  @Test
+  void test_nearest_near_poles() {
+    SpatialIndex index = new SpatialIndex();
+    index.add("north", 89.95, 0.0);
+    index.add("south", -89.95, 90.0);
+
+    logger.info("Testing lookups near the poles");
+
+    // Both points are 5.6 km from their pole, so a third of a turn away is about 9.6 km
+    SpatialIndex.Match north = index.nearest(89.95, 120.0, 20, key -> true);
+    assertEquals("north", north.getKey());
+    assertEquals(9.63, north.getDistanceKm(), 0.01);
+    assertEquals("north", index.nearest(90.0, 0.0, 10, key -> true).getKey());
+
+    // Straight across the pole
+    SpatialIndex.Match south = index.nearest(-89.95, -90.0, 20, key -> true);
+    assertEquals("south", south.getKey());
+    assertEquals(11.12, south.getDistanceKm(), 0.01);
+    assertEquals(List.of("south"), keys(index.within(-89.9, 0.0, 50, key -> true)));
+  }
+
+  @Test
+  void test_stale_points_are_evicted_lazily() {
+    SpatialIndex index = new SpatialIndex();
+    index.add("fresh", 10.0, 10.0);
+    index.add("stale", 10.0, 10.01);
+    Set<String> fresh = new HashSet<>(Set.of("fresh"));
+
+    logger.info("Testing lazy eviction of stale points");
+
+    assertEquals("fresh", index.nearest(10.0, 10.01, 5, fresh::contains).getKey());
+    assertEquals(Set.of("fresh"), indexedKeys(index));
+
+    // Points outside the query radius are left for retainAll
+    index.add("far stale", 20.0, 20.0);
+    assertNull(index.nearest(10.0, 10.0, 5, key -> false));
+    assertEquals(Set.of("far stale"), indexedKeys(index));
+
+    index.retainAll(fresh::contains);
+    assertTrue(indexedKeys(index).isEmpty());
+
+    index.add("later", 20.0, 20.0);
+    assertEquals("later", index.nearest(20.0, 20.0, 1, key -> true).getKey());
+  }
+
+  private static List<String> keys(List<SpatialIndex.Match> matches) {
+    List<String> keys = new ArrayList<>();
+    matches.forEach(match -> keys.add(match.getKey()));
+    return keys;
+  }
+
+  private static Set<String> indexedKeys(SpatialIndex index) {
+    Set<String> keys = new HashSet<>();
+    index.forEach((key, point) -> keys.add(key));
+    return keys;
+  }
+}